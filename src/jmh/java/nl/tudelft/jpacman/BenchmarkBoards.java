@@ -0,0 +1,201 @@
+package nl.tudelft.jpacman;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.game.GameFactory;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * The boards the benchmarks run on: the bundled <code>board.txt</code>, or a
+ * generated square maze of a given size.
+ *
+ * <p>
+ * The engine benchmarks use empty sprites, as the unit tests do, so they do
+ * not decode any images and run on headless machines. Only the rendering
+ * benchmarks use the real sprites, see {@link #renderedGame(String)}.
+ * </p>
+ */
+public final class BenchmarkBoards {
+
+	/**
+	 * The name of the bundled board.
+	 */
+	public static final String BUNDLED = "board";
+
+	/**
+	 * The empty sprites shared by the engine benchmarks.
+	 */
+	private static final PacManSprites SPRITES = new EmptySprites();
+
+	private BenchmarkBoards() {
+	}
+
+	/**
+	 * Returns the text of a board.
+	 *
+	 * @param name
+	 *            {@link #BUNDLED} for the bundled board, or the width and
+	 *            height of a generated maze.
+	 * @return The lines of the board.
+	 */
+	public static List<String> text(String name) {
+		if (BUNDLED.equals(name)) {
+			return bundled();
+		}
+		return generate(Integer.parseInt(name));
+	}
+
+	/**
+	 * @return A new map parser with the default factories and empty sprites.
+	 */
+	public static MapParser parser() {
+		return parser(SPRITES);
+	}
+
+	/**
+	 * @param sprites
+	 *            The sprites of the units and squares.
+	 * @return A new map parser with the default factories.
+	 */
+	private static MapParser parser(PacManSprites sprites) {
+		return new MapParser(new LevelFactory(sprites, new GhostFactory(
+				sprites)), new BoardFactory(sprites));
+	}
+
+	/**
+	 * Creates a single player game on a board, with empty sprites.
+	 *
+	 * @param name
+	 *            The board, as in {@link #text(String)}.
+	 * @return A new game that has not been started.
+	 */
+	public static Game game(String name) {
+		return game(name, SPRITES);
+	}
+
+	/**
+	 * Creates a single player game on a board with the real sprites, which
+	 * are decoded through AWT, for benchmarks that render the board.
+	 *
+	 * @param name
+	 *            The board, as in {@link #text(String)}.
+	 * @return A new game that has not been started.
+	 */
+	public static Game renderedGame(String name) {
+		return game(name, new PacManSprites());
+	}
+
+	/**
+	 * Creates a single player game on a board.
+	 *
+	 * @param name
+	 *            The board, as in {@link #text(String)}.
+	 * @param sprites
+	 *            The sprites of the units and squares.
+	 * @return A new game that has not been started.
+	 */
+	private static Game game(String name, PacManSprites sprites) {
+		Level level = parser(sprites).parseMap(text(name));
+		return new GameFactory(new PlayerFactory(sprites))
+				.createSinglePlayerGame(level);
+	}
+
+	/**
+	 * @return The empty sprites shared by the engine benchmarks.
+	 */
+	public static PacManSprites sprites() {
+		return SPRITES;
+	}
+
+	/**
+	 * Generates a square maze: a border of walls around a grid of pillars,
+	 * with pellets on every other square, a player in the centre and a ghost
+	 * near every corner.
+	 *
+	 * @param size
+	 *            The width and height of the maze.
+	 * @return The lines of the maze.
+	 */
+	public static List<String> generate(int size) {
+		char[][] rows = new char[size][size];
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				boolean border = x == 0 || y == 0 || x == size - 1
+						|| y == size - 1;
+				boolean pillar = x % 2 == 0 && y % 2 == 0;
+				rows[y][x] = border || pillar ? '#' : '.';
+			}
+		}
+		int centre = size / 2 | 1;
+		rows[centre][centre] = 'P';
+		rows[1][1] = 'G';
+		rows[1][size - 2] = 'G';
+		rows[size - 2][1] = 'G';
+		rows[size - 2][size - 2] = 'G';
+
+		List<String> lines = new ArrayList<>(size);
+		for (char[] row : rows) {
+			lines.add(new String(row));
+		}
+		return lines;
+	}
+
+	/**
+	 * @return The lines of the bundled board.
+	 */
+	private static List<String> bundled() {
+		try (InputStream in = BenchmarkBoards.class
+				.getResourceAsStream("/board.txt");
+				BufferedReader reader = new BufferedReader(
+						new InputStreamReader(in, "UTF-8"))) {
+			List<String> lines = new ArrayList<>();
+			String line = reader.readLine();
+			while (line != null) {
+				lines.add(line);
+				line = reader.readLine();
+			}
+			return lines;
+		} catch (IOException e) {
+			throw new PacmanConfigurationException("Unable to read board.", e);
+		}
+	}
+
+	/**
+	 * Sprites that are all empty, without loading any images.
+	 */
+	private static final class EmptySprites extends PacManSprites {
+
+		/**
+		 * The sprite every sprite and frame is.
+		 */
+		private static final Sprite EMPTY = new EmptySprite();
+
+		@Override
+		public Sprite loadSprite(String resource) {
+			return EMPTY;
+		}
+
+		@Override
+		protected Sprite[] loadFrames(String resource, int y, int frameWidth,
+				int frameHeight, int frames) {
+			Sprite[] result = new Sprite[frames];
+			Arrays.fill(result, EMPTY);
+			return result;
+		}
+	}
+}
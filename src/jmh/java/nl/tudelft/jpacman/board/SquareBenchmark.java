@@ -0,0 +1,80 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks reading the occupants of a square holding a pellet and a
+ * player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SquareBenchmark {
+
+	/**
+	 * The square under test.
+	 */
+	private Square square;
+
+	/**
+	 * Creates the square and its occupants.
+	 */
+	@Setup
+	public void setUp() {
+		square = new BoardFactory(BenchmarkBoards.sprites()).createGround();
+		new LevelFactory(BenchmarkBoards.sprites(), null).createPellet()
+				.occupy(square);
+		new PlayerFactory(BenchmarkBoards.sprites()).createPacMan()
+				.occupy(square);
+	}
+
+	/**
+	 * @return The occupants of the square.
+	 */
+	@Benchmark
+	public List<Unit> getOccupants() {
+		return square.getOccupants();
+	}
+
+	/**
+	 * Visits the occupants of the square.
+	 * 
+	 * @param hole
+	 *            Consumes the occupants.
+	 */
+	@Benchmark
+	public void forEachOccupant(final Blackhole hole) {
+		square.forEachOccupant(hole::consume);
+	}
+
+	/**
+	 * @return Whether a player occupies the square.
+	 */
+	@Benchmark
+	public boolean hasOccupantOfType() {
+		return square.hasOccupantOfType(Player.class)
+				&& square.hasOccupantOfType(Pellet.class);
+	}
+}
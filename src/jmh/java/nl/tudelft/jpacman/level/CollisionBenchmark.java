@@ -0,0 +1,92 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the dispatch of a collision between a player and a pellet by
+ * the collision maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+	/**
+	 * The map dispatching on the classes of the units.
+	 */
+	private CollisionMap interactionMap;
+
+	/**
+	 * The map dispatching with instanceof checks.
+	 */
+	private CollisionMap playerCollisions;
+
+	/**
+	 * The map dispatching through a table of unit kinds.
+	 */
+	private CollisionMap compiledCollisions;
+
+	/**
+	 * The player colliding.
+	 */
+	private Player player;
+
+	/**
+	 * The pellet collided on. It is not on the board, so eating it leaves
+	 * nothing to clean up.
+	 */
+	private Pellet pellet;
+
+	/**
+	 * Creates the collision maps and units.
+	 */
+	@Setup
+	public void setUp() {
+		interactionMap = new DefaultPlayerInteractionMap();
+		playerCollisions = new PlayerCollisions();
+		compiledCollisions = new CompiledPlayerCollisions();
+		player = new PlayerFactory(BenchmarkBoards.sprites()).createPacMan();
+		pellet = new LevelFactory(BenchmarkBoards.sprites(), null)
+				.createPellet();
+	}
+
+	/**
+	 * Dispatches through the {@link CollisionInteractionMap}.
+	 */
+	@Benchmark
+	public void interactionMap() {
+		interactionMap.collide(player, pellet);
+	}
+
+	/**
+	 * Dispatches through the {@link PlayerCollisions}.
+	 */
+	@Benchmark
+	public void playerCollisions() {
+		playerCollisions.collide(player, pellet);
+	}
+
+	/**
+	 * Dispatches through the {@link CompiledPlayerCollisions}.
+	 */
+	@Benchmark
+	public void compiledCollisions() {
+		compiledCollisions.collide(player, pellet);
+	}
+}
@@ -0,0 +1,109 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.game.Game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the per-move work of a level: moving the player, including the
+ * collisions and observer updates that follow, and counting the pellets. The
+ * level is started through a {@link Simulation}, so no NPC threads interfere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+	/**
+	 * The board of the level.
+	 */
+	@Param({ BenchmarkBoards.BUNDLED, "50", "200", "500", "2000" })
+	private String board;
+
+	/**
+	 * The level under test.
+	 */
+	private Level level;
+
+	/**
+	 * The player moving back and forth.
+	 */
+	private Player player;
+
+	/**
+	 * The direction of the next move.
+	 */
+	private Direction direction;
+
+	/**
+	 * Creates and starts the level and finds a direction the player can
+	 * move in.
+	 */
+	@Setup
+	public void setUp() {
+		Game game = BenchmarkBoards.game(board);
+		level = game.getLevel();
+		player = game.getPlayers().get(0);
+		new Simulation(level, 1L).start();
+
+		Square start = player.getSquare();
+		for (Direction d : Direction.values()) {
+			if (start.getSquareAt(d).isAccessibleTo(player)) {
+				direction = d;
+			}
+		}
+	}
+
+	/**
+	 * Moves the player one square, alternating between two squares.
+	 */
+	@Benchmark
+	public void move() {
+		level.move(player, direction);
+		direction = opposite(direction);
+	}
+
+	/**
+	 * @return The amount of pellets left on the board.
+	 */
+	@Benchmark
+	public int remainingPellets() {
+		return level.remainingPellets();
+	}
+
+	/**
+	 * @param d
+	 *            A direction.
+	 * @return The opposite direction.
+	 */
+	private static Direction opposite(Direction d) {
+		switch (d) {
+		case NORTH:
+			return Direction.SOUTH;
+		case SOUTH:
+			return Direction.NORTH;
+		case EAST:
+			return Direction.WEST;
+		default:
+			return Direction.EAST;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks turning the text of a board into a level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapParserBenchmark {
+
+	/**
+	 * The board to parse.
+	 */
+	@Param({ BenchmarkBoards.BUNDLED, "50", "200", "500", "2000" })
+	private String board;
+
+	/**
+	 * The parser under test.
+	 */
+	private MapParser parser;
+
+	/**
+	 * The text of the board.
+	 */
+	private List<String> text;
+
+	/**
+	 * Reads or generates the board.
+	 */
+	@Setup
+	public void setUp() {
+		parser = BenchmarkBoards.parser();
+		text = BenchmarkBoards.text(board);
+	}
+
+	/**
+	 * @return The parsed level.
+	 */
+	@Benchmark
+	public Level parseMap() {
+		return parser.parseMap(text);
+	}
+}
@@ -0,0 +1,79 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the searches ghosts use to find their way: the shortest path
+ * from a ghost to the player and the nearest player seen from a ghost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigationBenchmark {
+
+	/**
+	 * The board to search.
+	 */
+	@Param({ BenchmarkBoards.BUNDLED, "50", "200", "500", "2000" })
+	private String board;
+
+	/**
+	 * The ghost searching.
+	 */
+	private Ghost ghost;
+
+	/**
+	 * The square the player is on.
+	 */
+	private Square target;
+
+	/**
+	 * Places a player and picks the ghost.
+	 */
+	@Setup
+	public void setUp() {
+		Game game = BenchmarkBoards.game(board);
+		Board b = game.getLevel().getBoard();
+		ghost = b.getUnits(Ghost.class).get(0);
+		target = game.getPlayers().get(0).getSquare();
+	}
+
+	/**
+	 * @return The shortest path from the ghost to the player.
+	 */
+	@Benchmark
+	public List<Direction> shortestPath() {
+		return Navigation.shortestPath(ghost.getSquare(), target, ghost);
+	}
+
+	/**
+	 * @return The nearest player seen from the ghost.
+	 */
+	@Benchmark
+	public Object findNearest() {
+		return Navigation.findNearest(Player.class, ghost.getSquare());
+	}
+}
@@ -0,0 +1,242 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the breadth first searches on square ids against the searches
+ * on square objects they replaced, which allocate a node per square, keep
+ * the visited squares in a hash set and pop their queue from the front of an
+ * array list. Both run on the board directly, without the distance tables and
+ * flow fields that answer most queries in a game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+	/**
+	 * The board to search.
+	 */
+	@Param({ "50", "200" })
+	private String board;
+
+	/**
+	 * The ghost searching.
+	 */
+	private Ghost ghost;
+
+	/**
+	 * The square the player is on.
+	 */
+	private Square target;
+
+	/**
+	 * Places a player and picks the ghost.
+	 */
+	@Setup
+	public void setUp() {
+		Game game = BenchmarkBoards.game(board);
+		Board b = game.getLevel().getBoard();
+		ghost = b.getUnits(Ghost.class).get(0);
+		target = game.getPlayers().get(0).getSquare();
+	}
+
+	/**
+	 * @return The shortest path from the ghost to the player.
+	 */
+	@Benchmark
+	public List<Direction> shortestPath() {
+		return BreadthFirstSearch.get().shortestPath(ghost.getSquare(),
+				target, ghost);
+	}
+
+	/**
+	 * As the search on square objects only marks squares as visited when it
+	 * leaves them, it queues a square again for every shortest path reaching
+	 * it, which on open parts of a maze grows combinatorially with the
+	 * distance. On the benchmark boards a single call may not finish within
+	 * the timeout of an iteration.
+	 *
+	 * @return The shortest path from the ghost to the player, as found by
+	 *         the search on square objects.
+	 */
+	@Benchmark
+	public List<Direction> legacyShortestPath() {
+		return LegacySearch.shortestPath(ghost.getSquare(), target, ghost);
+	}
+
+	/**
+	 * @return The nearest player seen from the ghost.
+	 */
+	@Benchmark
+	public Unit findNearest() {
+		return BreadthFirstSearch.get().findNearest(Player.class,
+				ghost.getSquare());
+	}
+
+	/**
+	 * @return The nearest player seen from the ghost, as found by the search
+	 *         on square objects.
+	 */
+	@Benchmark
+	public Unit legacyFindNearest() {
+		return LegacySearch.findNearest(Player.class, ghost.getSquare());
+	}
+
+	/**
+	 * The searches of {@link Navigation} before they worked on square ids,
+	 * kept as the baseline.
+	 */
+	private static final class LegacySearch {
+
+		private LegacySearch() {
+		}
+
+		/**
+		 * Calculates the shortest path from one square to another.
+		 *
+		 * @param from
+		 *            The starting square.
+		 * @param to
+		 *            The destination.
+		 * @param traveller
+		 *            The traveller, or <code>null</code> to ignore terrain.
+		 * @return The shortest path, or <code>null</code> if there is none.
+		 */
+		static List<Direction> shortestPath(Square from, Square to,
+				Unit traveller) {
+			if (from == to) {
+				return new ArrayList<>();
+			}
+			List<Node> targets = new ArrayList<>();
+			Set<Square> visited = new HashSet<>();
+			targets.add(new Node(null, from, null));
+			while (!targets.isEmpty()) {
+				Node n = targets.remove(0);
+				Square s = n.square;
+				if (s == to) {
+					return n.getPath();
+				}
+				visited.add(s);
+				for (Direction d : Direction.values()) {
+					Square next = s.getSquareAt(d);
+					if (!visited.contains(next)
+							&& (traveller == null || next
+									.isAccessibleTo(traveller))) {
+						targets.add(new Node(d, next, n));
+					}
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Finds the nearest unit of a type.
+		 *
+		 * @param type
+		 *            The type of unit to search for.
+		 * @param currentLocation
+		 *            The starting location.
+		 * @return The nearest unit, or <code>null</code> if there is none.
+		 */
+		static Unit findNearest(Class<? extends Unit> type,
+				Square currentLocation) {
+			List<Square> toDo = new ArrayList<>();
+			Set<Square> visited = new HashSet<>();
+			toDo.add(currentLocation);
+			while (!toDo.isEmpty()) {
+				Square square = toDo.remove(0);
+				Unit unit = Navigation.findUnit(type, square);
+				if (unit != null) {
+					return unit;
+				}
+				visited.add(square);
+				for (Direction d : Direction.values()) {
+					Square next = square.getSquareAt(d);
+					if (!visited.contains(next) && !toDo.contains(next)) {
+						toDo.add(next);
+					}
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A square reached by the search on square objects, with the way it was
+	 * reached.
+	 */
+	private static final class Node {
+
+		/**
+		 * The direction in which the square was entered, or
+		 * <code>null</code> for the start.
+		 */
+		private final Direction direction;
+
+		/**
+		 * The square.
+		 */
+		private final Square square;
+
+		/**
+		 * The node the square was entered from, or <code>null</code>.
+		 */
+		private final Node parent;
+
+		/**
+		 * Creates a new node.
+		 *
+		 * @param d
+		 *            The direction in which the square was entered.
+		 * @param s
+		 *            The square.
+		 * @param p
+		 *            The node the square was entered from.
+		 */
+		Node(Direction d, Square s, Node p) {
+			this.direction = d;
+			this.square = s;
+			this.parent = p;
+		}
+
+		/**
+		 * @return The directions leading from the start to this node.
+		 */
+		List<Direction> getPath() {
+			if (parent == null) {
+				return new ArrayList<>();
+			}
+			List<Direction> path = parent.getPath();
+			path.add(direction);
+			return path;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.BenchmarkBoards;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.game.Game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks rendering a board to an off-screen image. Squares are drawn at
+ * 16 pixels, or smaller where the image would exceed
+ * {@value #MAX_IMAGE_SIZE} pixels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardPanelBenchmark {
+
+	/**
+	 * The largest width and height of the image in pixels.
+	 */
+	private static final int MAX_IMAGE_SIZE = 4096;
+
+	/**
+	 * The preferred size of a square in pixels.
+	 */
+	private static final int SQUARE_SIZE = 16;
+
+	/**
+	 * The board to render.
+	 */
+	@Param({ BenchmarkBoards.BUNDLED, "50", "200", "500", "2000" })
+	private String board;
+
+	/**
+	 * The panel under test.
+	 */
+	private BoardPanel panel;
+
+	/**
+	 * The graphics context of the image.
+	 */
+	private Graphics graphics;
+
+	/**
+	 * Creates the panel and the image to render on.
+	 */
+	@Setup
+	public void setUp() {
+		Game game = BenchmarkBoards.renderedGame(board);
+		panel = new BoardPanel(game);
+		Board b = game.getLevel().getBoard();
+		int side = Math.max(b.getWidth(), b.getHeight());
+		int cell = Math.max(1, Math.min(SQUARE_SIZE, MAX_IMAGE_SIZE / side));
+		int w = b.getWidth() * cell;
+		int h = b.getHeight() * cell;
+		panel.setSize(w, h);
+		graphics = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB)
+				.getGraphics();
+	}
+
+	/**
+	 * Releases the graphics context.
+	 */
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	/**
+	 * Renders the complete board.
+	 */
+	@Benchmark
+	public void paint() {
+		panel.paint(graphics);
+	}
+}
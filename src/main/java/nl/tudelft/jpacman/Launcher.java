@@ -4,6 +4,8 @@ import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
 
 import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
@@ -11,11 +13,13 @@ import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.LevelTemplate;
 import nl.tudelft.jpacman.level.MapParser;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.level.PlayerFactory;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.SpritePreloader;
 import nl.tudelft.jpacman.ui.Action;
 import nl.tudelft.jpacman.ui.PacManUI;
 import nl.tudelft.jpacman.ui.PacManUiBuilder;
@@ -29,9 +33,26 @@ public class Launcher {
 
 	private static final PacManSprites SPRITE_STORE = new PacManSprites();
 
+	/**
+	 * The log the startup times are reported on.
+	 */
+	private static final Logger LOG = Logger.getLogger(Launcher.class.getName());
+
 	private PacManUI pacManUI;
 	private Game game;
 
+	/**
+	 * The template of the default board, or <code>null</code> if it was not
+	 * parsed yet.
+	 */
+	private LevelTemplate levelTemplate;
+
+	/**
+	 * The time in milliseconds it took to preload the sprites when the game
+	 * was launched, or <code>-1</code> if it was not launched yet.
+	 */
+	private long spritePreloadTime = -1L;
+
 	/**
 	 * @return The game object this launcher will start when {@link #launch()}
 	 *         is called.
@@ -53,17 +74,45 @@ public class Launcher {
 
 	/**
 	 * Creates a new level. By default this method will use the map parser to
-	 * parse the default board stored in the <code>board.txt</code> resource.
+	 * parse the default board stored in the <code>board.txt</code> resource
+	 * once, and create every level from the resulting template.
 	 * 
 	 * @return A new level.
 	 */
 	public Level makeLevel() {
-		MapParser parser = getMapParser();
-		try (InputStream boardStream = Launcher.class.getResourceAsStream("/board.txt")) {
-			return parser.parseMap(boardStream);
-		} catch (IOException e) {
-			throw new PacmanConfigurationException("Unable to create level.", e);
+		return getLevelTemplate().instantiate();
+	}
+
+	/**
+	 * @return The template of the default board, parsed by the map parser
+	 *         from {@link #getMapParser()} when it is first asked for.
+	 */
+	protected synchronized LevelTemplate getLevelTemplate() {
+		if (levelTemplate == null) {
+			MapParser parser = getMapParser();
+			try (InputStream boardStream = Launcher.class.getResourceAsStream("/board.txt")) {
+				levelTemplate = parser.parseTemplate(boardStream);
+			} catch (IOException e) {
+				throw new PacmanConfigurationException("Unable to create level.", e);
+			}
 		}
+		return levelTemplate;
+	}
+
+	/**
+	 * @return The pool the sprites are preloaded on while the game is set up.
+	 */
+	protected ForkJoinPool getPreloadPool() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * @return The time in milliseconds it took to preload all sprites when
+	 *         the game was launched, or <code>-1</code> if it was not
+	 *         launched yet.
+	 */
+	public long getSpritePreloadTime() {
+		return spritePreloadTime;
 	}
 
 	/**
@@ -168,13 +217,19 @@ public class Launcher {
 	}
 
 	/**
-	 * Creates and starts a JPac-Man game.
+	 * Creates and starts a JPac-Man game. The sprites are decoded in parallel
+	 * while the map is parsed and the UI is built, and the game is only shown
+	 * once all of them are loaded. The time it took to load them is logged.
 	 */
 	public void launch() {
+		SpritePreloader preloader = SpritePreloader.start(getSpriteStore(),
+				getPreloadPool());
 		game = makeGame();
 		PacManUiBuilder builder = new PacManUiBuilder().withDefaultButtons();
 		addSinglePlayerKeys(builder, game);
 		pacManUI = builder.build(game);
+		spritePreloadTime = preloader.await();
+		LOG.info("Preloaded sprites in " + spritePreloadTime + " ms.");
 		pacManUI.start();
 	}
 
@@ -1,5 +1,14 @@
 package nl.tudelft.jpacman.board;
 
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * A top-down view of a matrix of {@link Square}s.
  * 
@@ -8,10 +17,83 @@ package nl.tudelft.jpacman.board;
 public class Board {
 
 	/**
-	 * The grid of squares with board[x][y] being the square at column x, row y.
+	 * The amount of directions, and thus of neighbours of every square.
+	 */
+	private static final int DIRECTIONS = Direction.values().length;
+
+	/**
+	 * The grid of squares with board[x][y] being the square at column x, row y,
+	 * or <code>null</code> if the squares are stored differently.
 	 */
 	private final Square[][] board;
 
+	/**
+	 * The amount of columns of this board.
+	 */
+	private final int width;
+
+	/**
+	 * The amount of rows of this board.
+	 */
+	private final int height;
+
+	/**
+	 * The squares of this board indexed by their id, row by row.
+	 */
+	private final Square[] squares;
+
+	/**
+	 * The ids of the neighbours of every square, four per square in the order
+	 * of {@link Direction#values()}, so the neighbour of the square with id
+	 * <code>i</code> in direction <code>d</code> is at
+	 * <code>4 * i + d.ordinal()</code>. Unlinked neighbours are
+	 * <code>-1</code>.
+	 */
+	private int[] neighbours;
+
+	/**
+	 * Whether {@link #neighbours} is shared with another board, and must be
+	 * copied before it is changed.
+	 */
+	private boolean sharedNeighbours;
+
+	/**
+	 * The precomputed distances between the squares of this board, or
+	 * <code>null</code> if none were computed.
+	 */
+	private DistanceTable distanceTable;
+
+	/**
+	 * The squares accessible to every type of unit that asked, as a set of
+	 * square ids.
+	 */
+	private final Map<Class<?>, BitSet> accessible;
+
+	/**
+	 * The flow fields leading to units on this board.
+	 */
+	private final List<FlowField> flowFields;
+
+	/**
+	 * A read-only view on {@link #flowFields}.
+	 */
+	private final List<FlowField> flowFieldView;
+
+	/**
+	 * The units on this board by their class.
+	 */
+	private final OccupancyIndex occupancy;
+
+	/**
+	 * The pellets on this board that are not units.
+	 */
+	private final PelletLayer pellets;
+
+	/**
+	 * The squares whose appearance changed since they were last drawn.
+	 */
+	private final DirtySquares dirtySquares;
+
 	/**
 	 * Creates a new board.
 	 * 
@@ -20,11 +102,135 @@ public class Board {
 	 *            x, row y.
 	 */
 	Board(Square[][] grid) {
+		this(grid, null);
+	}
+
+	/**
+	 * Creates a new board whose squares are linked like those of another
+	 * board of the same size. The ids of the neighbours are shared with the
+	 * other board until either board links a square.
+	 * 
+	 * @param grid
+	 *            The grid of squares with grid[x][y] being the square at column
+	 *            x, row y.
+	 * @param topology
+	 *            The board to take the links from, or <code>null</code> to
+	 *            leave all squares unlinked.
+	 */
+	Board(Square[][] grid, Board topology) {
+		this(grid, topology, new PelletLayer());
+	}
+
+	/**
+	 * Creates a new board whose squares are linked like those of another
+	 * board of the same size, with the given pellets.
+	 * 
+	 * @param grid
+	 *            The grid of squares with grid[x][y] being the square at column
+	 *            x, row y.
+	 * @param topology
+	 *            The board to take the links from, or <code>null</code> to
+	 *            leave all squares unlinked.
+	 * @param pelletLayer
+	 *            The pellets on the board that are not units.
+	 */
+	private Board(Square[][] grid, Board topology, PelletLayer pelletLayer) {
 		assert grid != null;
 		this.board = grid;
+		this.width = grid.length;
+		this.height = grid[0].length;
+		this.accessible = new ConcurrentHashMap<>();
+		this.flowFields = new CopyOnWriteArrayList<>();
+		this.flowFieldView = Collections.unmodifiableList(flowFields);
+		this.occupancy = new OccupancyIndex();
+		this.pellets = pelletLayer;
+		this.dirtySquares = new DirtySquares(width * height);
+		pellets.trackChanges(dirtySquares);
 		assert invariant() : "Initial grid cannot contain null squares";
+
+		this.squares = new Square[width * height];
+		if (topology == null) {
+			this.neighbours = new int[squares.length * DIRECTIONS];
+			Arrays.fill(neighbours, -1);
+		} else {
+			assert topology.neighbours != null
+					&& topology.neighbours.length == squares.length * DIRECTIONS;
+			synchronized (topology) {
+				topology.sharedNeighbours = true;
+				this.neighbours = topology.neighbours;
+			}
+			this.sharedNeighbours = true;
+		}
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int id = y * width + x;
+				squares[id] = grid[x][y];
+				grid[x][y].attach(this, id);
+			}
+		}
 	}
 	
+	/**
+	 * Creates a new board without squares, for subclasses storing the squares
+	 * in another way. Such subclasses override all methods accessing the
+	 * squares.
+	 * 
+	 * @param columns
+	 *            The width of the board.
+	 * @param rows
+	 *            The height of the board.
+	 */
+	Board(int columns, int rows) {
+		assert columns > 0 && rows > 0;
+		this.board = null;
+		this.squares = null;
+		this.neighbours = null;
+		this.width = columns;
+		this.height = rows;
+		this.accessible = new ConcurrentHashMap<>();
+		this.flowFields = new CopyOnWriteArrayList<>();
+		this.flowFieldView = Collections.unmodifiableList(flowFields);
+		this.occupancy = new OccupancyIndex();
+		this.pellets = new PelletLayer();
+		this.dirtySquares = new DirtySquares(columns * rows);
+		pellets.trackChanges(dirtySquares);
+	}
+
+	/**
+	 * Creates an independent copy of this board for exploring what could
+	 * happen on it. The copy has squares of its own with copies of the units
+	 * on this board, in the same order, and a copy of the pellet layer. It
+	 * shares the links between the squares until either board changes them,
+	 * and shares the distance table and the accessible squares, which do not
+	 * change. Flow fields are not copied.
+	 * 
+	 * @param copies
+	 *            The copies of units made so far, by original. The copies of
+	 *            the units on this board are added to it; units already in
+	 *            it are placed on the copy without copying them again.
+	 * @return The copy of this board.
+	 */
+	public Board fork(Map<Unit, Unit> copies) {
+		assert copies != null;
+		Square[][] grid = new Square[width][height];
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				grid[x][y] = board[x][y].emptyCopy();
+			}
+		}
+		Board fork = new Board(grid, this, new PelletLayer(pellets));
+		if (distanceTable != null) {
+			fork.distanceTable = distanceTable.forBoard(fork);
+		}
+		fork.accessible.putAll(accessible);
+		for (int id = 0; id < squares.length; id++) {
+			for (Unit unit : squares[id].getOccupants()) {
+				copies.computeIfAbsent(unit, Unit::copy).occupy(fork.squares[id]);
+			}
+		}
+		return fork;
+	}
+
 	/**
 	 * Whatever happens, the squares on the board can't be null.
 	 * @return false if any square on the board is null.
@@ -46,7 +252,7 @@ public class Board {
 	 * @return The width of this board.
 	 */
 	public int getWidth() {
-		return board.length;
+		return width;
 	}
 
 	/**
@@ -55,7 +261,7 @@ public class Board {
 	 * @return The height of this board.
 	 */
 	public int getHeight() {
-		return board[0].length;
+		return height;
 	}
 
 	/**
@@ -74,6 +280,89 @@ public class Board {
 		return result;
 	}
 
+	/**
+	 * Returns the amount of squares on this board. The ids of the squares
+	 * range from <code>0</code> up to (but excluding) this amount.
+	 * 
+	 * @return The amount of squares on this board.
+	 */
+	public int getSquareCount() {
+		return squares.length;
+	}
+
+	/**
+	 * Returns the square with the given id, see {@link Square#getId()}.
+	 * 
+	 * @param id
+	 *            The id of the requested square.
+	 * @return The square with the given id.
+	 */
+	public Square squareWithId(int id) {
+		assert id >= 0 && id < squares.length;
+		return squares[id];
+	}
+
+	/**
+	 * Returns the id of the neighbour of a square. Together with
+	 * {@link #getAccessibleSquares(Unit)} this allows traversing the board
+	 * on square ids only.
+	 * 
+	 * @param id
+	 *            The id of the square.
+	 * @param direction
+	 *            The direction of the neighbour.
+	 * @return The id of the neighbour in the given direction, or
+	 *         <code>-1</code> if the square is not linked in that direction.
+	 */
+	public int getNeighbourId(int id, Direction direction) {
+		assert id >= 0 && id < squares.length;
+		return neighbours[id * DIRECTIONS + direction.ordinal()];
+	}
+
+	/**
+	 * Links a square to a neighbour in the given direction. Note that this is
+	 * a one-way connection.
+	 * 
+	 * @param id
+	 *            The id of the square.
+	 * @param direction
+	 *            The direction the neighbour is in, as seen from the square.
+	 * @param neighbourId
+	 *            The id of the neighbour.
+	 */
+	void link(int id, Direction direction, int neighbourId) {
+		assert id >= 0 && id < squares.length;
+		assert neighbourId >= 0 && neighbourId < squares.length;
+		ownNeighbours()[id * DIRECTIONS + direction.ordinal()] = neighbourId;
+	}
+
+	/**
+	 * Links all squares at once, reading the ids of their neighbours in the
+	 * order of {@link #getNeighbourId(int, Direction)}: four per square, by
+	 * id and then by the order of {@link Direction#values()}.
+	 * 
+	 * @param ids
+	 *            The ids of the neighbours of all squares.
+	 */
+	void linkAll(IntBuffer ids) {
+		assert ids.remaining() == neighbours.length;
+		ids.get(ownNeighbours());
+	}
+
+	/**
+	 * Returns the ids of the neighbours of the squares for changing them,
+	 * copying them first if they are shared with another board.
+	 * 
+	 * @return The ids of the neighbours, owned by this board only.
+	 */
+	private synchronized int[] ownNeighbours() {
+		if (sharedNeighbours) {
+			neighbours = neighbours.clone();
+			sharedNeighbours = false;
+		}
+		return neighbours;
+	}
+
 	/**
 	 * Determines whether the given <code>x,y</code> position is on this board.
 	 * 
@@ -86,4 +375,149 @@ public class Board {
 	public boolean withinBorders(int x, int y) {
 		return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
 	}
+
+	/**
+	 * Returns the precomputed distances between the squares of this board.
+	 * 
+	 * @return The distance table of this board, or <code>null</code> if none
+	 *         was computed.
+	 */
+	public DistanceTable getDistanceTable() {
+		return distanceTable;
+	}
+
+	/**
+	 * Sets the precomputed distances between the squares of this board.
+	 * 
+	 * @param table
+	 *            The distance table for this board, or <code>null</code> to
+	 *            remove it.
+	 */
+	public void setDistanceTable(DistanceTable table) {
+		this.distanceTable = table;
+	}
+
+	/**
+	 * Returns the ids of the squares accessible to the given unit. The set is
+	 * computed once for every type of unit, as accessibility of squares only
+	 * depends on the type of the unit that wants to enter.
+	 * 
+	 * @param traveller
+	 *            The unit to determine the accessible squares for.
+	 * @return The set of ids of the squares accessible to the unit, which
+	 *         must not be modified.
+	 */
+	public BitSet getAccessibleSquares(Unit traveller) {
+		assert traveller != null;
+		BitSet result = accessible.get(traveller.getClass());
+		if (result == null) {
+			result = computeAccessibleSquares(traveller);
+			accessible.put(traveller.getClass(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * Determines the ids of the squares accessible to the given unit.
+	 * 
+	 * @param traveller
+	 *            The unit to determine the accessible squares for.
+	 * @return A new set of ids of the squares accessible to the unit.
+	 */
+	BitSet computeAccessibleSquares(Unit traveller) {
+		BitSet result = new BitSet(squares.length);
+		for (int id = 0; id < squares.length; id++) {
+			if (squares[id].isAccessibleTo(traveller)) {
+				result.set(id);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the flow fields leading to units on this board.
+	 * 
+	 * @return A read-only view on the flow fields registered on this board.
+	 */
+	public List<FlowField> getFlowFields() {
+		return flowFieldView;
+	}
+
+	/**
+	 * Registers a flow field on this board, so units navigating the board
+	 * can use it.
+	 * 
+	 * @param field
+	 *            The flow field to register.
+	 */
+	public void addFlowField(FlowField field) {
+		assert field != null;
+		flowFields.add(field);
+	}
+
+	/**
+	 * Removes a flow field from this board.
+	 * 
+	 * @param field
+	 *            The flow field to remove.
+	 */
+	public void removeFlowField(FlowField field) {
+		flowFields.remove(field);
+	}
+
+	/**
+	 * Lists the units of a certain type on this board. The units are looked
+	 * up in an index, so this does not visit the squares of the board.
+	 * 
+	 * @param type
+	 *            The type of units to list, including subtypes.
+	 * @return A new list with all units of the type on this board, in no
+	 *         particular order.
+	 */
+	public <T extends Unit> List<T> getUnits(Class<T> type) {
+		assert type != null;
+		return occupancy.find(type);
+	}
+
+	/**
+	 * Counts the units of a certain type on this board. The units are counted
+	 * in an index, so this does not visit the squares of the board.
+	 * 
+	 * @param type
+	 *            The type of units to count, including subtypes.
+	 * @return The amount of units of the type on this board.
+	 */
+	public int countUnits(Class<? extends Unit> type) {
+		assert type != null;
+		return occupancy.count(type);
+	}
+
+	/**
+	 * Returns the pellets on this board that are kept as bits instead of
+	 * units.
+	 * 
+	 * @return The pellet layer of this board.
+	 */
+	public PelletLayer getPellets() {
+		return pellets;
+	}
+
+	/**
+	 * Returns the squares whose appearance changed since a view last took
+	 * them, because a unit entered or left them or their pellet was placed
+	 * or eaten. Changes to the units themselves, such as a unit turning, are
+	 * not tracked.
+	 * 
+	 * @return The changed squares of this board, all of them initially.
+	 */
+	public DirtySquares getDirtySquares() {
+		return dirtySquares;
+	}
+
+	/**
+	 * @return The index of units on this board, updated by its squares.
+	 */
+	OccupancyIndex getOccupancy() {
+		return occupancy;
+	}
 }
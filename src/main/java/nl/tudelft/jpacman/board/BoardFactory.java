@@ -1,5 +1,10 @@
 package nl.tudelft.jpacman.board;
 
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
 import nl.tudelft.jpacman.fruit.Fruit;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
@@ -12,6 +17,16 @@ import nl.tudelft.jpacman.sprite.Sprite;
  */
 public class BoardFactory {
 
+	/**
+	 * The kind of terrain of ground on a {@link CompactBoard}.
+	 */
+	public static final int GROUND = 0;
+
+	/**
+	 * The kind of terrain of walls on a {@link CompactBoard}.
+	 */
+	public static final int WALL = 1;
+
 	/**
 	 * The sprite store providing the sprites for the background.
 	 */
@@ -29,7 +44,9 @@ public class BoardFactory {
 	}
 
 	/**
-	 * Creates a new board from a grid of cells and connects it.
+	 * Creates a new board from a grid of cells and connects it. The squares
+	 * are linked through the ids of their neighbours, which the board keeps
+	 * in a single array.
 	 * 
 	 * @param grid
 	 *            The square grid of cells, in which grid[x][y] corresponds to
@@ -43,14 +60,14 @@ public class BoardFactory {
 
 		int width = board.getWidth();
 		int height = board.getHeight();
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				Square square = grid[x][y];
-				for (Direction dir : Direction.values()) {
+		Direction[] directions = Direction.values();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int id = y * width + x;
+				for (Direction dir : directions) {
 					int dirX = (width + x + dir.getDeltaX()) % width;
 					int dirY = (height + y + dir.getDeltaY()) % height;
-					Square neighbour = grid[dirX][dirY];
-					square.link(neighbour, dir);
+					board.link(id, dir, dirY * width + dirX);
 				}
 			}
 		}
@@ -58,6 +75,65 @@ public class BoardFactory {
 		return board;
 	}
 
+	/**
+	 * Creates a new board from a grid of cells, linking its squares to the
+	 * neighbours listed in a buffer rather than computing them.
+	 * 
+	 * @param grid
+	 *            The square grid of cells, in which grid[x][y] corresponds to
+	 *            the square at position x,y.
+	 * @param links
+	 *            The ids of the neighbours of every square, four per square
+	 *            in the order of {@link Direction#values()}, as written from
+	 *            {@link Board#getNeighbourId(int, Direction)}.
+	 * @return A new board, wrapping a grid of connected cells.
+	 */
+	public Board createBoard(Square[][] grid, IntBuffer links) {
+		assert grid != null;
+		assert links != null;
+
+		Board board = new Board(grid);
+		board.linkAll(links);
+		return board;
+	}
+
+	/**
+	 * Creates a new board from a grid of cells, linking its squares like
+	 * those of another board of the same size. The boards share the ids of
+	 * the neighbours until either of them links a square.
+	 * 
+	 * @param grid
+	 *            The square grid of cells, in which grid[x][y] corresponds to
+	 *            the square at position x,y.
+	 * @param topology
+	 *            A board created by this factory from a grid of the same size.
+	 * @return A new board, wrapping a grid of connected cells.
+	 */
+	public Board createBoard(Square[][] grid, Board topology) {
+		assert grid != null;
+		assert topology != null;
+
+		return new Board(grid, topology);
+	}
+
+	/**
+	 * Creates a new board for very large maps that only creates its squares
+	 * when they are first asked for. All positions are {@link #GROUND} until
+	 * their terrain is set.
+	 * 
+	 * @param width
+	 *            The width of the board.
+	 * @param height
+	 *            The height of the board.
+	 * @return A new, empty compact board.
+	 */
+	public CompactBoard createCompactBoard(int width, int height) {
+		List<Supplier<? extends Square>> terrains = new ArrayList<>();
+		terrains.add(this::createGround);
+		terrains.add(this::createWall);
+		return new CompactBoard(width, height, terrains);
+	}
+
 	/**
 	 * Creates a new square that can be occupied by any unit.
 	 * 
@@ -0,0 +1,458 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A board for very large maps, which does not keep a {@link Square} for every
+ * position. The terrain of every position is stored as a single byte, and
+ * units that merely lie on the board until something happens to them, such
+ * as pellets, are stored as a bit per position in a plane for their type.
+ *
+ * <p>
+ * A square is only created when it is first asked for, for instance when a
+ * unit moves towards it. The units lying on it are then created and put on
+ * the square as well. Squares that are never visited therefore cost a byte
+ * and a few bits. The neighbours of a position follow from its coordinates,
+ * so these boards cannot be linked in any other way.
+ * </p>
+ */
+public class CompactBoard extends Board {
+
+	/**
+	 * The amount of squares in a page of {@link #pages}, as a power of two.
+	 */
+	private static final int PAGE_BITS = 10;
+
+	/**
+	 * The amount of squares in a page of {@link #pages}.
+	 */
+	private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+	/**
+	 * The factories of the squares for every kind of terrain.
+	 */
+	private final List<Supplier<? extends Square>> terrains;
+
+	/**
+	 * A square of every kind of terrain, used to decide accessibility without
+	 * creating squares.
+	 */
+	private final Square[] prototypes;
+
+	/**
+	 * The kind of terrain of every position by id.
+	 */
+	private final byte[] terrain;
+
+	/**
+	 * The squares created so far, in pages of {@link #PAGE_SIZE} squares by
+	 * id. Pages are created along with their first square.
+	 */
+	private final AtomicReferenceArray<AtomicReferenceArray<Square>> pages;
+
+	/**
+	 * The planes of units lying on squares that were not created yet.
+	 */
+	private final List<Plane> planes;
+
+	/**
+	 * The amount of squares created so far.
+	 */
+	private int created;
+
+	/**
+	 * Creates a new board on which all positions have the first kind of
+	 * terrain.
+	 *
+	 * @param columns
+	 *            The width of the board.
+	 * @param rows
+	 *            The height of the board.
+	 * @param terrainKinds
+	 *            The factories of the squares for every kind of terrain, of
+	 *            which there can be at most 128.
+	 */
+	CompactBoard(int columns, int rows,
+			List<Supplier<? extends Square>> terrainKinds) {
+		super(columns, rows);
+		assert (long) columns * rows <= Integer.MAX_VALUE;
+		assert !terrainKinds.isEmpty() && terrainKinds.size() <= Byte.MAX_VALUE + 1;
+		this.terrains = new ArrayList<>(terrainKinds);
+		this.prototypes = new Square[terrains.size()];
+		for (int kind = 0; kind < prototypes.length; kind++) {
+			prototypes[kind] = terrains.get(kind).get();
+		}
+		int n = columns * rows;
+		this.terrain = new byte[n];
+		this.pages = new AtomicReferenceArray<>((n + PAGE_SIZE - 1) / PAGE_SIZE);
+		this.planes = new ArrayList<>();
+	}
+
+	/**
+	 * Sets the terrain of a position whose square was not created yet.
+	 *
+	 * @param x
+	 *            The <code>x</code> position (column) of the square.
+	 * @param y
+	 *            The <code>y</code> position (row) of the square.
+	 * @param kind
+	 *            The kind of terrain, the index of its factory.
+	 */
+	public void setTerrain(int x, int y, int kind) {
+		assert withinBorders(x, y);
+		assert kind >= 0 && kind < terrains.size();
+		int id = y * getWidth() + x;
+		assert peek(id) == null : "Square was created already.";
+		terrain[id] = (byte) kind;
+	}
+
+	/**
+	 * Adds a plane for units of a type lying on the board.
+	 *
+	 * @param type
+	 *            The type of the units, which must be exactly the type of
+	 *            the units the factory creates.
+	 * @param factory
+	 *            The factory creating the units when their square is
+	 *            created.
+	 * @return The number of the new plane.
+	 */
+	public synchronized int addPlane(Class<? extends Unit> type,
+			Supplier<? extends Unit> factory) {
+		assert type != null;
+		assert factory != null;
+		planes.add(new Plane(type, factory, new BitSet()));
+		return planes.size() - 1;
+	}
+
+	/**
+	 * Lays a unit of a plane on a position whose square was not created yet.
+	 *
+	 * @param plane
+	 *            The number of the plane, see
+	 *            {@link #addPlane(Class, Supplier)}.
+	 * @param x
+	 *            The <code>x</code> position (column) of the square.
+	 * @param y
+	 *            The <code>y</code> position (row) of the square.
+	 */
+	public synchronized void place(int plane, int x, int y) {
+		assert withinBorders(x, y);
+		int id = y * getWidth() + x;
+		assert peek(id) == null : "Square was created already.";
+		Plane p = planes.get(plane);
+		if (!p.cells.get(id)) {
+			p.cells.set(id);
+			p.count++;
+		}
+	}
+
+	/**
+	 * Returns the amount of squares created so far.
+	 *
+	 * @return The amount of squares created so far.
+	 */
+	public synchronized int getCreatedSquareCount() {
+		return created;
+	}
+
+	/**
+	 * Returns the square with the given id if it was created, without
+	 * creating it.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return The square, or <code>null</code> if it was not created yet.
+	 */
+	public Square getCreatedSquare(int id) {
+		assert id >= 0 && id < terrain.length;
+		return peek(id);
+	}
+
+	/**
+	 * Returns a square of the terrain of a position, for instance to draw a
+	 * position whose square was not created yet. The square is shared by
+	 * all positions with the same terrain and is not part of this board.
+	 *
+	 * @param id
+	 *            The id of the position.
+	 * @return A square of the terrain of the position.
+	 */
+	public Square getTerrainSquare(int id) {
+		assert id >= 0 && id < terrain.length;
+		return prototypes[terrain[id]];
+	}
+
+	/**
+	 * Lists the units still lying in a plane on a position whose square was
+	 * not created yet, for instance to draw the position without creating
+	 * its square. The units listed are stand-ins shared by all positions of
+	 * their plane and are not part of this board.
+	 *
+	 * @param id
+	 *            The id of the position.
+	 * @return A stand-in for every plane with a unit on the position.
+	 */
+	public synchronized List<Unit> getLyingUnits(int id) {
+		assert id >= 0 && id < terrain.length;
+		List<Unit> lying = null;
+		for (Plane plane : planes) {
+			if (plane.cells.get(id)) {
+				if (lying == null) {
+					lying = new ArrayList<>();
+				}
+				if (plane.prototype == null) {
+					plane.prototype = plane.factory.get();
+				}
+				lying.add(plane.prototype);
+			}
+		}
+		if (lying == null) {
+			return Collections.emptyList();
+		}
+		return lying;
+	}
+
+	@Override
+	public boolean invariant() {
+		return true;
+	}
+
+	@Override
+	public Square squareAt(int x, int y) {
+		assert withinBorders(x, y);
+		return squareWithId(y * getWidth() + x);
+	}
+
+	@Override
+	public int getSquareCount() {
+		return terrain.length;
+	}
+
+	/**
+	 * Returns the square with the given id, creating it if it was not asked
+	 * for before.
+	 */
+	@Override
+	public Square squareWithId(int id) {
+		assert id >= 0 && id < terrain.length;
+		Square square = peek(id);
+		if (square == null) {
+			square = create(id);
+		}
+		return square;
+	}
+
+	@Override
+	public int getNeighbourId(int id, Direction direction) {
+		assert id >= 0 && id < terrain.length;
+		int width = getWidth();
+		int height = getHeight();
+		int x = (width + id % width + direction.getDeltaX()) % width;
+		int y = (height + id / width + direction.getDeltaY()) % height;
+		return y * width + x;
+	}
+
+	/**
+	 * The squares of this board are linked by their position only.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             Always.
+	 */
+	@Override
+	void link(int id, Direction direction, int neighbourId) {
+		throw new UnsupportedOperationException(
+				"The squares of a compact board are linked by their position.");
+	}
+
+	@Override
+	BitSet computeAccessibleSquares(Unit traveller) {
+		boolean[] open = new boolean[prototypes.length];
+		for (int kind = 0; kind < prototypes.length; kind++) {
+			open[kind] = prototypes[kind].isAccessibleTo(traveller);
+		}
+		BitSet result = new BitSet(terrain.length);
+		for (int id = 0; id < terrain.length; id++) {
+			if (open[terrain[id]]) {
+				result.set(id);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Lists the units of a certain type on this board. Units of the type
+	 * still lying in a plane are put on their squares first, which creates
+	 * all these squares.
+	 */
+	@Override
+	public <T extends Unit> List<T> getUnits(Class<T> type) {
+		List<Plane> matching = new ArrayList<>();
+		synchronized (this) {
+			for (Plane plane : planes) {
+				if (type.isAssignableFrom(plane.type)) {
+					matching.add(plane);
+				}
+			}
+		}
+		for (Plane plane : matching) {
+			int id = nextCell(plane, 0);
+			while (id >= 0) {
+				squareWithId(id);
+				id = nextCell(plane, id + 1);
+			}
+		}
+		return super.getUnits(type);
+	}
+
+	/**
+	 * Compact boards cannot be forked, as their squares are created from
+	 * factories that may be shared with other boards.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             Always.
+	 */
+	@Override
+	public Board fork(Map<Unit, Unit> copies) {
+		throw new UnsupportedOperationException(
+				"Compact boards cannot be forked.");
+	}
+
+	/**
+	 * Counts the units of a certain type on this board, including the units
+	 * still lying in a plane, without creating any squares.
+	 */
+	@Override
+	public int countUnits(Class<? extends Unit> type) {
+		// The planes are counted first: a unit leaves its plane only after
+		// it has been put on its square, so it is counted at least once.
+		int lying = 0;
+		synchronized (this) {
+			for (Plane plane : planes) {
+				if (type.isAssignableFrom(plane.type)) {
+					lying += plane.count;
+				}
+			}
+		}
+		return lying + super.countUnits(type);
+	}
+
+	/**
+	 * Returns the square with the given id if it was created.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return The square, or <code>null</code> if it was not created yet.
+	 */
+	private Square peek(int id) {
+		AtomicReferenceArray<Square> page = pages.get(id >>> PAGE_BITS);
+		if (page == null) {
+			return null;
+		}
+		return page.get(id & (PAGE_SIZE - 1));
+	}
+
+	/**
+	 * Returns the first position at or after the given id at which a unit of
+	 * the plane lies.
+	 *
+	 * @param plane
+	 *            The plane to search.
+	 * @param from
+	 *            The id to start searching at.
+	 * @return The id of the position, or <code>-1</code> if there is none.
+	 */
+	private synchronized int nextCell(Plane plane, int from) {
+		return plane.cells.nextSetBit(from);
+	}
+
+	/**
+	 * Creates the square with the given id if no other thread did so first,
+	 * and puts the units lying on it on the square.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return The square with the given id.
+	 */
+	private synchronized Square create(int id) {
+		Square square = peek(id);
+		if (square != null) {
+			return square;
+		}
+		int index = id >>> PAGE_BITS;
+		AtomicReferenceArray<Square> page = pages.get(index);
+		if (page == null) {
+			page = new AtomicReferenceArray<>(PAGE_SIZE);
+			pages.set(index, page);
+		}
+		square = terrains.get(terrain[id]).get();
+		square.attach(this, id);
+		page.set(id & (PAGE_SIZE - 1), square);
+		created++;
+
+		for (Plane plane : planes) {
+			if (plane.cells.get(id)) {
+				plane.factory.get().occupy(square);
+				plane.cells.clear(id);
+				plane.count--;
+			}
+		}
+		return square;
+	}
+
+	/**
+	 * The positions of the units of a type lying on squares that were not
+	 * created yet.
+	 */
+	private static final class Plane {
+
+		/**
+		 * The type of the units.
+		 */
+		private final Class<? extends Unit> type;
+
+		/**
+		 * The factory creating the units.
+		 */
+		private final Supplier<? extends Unit> factory;
+
+		/**
+		 * The ids of the positions the units lie on.
+		 */
+		private final BitSet cells;
+
+		/**
+		 * The amount of positions in {@link #cells}.
+		 */
+		private int count;
+
+		/**
+		 * A unit standing in for the units of this plane, or
+		 * <code>null</code> until it is first needed.
+		 */
+		private Unit prototype;
+
+		/**
+		 * Creates a new plane.
+		 *
+		 * @param unitType
+		 *            The type of the units.
+		 * @param unitFactory
+		 *            The factory creating the units.
+		 * @param positions
+		 *            The ids of the positions the units lie on.
+		 */
+		private Plane(Class<? extends Unit> unitType,
+				Supplier<? extends Unit> unitFactory, BitSet positions) {
+			this.type = unitType;
+			this.factory = unitFactory;
+			this.cells = positions;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.BitSet;
+
+/**
+ * The squares of a {@link Board} whose appearance changed since they were
+ * last drawn, by id. The squares of the board mark themselves whenever a unit
+ * enters or leaves them, and the pellet layer marks the squares whose pellet
+ * was placed or eaten, so a view only has to redraw the marked squares
+ * instead of the whole board.
+ */
+public final class DirtySquares {
+
+	/**
+	 * The ids of the squares that changed.
+	 */
+	private BitSet dirty;
+
+	/**
+	 * The amount of squares on the board.
+	 */
+	private final int size;
+
+	/**
+	 * Creates a new set in which all squares are marked, as none of them
+	 * have been drawn yet.
+	 *
+	 * @param squareCount
+	 *            The amount of squares on the board.
+	 */
+	DirtySquares(int squareCount) {
+		this.dirty = new BitSet(squareCount);
+		this.size = squareCount;
+		dirty.set(0, squareCount);
+	}
+
+	/**
+	 * Marks a square as changed.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 */
+	public synchronized void mark(int id) {
+		assert id >= 0 && id < size;
+		dirty.set(id);
+	}
+
+	/**
+	 * Marks all squares as changed, for instance when the view was resized.
+	 */
+	public synchronized void markAll() {
+		dirty.set(0, size);
+	}
+
+	/**
+	 * Takes the marks, so the squares are only marked again when they
+	 * change again.
+	 *
+	 * @return The ids of the squares that changed, which are no longer
+	 *         used by this set.
+	 */
+	public synchronized BitSet take() {
+		BitSet taken = dirty;
+		dirty = new BitSet();
+		return taken;
+	}
+}
@@ -0,0 +1,365 @@
+package nl.tudelft.jpacman.board;
+
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A precomputed table of the shortest distances between all pairs of squares
+ * on a {@link Board} that are accessible to a certain kind of traveller. Once
+ * built, the distance between two squares and the first step of a shortest
+ * path between them are answered in constant time, and a complete path in
+ * time proportional to its length.
+ *
+ * <p>
+ * The table needs storage quadratic in the amount of accessible squares, so it
+ * is only built for boards with at most {@value #MAX_SQUARES} of them.
+ * </p>
+ */
+public final class DistanceTable {
+
+	/**
+	 * The maximum amount of accessible squares for which a table is built.
+	 */
+	public static final int MAX_SQUARES = 2048;
+
+	/**
+	 * Marker for a pair of squares that cannot reach each other.
+	 */
+	private static final short UNREACHABLE = -1;
+
+	/**
+	 * The board this table was built for.
+	 */
+	private final Board board;
+
+	/**
+	 * The accessible squares, in the order of their index in the table. Only
+	 * their ids are used once the table is filled, so tables for boards
+	 * created from the same map share these squares.
+	 */
+	private final Square[] squares;
+
+	/**
+	 * The index in the table of every square on the board by its id, or
+	 * <code>-1</code> for squares that are not accessible.
+	 */
+	private final int[] index;
+
+	/**
+	 * The distances, with distances[from * n + to] the amount of steps from
+	 * the square with index from to the square with index to.
+	 */
+	private final short[] distances;
+
+	/**
+	 * The ids of the squares in this table.
+	 */
+	private final BitSet accessible;
+
+	/**
+	 * Creates a new table, filling it by a breadth first search from every
+	 * accessible square unless its distances are given.
+	 *
+	 * @param b
+	 *            The board to build the table for.
+	 * @param ids
+	 *            The ids of the squares accessible to the traveller.
+	 * @param stored
+	 *            The distances of a table computed earlier, see
+	 *            {@link #writeTo(ShortBuffer)}, or <code>null</code> to
+	 *            compute them.
+	 */
+	private DistanceTable(Board b, BitSet ids, ShortBuffer stored) {
+		this.board = b;
+		this.accessible = ids;
+		this.squares = new Square[ids.cardinality()];
+		this.index = new int[b.getSquareCount()];
+		Arrays.fill(index, UNREACHABLE);
+		int i = 0;
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+			squares[i] = b.squareWithId(id);
+			index[id] = i;
+			i++;
+		}
+
+		int n = squares.length;
+		this.distances = new short[n * n];
+		if (stored != null) {
+			stored.get(distances);
+			return;
+		}
+		Arrays.fill(distances, UNREACHABLE);
+		int[] queue = new int[n];
+		for (int source = 0; source < n; source++) {
+			fill(source, queue);
+		}
+	}
+
+	/**
+	 * Creates a new table for a board with the same squares as the board of
+	 * another table, sharing the distances of that table.
+	 *
+	 * @param original
+	 *            The table to share the distances of.
+	 * @param b
+	 *            The board to answer queries for.
+	 */
+	private DistanceTable(DistanceTable original, Board b) {
+		this.board = b;
+		this.accessible = original.accessible;
+		this.squares = original.squares;
+		this.index = original.index;
+		this.distances = original.distances;
+	}
+
+	/**
+	 * Builds the table for the given board and traveller.
+	 *
+	 * @param board
+	 *            The board to build the table for.
+	 * @param traveller
+	 *            The traveller determining which squares can be entered.
+	 * @return The table, or <code>null</code> if the board has more than
+	 *         {@link #MAX_SQUARES} squares accessible to the traveller.
+	 */
+	public static DistanceTable compute(Board board, Unit traveller) {
+		assert board != null;
+		assert traveller != null;
+
+		return compute(board, board.getAccessibleSquares(traveller));
+	}
+
+	/**
+	 * Builds the table for the given board and accessible squares.
+	 *
+	 * @param board
+	 *            The board to build the table for.
+	 * @param accessible
+	 *            The ids of the squares that can be entered.
+	 * @return The table, or <code>null</code> if there are more than
+	 *         {@link #MAX_SQUARES} accessible squares.
+	 */
+	public static DistanceTable compute(Board board, BitSet accessible) {
+		assert board != null;
+		assert accessible != null;
+
+		if (accessible.cardinality() > MAX_SQUARES) {
+			return null;
+		}
+		return new DistanceTable(board, accessible, null);
+	}
+
+	/**
+	 * Recreates a table from the distances written by
+	 * {@link #writeTo(ShortBuffer)}, without searching the board.
+	 *
+	 * @param board
+	 *            The board the table is for, with the same squares as the
+	 *            board of the original table.
+	 * @param accessible
+	 *            The ids of the squares in the original table.
+	 * @param distances
+	 *            The distances of the original table, from which
+	 *            {@link #size()} squared values are read.
+	 * @return The table.
+	 */
+	public static DistanceTable restore(Board board, BitSet accessible,
+			ShortBuffer distances) {
+		assert board != null;
+		assert accessible != null;
+		assert distances != null;
+		assert accessible.cardinality() <= MAX_SQUARES;
+
+		return new DistanceTable(board, accessible, distances);
+	}
+
+	/**
+	 * Returns a table with the distances of this one for another board with
+	 * the same squares and links, for instance a board created from the same
+	 * map. The tables share their distances, which are never changed.
+	 *
+	 * @param other
+	 *            The board the table is for.
+	 * @return The table for the other board.
+	 */
+	public DistanceTable forBoard(Board other) {
+		assert other != null;
+		assert other.getSquareCount() == index.length;
+		return new DistanceTable(this, other);
+	}
+
+	/**
+	 * Returns the amount of squares in this table.
+	 *
+	 * @return The amount of accessible squares.
+	 */
+	public int size() {
+		return squares.length;
+	}
+
+	/**
+	 * Writes the distances of this table, {@link #size()} squared values
+	 * ordered by the ids of both squares, so that the table can be recreated
+	 * with {@link #restore(Board, BitSet, ShortBuffer)}.
+	 *
+	 * @param target
+	 *            The buffer to write the distances to.
+	 */
+	public void writeTo(ShortBuffer target) {
+		target.put(distances);
+	}
+
+	/**
+	 * Fills the row of the table for a single source by a breadth first
+	 * search.
+	 *
+	 * @param source
+	 *            The index of the square to search from.
+	 * @param queue
+	 *            Scratch space for the search, at least as large as the amount
+	 *            of accessible squares.
+	 */
+	private void fill(int source, int[] queue) {
+		int n = squares.length;
+		int row = source * n;
+		int head = 0;
+		int tail = 0;
+		distances[row + source] = 0;
+		queue[tail++] = source;
+		while (head < tail) {
+			int current = queue[head++];
+			short next = (short) (distances[row + current] + 1);
+			int id = squares[current].getId();
+			for (Direction d : Direction.values()) {
+				int neighbour = index[board.getNeighbourId(id, d)];
+				if (neighbour >= 0
+						&& distances[row + neighbour] == UNREACHABLE) {
+					distances[row + neighbour] = next;
+					queue[tail++] = neighbour;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines whether this table describes the terrain as seen by the
+	 * traveller, i.e. whether exactly the squares in this table are
+	 * accessible to it.
+	 *
+	 * @param traveller
+	 *            The traveller to test.
+	 * @return <code>true</code> iff this table can answer queries for the
+	 *         traveller.
+	 */
+	public boolean supports(Unit traveller) {
+		if (traveller == null) {
+			return false;
+		}
+		BitSet terrain = board.getAccessibleSquares(traveller);
+		return terrain == accessible || terrain.equals(accessible);
+	}
+
+	/**
+	 * Determines whether a square is part of this table.
+	 *
+	 * @param square
+	 *            The square to test.
+	 * @return <code>true</code> iff the square is accessible and thus listed
+	 *         in this table.
+	 */
+	public boolean covers(Square square) {
+		return indexOf(square) >= 0;
+	}
+
+	/**
+	 * Returns the index of a square in this table.
+	 *
+	 * @param square
+	 *            The square to look up.
+	 * @return The index of the square, or <code>-1</code> if it is not part
+	 *         of this table.
+	 */
+	private int indexOf(Square square) {
+		if (square.getBoard() != board) {
+			return UNREACHABLE;
+		}
+		return index[square.getId()];
+	}
+
+	/**
+	 * Returns the length of the shortest path between two squares.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @return The amount of steps from the starting square to the
+	 *         destination, or <code>-1</code> if the destination cannot be
+	 *         reached or one of the squares is not part of this table.
+	 */
+	public int distance(Square from, Square to) {
+		int f = indexOf(from);
+		int t = indexOf(to);
+		if (f < 0 || t < 0) {
+			return UNREACHABLE;
+		}
+		return distances[f * squares.length + t];
+	}
+
+	/**
+	 * Returns the first step of the shortest path between two squares. If
+	 * there are several shortest paths, the one a breadth first search over
+	 * {@link Direction#values()} would find is used.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @return The direction of the first step, or <code>null</code> if the
+	 *         squares are equal or the destination cannot be reached.
+	 */
+	public Direction nextHop(Square from, Square to) {
+		int remaining = distance(from, to);
+		if (remaining <= 0) {
+			return null;
+		}
+		int t = indexOf(to);
+		for (Direction d : Direction.values()) {
+			int neighbour = indexOf(from.getSquareAt(d));
+			if (neighbour >= 0
+					&& distances[neighbour * squares.length + t] == remaining - 1) {
+				return d;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the shortest path between two squares.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @return The shortest path to the destination, an empty list if the
+	 *         destination is the starting square, or <code>null</code> if
+	 *         the destination cannot be reached.
+	 */
+	public List<Direction> path(Square from, Square to) {
+		int remaining = distance(from, to);
+		if (remaining < 0) {
+			return null;
+		}
+		List<Direction> path = new ArrayList<>(remaining);
+		Square current = from;
+		while (current != to) {
+			Direction d = nextHop(current, to);
+			path.add(d);
+			current = current.getSquareAt(d);
+		}
+		return path;
+	}
+}
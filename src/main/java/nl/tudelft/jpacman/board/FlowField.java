@@ -0,0 +1,319 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The distances from every square of a {@link Board} to the square a single
+ * target unit occupies, as seen by a certain kind of traveller. The field is
+ * computed by one breadth first search backwards from the target, after which
+ * every traveller on the board can read its distance to the target and the
+ * direction to move in in constant time.
+ *
+ * <p>
+ * The field has to be {@link #update() updated} whenever the target moves.
+ * Readers always see a completely computed field, though possibly one for the
+ * previous location of the target.
+ * </p>
+ */
+public final class FlowField {
+
+	/**
+	 * Marker for squares from which the target cannot be reached.
+	 */
+	private static final int UNREACHABLE = -1;
+
+	/**
+	 * The maximum amount of squares of a board for which fields are laid
+	 * out, as a field keeps three integers for every square.
+	 */
+	public static final int MAX_SQUARES = 1 << 22;
+
+	/**
+	 * The directions in the order in which neighbours are explored.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The board this field was built for.
+	 */
+	private final Board board;
+
+	/**
+	 * The unit this field leads to.
+	 */
+	private final Unit target;
+
+	/**
+	 * The ids of the squares the traveller can enter.
+	 */
+	private final BitSet accessible;
+
+	/**
+	 * The distance of every square to the target by id, as last computed.
+	 */
+	private volatile int[] distances;
+
+	/**
+	 * The array the next update is computed in, or <code>null</code> until
+	 * it is first needed.
+	 */
+	private int[] spare;
+
+	/**
+	 * Scratch space for the breadth first search, or <code>null</code> until
+	 * it is first needed.
+	 */
+	private int[] queue;
+
+	/**
+	 * Creates a new flow field. The field does not lead anywhere until it is
+	 * first {@link #update() updated}.
+	 *
+	 * @param board
+	 *            The board to build the field for.
+	 * @param target
+	 *            The unit the field leads to.
+	 * @param traveller
+	 *            A traveller determining which squares can be entered.
+	 */
+	public FlowField(Board board, Unit target, Unit traveller) {
+		assert board != null;
+		assert target != null;
+		assert traveller != null;
+		this.board = board;
+		this.target = target;
+		this.accessible = board.getAccessibleSquares(traveller);
+		int n = board.getSquareCount();
+		this.distances = new int[n];
+		Arrays.fill(distances, UNREACHABLE);
+	}
+
+	/**
+	 * Creates a copy of a field for a fork of its board.
+	 *
+	 * @param original
+	 *            The field to copy.
+	 * @param board
+	 *            The fork of the board of the original field.
+	 * @param target
+	 *            The copy of the target of the original field.
+	 */
+	private FlowField(FlowField original, Board board, Unit target) {
+		this.board = board;
+		this.target = target;
+		this.accessible = original.accessible;
+		this.distances = original.distances.clone();
+	}
+
+	/**
+	 * Copies this field for a fork of its board, on which the target is
+	 * on the same square. The copy holds the distances as last computed for
+	 * this field, so it is not searched again until the target moves.
+	 *
+	 * @param copy
+	 *            The fork of the board, which has the same terrain.
+	 * @param copiedTarget
+	 *            The copy of the target on the fork.
+	 * @return The copy of this field.
+	 */
+	public FlowField fork(Board copy, Unit copiedTarget) {
+		assert copy != null;
+		assert copiedTarget != null;
+		assert copy.getSquareCount() == board.getSquareCount();
+		return new FlowField(this, copy, copiedTarget);
+	}
+
+	/**
+	 * @return The unit this field leads to.
+	 */
+	public Unit getTarget() {
+		return target;
+	}
+
+	/**
+	 * Determines whether this field describes the terrain as seen by the
+	 * traveller, i.e. whether the same squares are accessible to it.
+	 *
+	 * @param traveller
+	 *            The traveller to test.
+	 * @return <code>true</code> iff the traveller can follow this field.
+	 */
+	public boolean supports(Unit traveller) {
+		if (traveller == null) {
+			return false;
+		}
+		BitSet terrain = board.getAccessibleSquares(traveller);
+		return terrain == accessible || terrain.equals(accessible);
+	}
+
+	/**
+	 * Recomputes the field for the current square of the target. If the
+	 * target is not on this board, no square leads to it.
+	 */
+	public synchronized void update() {
+		int[] next = spare;
+		if (next == null) {
+			next = new int[distances.length];
+			queue = new int[distances.length];
+		}
+		Arrays.fill(next, UNREACHABLE);
+		Square origin = target.getSquare();
+		if (origin != null && origin.getBoard() == board) {
+			search(origin.getId(), next);
+		}
+		spare = distances;
+		distances = next;
+	}
+
+	/**
+	 * Fills the distances by a breadth first search from the target. As
+	 * moving is symmetric, the distance from the target to a square equals
+	 * the distance from that square to the target.
+	 *
+	 * @param origin
+	 *            The id of the square of the target.
+	 * @param result
+	 *            The array to store the distances in.
+	 */
+	private void search(int origin, int[] result) {
+		int head = 0;
+		int tail = 0;
+		result[origin] = 0;
+		queue[tail++] = origin;
+		while (head < tail) {
+			int current = queue[head++];
+			for (Direction d : DIRECTIONS) {
+				int id = board.getNeighbourId(current, d);
+				if (result[id] == UNREACHABLE && accessible.get(id)) {
+					result[id] = result[current] + 1;
+					queue[tail++] = id;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the amount of steps from a square to the target.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @return The length of the shortest path to the target, or
+	 *         <code>-1</code> if the target cannot be reached from the square.
+	 */
+	public int distanceFrom(Square from) {
+		if (from.getBoard() != board) {
+			return UNREACHABLE;
+		}
+		return distances[from.getId()];
+	}
+
+	/**
+	 * Returns the first step of the shortest path from a square to the
+	 * target. If there are several shortest paths, the direction listed first
+	 * in {@link Direction#values()} is used.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @return The direction of the first step, or <code>null</code> if the
+	 *         target cannot be reached or is on the starting square.
+	 */
+	public Direction directionFrom(Square from) {
+		if (from.getBoard() != board) {
+			return null;
+		}
+		return direction(distances, from.getId());
+	}
+
+	/**
+	 * Returns both the first step of the shortest path from a square to the
+	 * target and the length of that path, read from the same computation of
+	 * the field. Calling {@link #directionFrom(Square)} and
+	 * {@link #distanceFrom(Square)} in turn may mix two computations when the
+	 * field is updated in between.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @return The first step and the distance to the target, or
+	 *         <code>null</code> if the target cannot be reached or is on the
+	 *         starting square.
+	 */
+	public Step stepFrom(Square from) {
+		if (from.getBoard() != board) {
+			return null;
+		}
+		int[] current = distances;
+		Direction d = direction(current, from.getId());
+		if (d == null) {
+			return null;
+		}
+		return new Step(d, current[from.getId()]);
+	}
+
+	/**
+	 * Finds the neighbour one step closer to the target.
+	 *
+	 * @param current
+	 *            The distances to read.
+	 * @param id
+	 *            The id of the starting square.
+	 * @return The direction of the first step, or <code>null</code> if the
+	 *         target cannot be reached or is on the starting square.
+	 */
+	private Direction direction(int[] current, int id) {
+		int remaining = current[id];
+		if (remaining <= 0) {
+			return null;
+		}
+		for (Direction d : DIRECTIONS) {
+			if (current[board.getNeighbourId(id, d)] == remaining - 1) {
+				return d;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The first step towards the target from a square, with the distance
+	 * left to go.
+	 */
+	public static final class Step {
+
+		/**
+		 * The direction of the first step.
+		 */
+		private final Direction direction;
+
+		/**
+		 * The amount of steps to the target.
+		 */
+		private final int distance;
+
+		/**
+		 * Creates a new step.
+		 *
+		 * @param direction
+		 *            The direction of the first step.
+		 * @param distance
+		 *            The amount of steps to the target.
+		 */
+		Step(Direction direction, int distance) {
+			this.direction = direction;
+			this.distance = distance;
+		}
+
+		/**
+		 * @return The direction of the first step.
+		 */
+		public Direction getDirection() {
+			return direction;
+		}
+
+		/**
+		 * @return The amount of steps to the target, including this one.
+		 */
+		public int getDistance() {
+			return distance;
+		}
+	}
+}
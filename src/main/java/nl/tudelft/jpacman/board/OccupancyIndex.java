@@ -0,0 +1,96 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The units occupying the squares of a {@link Board}, grouped by their class.
+ * The index is kept up to date by the squares of the board whenever a unit
+ * enters or leaves one of them, so the units of a certain type can be listed
+ * without visiting every square.
+ */
+final class OccupancyIndex {
+
+	/**
+	 * The units on the board by their exact class.
+	 */
+	private final Map<Class<?>, Set<Unit>> units;
+
+	/**
+	 * Creates a new, empty index.
+	 */
+	OccupancyIndex() {
+		this.units = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Registers a unit that entered a square of the board.
+	 *
+	 * @param unit
+	 *            The unit to add.
+	 */
+	void add(Unit unit) {
+		Set<Unit> group = units.get(unit.getClass());
+		if (group == null) {
+			Set<Unit> created = ConcurrentHashMap.newKeySet();
+			group = units.putIfAbsent(unit.getClass(), created);
+			if (group == null) {
+				group = created;
+			}
+		}
+		group.add(unit);
+	}
+
+	/**
+	 * Unregisters a unit that left a square of the board.
+	 *
+	 * @param unit
+	 *            The unit to remove.
+	 */
+	void remove(Unit unit) {
+		Set<Unit> group = units.get(unit.getClass());
+		if (group != null) {
+			group.remove(unit);
+		}
+	}
+
+	/**
+	 * Counts the units of a type, including subtypes. Only the sizes of the
+	 * groups are consulted, so this does not depend on the number of units.
+	 *
+	 * @param type
+	 *            The type of units to count.
+	 * @return The amount of units of the type on the board.
+	 */
+	int count(Class<? extends Unit> type) {
+		int count = 0;
+		for (Map.Entry<Class<?>, Set<Unit>> entry : units.entrySet()) {
+			if (type.isAssignableFrom(entry.getKey())) {
+				count += entry.getValue().size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Lists the units of a type, including subtypes.
+	 *
+	 * @param type
+	 *            The type of units to list.
+	 * @return A new list with all units of the type on the board.
+	 */
+	<T extends Unit> List<T> find(Class<T> type) {
+		List<T> result = new ArrayList<>();
+		for (Map.Entry<Class<?>, Set<Unit>> entry : units.entrySet()) {
+			if (type.isAssignableFrom(entry.getKey())) {
+				for (Unit unit : entry.getValue()) {
+					result.add(type.cast(unit));
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,196 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * The pellets lying on a {@link Board} without being units, as a bit for
+ * every square id. All pellets share a single sprite and are worth the same
+ * amount of points, unless a different value was given to a pellet when it
+ * was placed.
+ *
+ * <p>
+ * Pellets in this layer are not occupants of their squares, so they are not
+ * found by looking for units of a type. They are eaten by players entering
+ * their square, see
+ * {@link nl.tudelft.jpacman.level.CollisionMap#collideWithPellet(Unit, PelletLayer, int)}.
+ * </p>
+ */
+public class PelletLayer {
+
+	/**
+	 * The ids of the squares holding a pellet.
+	 */
+	private final BitSet pellets;
+
+	/**
+	 * The values of the pellets that are not worth the default value, by
+	 * square id.
+	 */
+	private final Map<Integer, Integer> values;
+
+	/**
+	 * The amount of pellets in this layer.
+	 */
+	private int count;
+
+	/**
+	 * The value of a pellet that was not given a value of its own.
+	 */
+	private int value;
+
+	/**
+	 * The sprite of every pellet.
+	 */
+	private Sprite sprite;
+
+	/**
+	 * The squares of the board whose appearance changed, or
+	 * <code>null</code> if this layer is not part of a board.
+	 */
+	private DirtySquares changes;
+
+	/**
+	 * Creates a new, empty layer.
+	 */
+	public PelletLayer() {
+		this.pellets = new BitSet();
+		this.values = new HashMap<>();
+	}
+
+	/**
+	 * Creates a layer with the pellets, values and sprite of another layer.
+	 *
+	 * @param other
+	 *            The layer to copy.
+	 */
+	PelletLayer(PelletLayer other) {
+		synchronized (other) {
+			this.pellets = (BitSet) other.pellets.clone();
+			this.values = new HashMap<>(other.values);
+			this.count = other.count;
+			this.value = other.value;
+			this.sprite = other.sprite;
+		}
+	}
+
+	/**
+	 * Marks the squares whose pellet is placed or eaten from now on.
+	 *
+	 * @param dirtySquares
+	 *            The changed squares of the board of this layer.
+	 */
+	synchronized void trackChanges(DirtySquares dirtySquares) {
+		this.changes = dirtySquares;
+	}
+
+	/**
+	 * Sets the value of the pellets that are not given a value of their own.
+	 *
+	 * @param points
+	 *            The amount of points a pellet is worth.
+	 */
+	public synchronized void setValue(int points) {
+		this.value = points;
+	}
+
+	/**
+	 * Returns the sprite of the pellets.
+	 *
+	 * @return The sprite of every pellet, or <code>null</code> if none was
+	 *         set.
+	 */
+	public synchronized Sprite getSprite() {
+		return sprite;
+	}
+
+	/**
+	 * Sets the sprite of the pellets.
+	 *
+	 * @param image
+	 *            The sprite of every pellet.
+	 */
+	public synchronized void setSprite(Sprite image) {
+		this.sprite = image;
+	}
+
+	/**
+	 * Places a pellet worth the default value on a square.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 */
+	public synchronized void place(int id) {
+		assert id >= 0;
+		if (!pellets.get(id)) {
+			pellets.set(id);
+			count++;
+			if (changes != null) {
+				changes.mark(id);
+			}
+		}
+		values.remove(id);
+	}
+
+	/**
+	 * Places a pellet with a value of its own on a square.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @param points
+	 *            The amount of points the pellet is worth.
+	 */
+	public synchronized void place(int id, int points) {
+		place(id);
+		if (points != value) {
+			values.put(id, points);
+		}
+	}
+
+	/**
+	 * Determines whether a square holds a pellet.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return <code>true</code> iff there is a pellet on the square.
+	 */
+	public synchronized boolean contains(int id) {
+		return pellets.get(id);
+	}
+
+	/**
+	 * Removes the pellet from a square.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return The value of the pellet, or <code>-1</code> if the square held
+	 *         no pellet.
+	 */
+	public synchronized int eat(int id) {
+		if (!pellets.get(id)) {
+			return -1;
+		}
+		pellets.clear(id);
+		count--;
+		if (changes != null) {
+			changes.mark(id);
+		}
+		Integer points = values.remove(id);
+		if (points == null) {
+			return value;
+		}
+		return points;
+	}
+
+	/**
+	 * Returns the amount of pellets in this layer.
+	 *
+	 * @return The amount of pellets that were placed and not eaten.
+	 */
+	public synchronized int size() {
+		return count;
+	}
+}
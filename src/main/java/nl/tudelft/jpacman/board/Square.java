@@ -1,9 +1,9 @@
 package nl.tudelft.jpacman.board;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 
@@ -15,24 +15,40 @@ import nl.tudelft.jpacman.sprite.Sprite;
  * 
  * @author Jeroen Roosen 
  */
-public abstract class Square {
+public abstract class Square implements Cloneable {
 
 	/**
-	 * The units occupying this square, in order of appearance.
+	 * The units occupying this square, in order of appearance. The list is
+	 * replaced whenever a unit enters or leaves this square, so it can be
+	 * handed out without copying it.
 	 */
-	private final List<Unit> occupants;
+	private volatile ImmutableList<Unit> occupants;
 
 	/**
-	 * The collection of squares adjacent to this square.
+	 * The collection of squares adjacent to this square, if it was linked
+	 * while not being part of a board. The neighbours of squares on a board
+	 * are kept by the board.
 	 */
-	private final Map<Direction, Square> neighbours;
+	private Map<Direction, Square> neighbours;
+
+	/**
+	 * The board this square is part of, or <code>null</code> if it is not
+	 * part of a board yet.
+	 */
+	private Board board;
+
+	/**
+	 * The id of this square on its board, or <code>-1</code> if it is not
+	 * part of a board yet.
+	 */
+	private int id;
 
 	/**
 	 * Creates a new, empty square.
 	 */
 	protected Square() {
-		this.occupants = new ArrayList<>();
-		this.neighbours = new EnumMap<>(Direction.class);
+		this.occupants = ImmutableList.of();
+		this.id = -1;
 	}
 
 	/**
@@ -43,6 +59,15 @@ public abstract class Square {
 	 * @return The adjacent square in the given direction.
 	 */
 	public Square getSquareAt(Direction direction) {
+		if (board != null) {
+			int neighbour = board.getNeighbourId(id, direction);
+			if (neighbour >= 0) {
+				return board.squareWithId(neighbour);
+			}
+		}
+		if (neighbours == null) {
+			return null;
+		}
 		return neighbours.get(direction);
 	}
 
@@ -56,9 +81,75 @@ public abstract class Square {
 	 *            The direction the new neighbour is in, as seen from this cell.
 	 */
 	public void link(Square neighbour, Direction direction) {
+		if (board != null) {
+			assert neighbour.getBoard() == board : "Neighbour must be on board.";
+			board.link(id, direction, neighbour.getId());
+			return;
+		}
+		if (neighbours == null) {
+			neighbours = new EnumMap<>(Direction.class);
+		}
 		neighbours.put(direction, neighbour);
 	}
 
+	/**
+	 * Returns the board this square is part of.
+	 * 
+	 * @return The board this square is part of, or <code>null</code> if it is
+	 *         not part of a board.
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Returns the id of this square. The squares of a board are numbered
+	 * densely row by row, so the id of the square at <code>x,y</code> is
+	 * <code>y * width + x</code>. Ids can be used to index arrays holding
+	 * information on every square of a board.
+	 * 
+	 * @return The id of this square, or <code>-1</code> if it is not part of
+	 *         a board.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Marks this square as part of a board.
+	 * 
+	 * @param owner
+	 *            The board this square is part of.
+	 * @param squareId
+	 *            The id of this square on the board.
+	 */
+	void attach(Board owner, int squareId) {
+		this.board = owner;
+		this.id = squareId;
+		for (Unit occupant : occupants) {
+			owner.getOccupancy().add(occupant);
+		}
+	}
+
+	/**
+	 * Creates a square of the same kind as this square for a forked board,
+	 * without occupants, neighbours or board.
+	 * 
+	 * @return A new, empty square that is accessible like this square.
+	 */
+	Square emptyCopy() {
+		try {
+			Square copy = (Square) clone();
+			copy.occupants = ImmutableList.of();
+			copy.neighbours = null;
+			copy.board = null;
+			copy.id = -1;
+			return copy;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+
 	/**
 	 * Returns an immutable list of units occupying this square, in the order in
 	 * which they occupied this square (i.e. oldest first.)
@@ -67,7 +158,53 @@ public abstract class Square {
 	 *         which they occupied this square (i.e. oldest first.)
 	 */
 	public List<Unit> getOccupants() {
-		return ImmutableList.copyOf(occupants);
+		return occupants;
+	}
+
+	/**
+	 * Performs an action for every unit occupying this square, oldest first.
+	 * The action may move units in or out of this square; it is performed
+	 * for the units that occupied this square when this method was called.
+	 * 
+	 * @param action
+	 *            The action to perform for every occupant.
+	 */
+	public void forEachOccupant(Consumer<? super Unit> action) {
+		List<Unit> current = occupants;
+		for (int i = 0; i < current.size(); i++) {
+			action.accept(current.get(i));
+		}
+	}
+
+	/**
+	 * Returns the unit that has occupied this square the longest.
+	 * 
+	 * @return The oldest occupant of this square, or <code>null</code> if
+	 *         this square is empty.
+	 */
+	public Unit firstOccupant() {
+		List<Unit> current = occupants;
+		if (current.isEmpty()) {
+			return null;
+		}
+		return current.get(0);
+	}
+
+	/**
+	 * Determines whether a unit of a certain type occupies this square.
+	 * 
+	 * @param type
+	 *            The type of unit to look for, including subtypes.
+	 * @return <code>true</code> iff a unit of the type occupies this square.
+	 */
+	public boolean hasOccupantOfType(Class<? extends Unit> type) {
+		List<Unit> current = occupants;
+		for (int i = 0; i < current.size(); i++) {
+			if (type.isInstance(current.get(i))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -78,13 +215,18 @@ public abstract class Square {
 	 *            The unit to occupy this square.
 	 * @return <code>true</code> iff the unit successfully occupied this square.
 	 */
-	boolean put(Unit occupant) {
+	synchronized boolean put(Unit occupant) {
 		assert occupant != null;
-		if (!occupants.contains(occupant)) {
-			occupants.add(occupant);
-			return true;
+		if (occupants.contains(occupant)) {
+			return false;
 		}
-		return false;
+		occupants = ImmutableList.<Unit> builder().addAll(occupants)
+				.add(occupant).build();
+		if (board != null) {
+			board.getOccupancy().add(occupant);
+			board.getDirtySquares().mark(id);
+		}
+		return true;
 	}
 
 	/**
@@ -93,9 +235,20 @@ public abstract class Square {
 	 * @param occupant
 	 *            The unit to be removed from this square.
 	 */
-	void remove(Unit occupant) {
+	synchronized void remove(Unit occupant) {
 		assert occupant != null;
-		occupants.remove(occupant);
+		int index = occupants.indexOf(occupant);
+		if (index < 0) {
+			return;
+		}
+		occupants = ImmutableList.<Unit> builder()
+				.addAll(occupants.subList(0, index))
+				.addAll(occupants.subList(index + 1, occupants.size()))
+				.build();
+		if (board != null) {
+			board.getOccupancy().remove(occupant);
+			board.getDirtySquares().mark(id);
+		}
 	}
 
 	/**
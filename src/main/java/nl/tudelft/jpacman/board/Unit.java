@@ -12,7 +12,7 @@ import nl.tudelft.jpacman.sprite.Sprite;
  * 
  * @author Jeroen Roosen 
  */
-public abstract class Unit {
+public abstract class Unit implements Cloneable {
 
 	/**
 	 * The square this unit is currently occupying.
@@ -30,11 +30,38 @@ public abstract class Unit {
 	private boolean onBridge;
 
 	/**
-	 * Creates a unit that is facing east.
+	 * The ordinal of the kind of this unit.
+	 */
+	private final int kind;
+
+	/**
+	 * Creates a unit of no particular kind that is facing east.
 	 */
 	protected Unit() {
+		this(UnitKind.OTHER);
+	}
+
+	/**
+	 * Creates a unit that is facing east.
+	 * 
+	 * @param unitKind
+	 *            The kind of this unit.
+	 */
+	protected Unit(UnitKind unitKind) {
+		assert unitKind != null;
 		this.direction = Direction.EAST;
 		this.onBridge = false;
+		this.kind = unitKind.ordinal();
+	}
+
+	/**
+	 * Returns the kind of this unit as a small integer, the ordinal of its
+	 * {@link UnitKind}, so it can index tables.
+	 * 
+	 * @return The ordinal of the kind of this unit.
+	 */
+	public final int getKind() {
+		return kind;
 	}
 	
 	/**
@@ -108,6 +135,23 @@ public abstract class Unit {
 		}
 	}
 
+	/**
+	 * Creates a copy of this unit that is not on any square, for a forked
+	 * board. The copy has the state of this unit and shares its sprites and
+	 * other immutable parts.
+	 * 
+	 * @return A new unit that is equal to this unit, but not on a square.
+	 */
+	public Unit copy() {
+		try {
+			Unit copy = (Unit) clone();
+			copy.square = null;
+			return copy;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+
 	/**
 	 * Tests whether the square this unit is occupying has this unit listed as
 	 * one of its occupiers.
@@ -0,0 +1,53 @@
+package nl.tudelft.jpacman.board;
+
+/**
+ * The kinds of units the game distinguishes when units collide. The ordinal
+ * of a kind is the small integer returned by {@link Unit#getKind()}.
+ */
+public enum UnitKind {
+
+	/**
+	 * Any unit of no other kind.
+	 */
+	OTHER,
+
+	/**
+	 * A player.
+	 */
+	PLAYER,
+
+	/**
+	 * A ghost.
+	 */
+	GHOST,
+
+	/**
+	 * A bullet shot by a player.
+	 */
+	BULLET,
+
+	/**
+	 * A pellet.
+	 */
+	PELLET,
+
+	/**
+	 * A hole.
+	 */
+	HOLE,
+
+	/**
+	 * A teleport.
+	 */
+	TELEPORT,
+
+	/**
+	 * A bridge.
+	 */
+	BRIDGE,
+
+	/**
+	 * A fruit.
+	 */
+	FRUIT
+}
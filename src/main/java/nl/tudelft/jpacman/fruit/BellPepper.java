@@ -1,11 +1,7 @@
 package nl.tudelft.jpacman.fruit;
 
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
-
-import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
@@ -19,24 +15,21 @@ public class BellPepper extends Fruit{
 	 * @param Sprite sprite the sprite of this bell-pepper
 	 * @param int lifetime the time for which this bell-pepper will remain on the board
 	 * @param int effectDuration the time for which the power of this bell-pepper is active.
+	 * @param store the store providing the sprites shown while the power is active.
 	 */
-	protected BellPepper(Sprite sprite, int lifetime, int effectDuration) {
-		super(sprite, lifetime, effectDuration);
+	protected BellPepper(Sprite sprite, int lifetime, int effectDuration,
+			PacManSprites store) {
+		super(sprite, lifetime, effectDuration, store);
 	}
 
 	@Override
-	public void fruitEffect(Player p) {
-		PacManSprites pms = new PacManSprites();
-		Map<Direction, Sprite> oldSprites = pms.getPacmanSprites();
+	public void fruitEffect(Player p, TimedEffects effects) {
+		PacManSprites pms = getSpriteStore();
 		p.setAcceleration(true);
 		p.setSprites(pms.getPacmanAngrySprite());
-		TimerTask timerTask = new TimerTask() {
-		    public void run() {
-		    	p.setAcceleration(false);
-		        p.setSprites(oldSprites);
-		    }
-		};
-		Timer timer = new Timer();
-		timer.schedule(timerTask, getEffectDuration() * 1000);
+		effects.schedule(getEffectDuration() * 1000, p, player -> {
+			player.setAcceleration(false);
+			player.resetSprites();
+		});
 	}
 }
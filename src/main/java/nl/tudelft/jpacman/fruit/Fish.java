@@ -1,9 +1,7 @@
 package nl.tudelft.jpacman.fruit;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
@@ -17,22 +15,20 @@ public class Fish extends Fruit {
 	 * @param Sprite sprite the sprite of this fish
 	 * @param int lifetime the time for which this fish will remain on the board
 	 * @param int effectDuration the time for which the power of this fish is active.
+	 * @param store the store providing the sprites shown while the power is active.
 	 */
-	protected Fish(Sprite sprite, int lifetime, int effectDuration) {
-		super(sprite, lifetime, effectDuration);
+	protected Fish(Sprite sprite, int lifetime, int effectDuration,
+			PacManSprites store) {
+		super(sprite, lifetime, effectDuration, store);
 	}
 
 	@Override
-	public void fruitEffect(Player p) {
+	public void fruitEffect(Player p, TimedEffects effects) {
 		p.setMobility(false);
-		p.setSprites(new PacManSprites().getPacmanParalizedSprites());
-		TimerTask timerTask = new TimerTask() {
-		    public void run() {
-		        p.setMobility(true);
-		        p.setSprites(new PacManSprites().getPacmanSprites());
-		    }
-		};
-		Timer timer = new Timer();
-		timer.schedule(timerTask, getEffectDuration() * 1000);
+		p.setSprites(getSpriteStore().getPacmanParalizedSprites());
+		effects.schedule(getEffectDuration() * 1000, p, player -> {
+			player.setMobility(true);
+			player.setSprites(getSpriteStore().getPacmanSprites());
+		});
 	}
 }
@@ -1,7 +1,16 @@
 package nl.tudelft.jpacman.fruit;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
+import nl.tudelft.jpacman.npc.NPC;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -14,6 +23,12 @@ public abstract class Fruit extends Unit {
 	private final int lifetime;
 	
 	private final int effectDuration;
+
+	/**
+	 * The store providing the sprites shown while the power of this fruit
+	 * is active, or <code>null</code> if it changes no sprites.
+	 */
+	private final PacManSprites spriteStore;
 	
 	/**
 	 * Create a Fruit object
@@ -22,9 +37,32 @@ public abstract class Fruit extends Unit {
 	 * @param int effectDuration the time for which the power of this fruit is active.
 	 */
 	protected Fruit(Sprite sprite, int lifetime, int effectDuration) {
+		this(sprite, lifetime, effectDuration, null);
+	}
+
+	/**
+	 * Create a Fruit object whose power changes the sprites of units
+	 * @param Sprite sprite the sprite of this fruit
+	 * @param int lifetime the time for which this fruit will remain on the board
+	 * @param int effectDuration the time for which the power of this fruit is active.
+	 * @param store the store providing the sprites shown while the power is active.
+	 */
+	protected Fruit(Sprite sprite, int lifetime, int effectDuration,
+			PacManSprites store) {
+		super(UnitKind.FRUIT);
 		this.image = sprite;
 		this.lifetime = lifetime;
 		this.effectDuration = effectDuration;
+		this.spriteStore = store;
+	}
+
+	/**
+	 * Return the store providing the sprites shown while the power of this
+	 * fruit is active
+	 * @return the sprite store, or <code>null</code> if this fruit changes no sprites
+	 */
+	protected PacManSprites getSpriteStore() {
+		return spriteStore;
 	}
 	
 	/**
@@ -54,6 +92,30 @@ public abstract class Fruit extends Unit {
 	/**
 	 * Enable the power of this fruit.
 	 * @param Player p the player that ate this fruit.
+	 * @param TimedEffects effects the effects of the level, on which the power ends.
 	 */
-	public abstract void fruitEffect(Player p);
+	public abstract void fruitEffect(Player p, TimedEffects effects);
+
+	/**
+	 * Lists the ghosts a fruit eaten by a player acts on: the ghosts on the
+	 * board of the player, so a fruit on a forked level acts on the ghosts of
+	 * that level, or the ghosts among the given NPCs if the player is not on
+	 * a board.
+	 * @param p the player eating this fruit
+	 * @param npcs the NPCs known when this fruit was created
+	 * @return the ghosts to act on
+	 */
+	protected static List<Ghost> ghosts(Player p, List<NPC> npcs) {
+		Board board = p.getSquare() == null ? null : p.getSquare().getBoard();
+		if (board != null) {
+			return board.getUnits(Ghost.class);
+		}
+		List<Ghost> ghosts = new ArrayList<>();
+		for (NPC npc : npcs) {
+			if (npc instanceof Ghost) {
+				ghosts.add((Ghost) npc);
+			}
+		}
+		return ghosts;
+	}
 }
@@ -83,15 +83,15 @@ public class FruitFactory {
 	public FruitFactory(PacManSprites spriteStore, List<Square> fruitPos, List<NPC> npcs) {
 		this.sprites = spriteStore;
 		fruitPositions = fruitPos;
-		fish = new Fish(sprites.getFishSprite(), LIFE_TIME, FISH_DURATION);
+		fish = new Fish(sprites.getFishSprite(), LIFE_TIME, FISH_DURATION, sprites);
 		fruits.add(fish);
-		potato = new Potato(sprites.getPotatoSprite(), LIFE_TIME, POTATO_DURATION, npcs);
+		potato = new Potato(sprites.getPotatoSprite(), LIFE_TIME, POTATO_DURATION, npcs, sprites);
 		fruits.add(potato);
-		tomato = new Tomato(sprites.getTomatoSprite(), LIFE_TIME, TOMATO_DURATION);
+		tomato = new Tomato(sprites.getTomatoSprite(), LIFE_TIME, TOMATO_DURATION, sprites);
 		fruits.add(tomato);
 		pomgranate = new Pomgranate(sprites.getPomgranateSprite(), LIFE_TIME, POMEGRANATE_DURATION, npcs);
 		fruits.add(pomgranate);
-		bellPepper = new BellPepper(sprites.getBellPepperSprite(), LIFE_TIME, BELL_PEPPER_DURATION);
+		bellPepper = new BellPepper(sprites.getBellPepperSprite(), LIFE_TIME, BELL_PEPPER_DURATION, sprites);
 		fruits.add(bellPepper);
 		kidneyBean = new KidneyBean(sprites.getKidneyBeanSprite(), LIFE_TIME, KIDNEY_BEAN_DURATION);
 		fruits.add(kidneyBean);
@@ -1,9 +1,7 @@
 package nl.tudelft.jpacman.fruit;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -22,14 +20,9 @@ public class KidneyBean extends Fruit {
 	}
 
 	@Override
-	public void fruitEffect(Player p) {
+	public void fruitEffect(Player p, TimedEffects effects) {
 		p.setShooting(true);
-		TimerTask timerTask = new TimerTask() {
-		    public void run() {
-		    	p.setShooting(false);
-		    }
-		};
-		Timer timer = new Timer();
-		timer.schedule(timerTask, getEffectDuration() * 1000);
+		effects.schedule(getEffectDuration() * 1000, p,
+				player -> player.setShooting(false));
 	}
 }
@@ -3,6 +3,7 @@ package nl.tudelft.jpacman.fruit;
 import java.util.List;
 
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
 import nl.tudelft.jpacman.npc.ghost.Navigation;
@@ -31,14 +32,10 @@ public class Pomgranate extends Fruit {
 	}
 
 	@Override
-	public void fruitEffect(Player p) {
-		Ghost g;
-		for(NPC npc: npcs){
-			if(npc instanceof Ghost){
-				g = (Ghost) npc;
-				if(npc.getSquare() != null && Navigation.shortestPath(p.getSquare(), g.getSquare(), this).size() <= 4){
-					g.setExplode(true);
-				}
+	public void fruitEffect(Player p, TimedEffects effects) {
+		for(Ghost g: ghosts(p, npcs)){
+			if(g.getSquare() != null && Navigation.shortestPath(p.getSquare(), g.getSquare(), this).size() <= 4){
+				g.setExplode(true);
 			}
 		}
 	}
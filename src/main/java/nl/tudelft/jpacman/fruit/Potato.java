@@ -3,8 +3,10 @@ package nl.tudelft.jpacman.fruit;
 import java.util.List;
 
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -23,20 +25,19 @@ public class Potato extends Fruit{
 	 * @param int lifetime the time for which this fruit will remain on the board
 	 * @param int effectDuration the time for which the power of this fruit is active.
 	 * @param npcs The list of NPCs active in this game.
+	 * @param store the store providing the sprites of the speeded-up ghosts.
 	 */
-	protected Potato(Sprite sprite, int lifetime, int effectDuration, List<NPC> npcs) {
-		super(sprite, lifetime, effectDuration);
+	protected Potato(Sprite sprite, int lifetime, int effectDuration, List<NPC> npcs,
+			PacManSprites store) {
+		super(sprite, lifetime, effectDuration, store);
 		this.npcs = npcs;
 	}
 
 	@Override
-	public void fruitEffect(Player p) {
-		Ghost g;
-		for(NPC npc: npcs){
-			if(npc instanceof Ghost){
-				g = (Ghost) npc;
-				g.temporaryAcceleration(getEffectDuration());
-			}
+	public void fruitEffect(Player p, TimedEffects effects) {
+		for(Ghost g: ghosts(p, npcs)){
+			g.temporaryAcceleration(getEffectDuration(),
+					getSpriteStore().getAngryGhostSprite(), effects);
 		}
 	}
 }
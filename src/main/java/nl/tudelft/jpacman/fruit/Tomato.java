@@ -1,9 +1,7 @@
 package nl.tudelft.jpacman.fruit;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
@@ -17,23 +15,21 @@ public class Tomato extends Fruit{
 	 * @param Sprite sprite the sprite of this Tomato
 	 * @param int lifetime the time for which this Tomato will remain on the board
 	 * @param int effectDuration the time for which the power of this Tomato is active.
+	 * @param store the store providing the sprites shown while the power is active.
 	 */
-	protected Tomato(Sprite sprite, int lifetime, int effectDuration) {
-		super(sprite, lifetime, effectDuration);
+	protected Tomato(Sprite sprite, int lifetime, int effectDuration,
+			PacManSprites store) {
+		super(sprite, lifetime, effectDuration, store);
 	}
 
 	@Override
-	public void fruitEffect(Player p) {
+	public void fruitEffect(Player p, TimedEffects effects) {
 		p.setInvincible(true);
-		p.setSprites(new PacManSprites().getPacmanInvisibleSprite());
-		TimerTask timerTask = new TimerTask() {
-		    public void run() {
-		        p.setInvincible(false);
-		        p.setSprites(new PacManSprites().getPacmanSprites());
-		    }
-		};
-		Timer timer = new Timer();
-		timer.schedule(timerTask, getEffectDuration() * 1000);
+		p.setSprites(getSpriteStore().getPacmanInvisibleSprite());
+		effects.schedule(getEffectDuration() * 1000, p, player -> {
+			player.setInvincible(false);
+			player.setSprites(getSpriteStore().getPacmanSprites());
+		});
 	}
 
 }
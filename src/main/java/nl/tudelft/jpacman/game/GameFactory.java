@@ -33,7 +33,8 @@ public class GameFactory {
 	 * @return A new single player game.
 	 */
 	public Game createSinglePlayerGame(Level level) {
-		return new SinglePlayerGame(playerFact.createPacMan(), level);
+		return new SinglePlayerGame(playerFact.createPacMan(), level,
+				playerFact);
 	}
 
 	/**
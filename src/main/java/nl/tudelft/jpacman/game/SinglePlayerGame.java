@@ -1,22 +1,17 @@
 package nl.tudelft.jpacman.game;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.ScheduledExecutorService;
 
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.level.Level;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.fruit.Fruit;
 import nl.tudelft.jpacman.fruit.FruitFactory;
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
 import nl.tudelft.jpacman.npc.Bullet;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
-import nl.tudelft.jpacman.sprite.PacManSprites;
 
 import com.google.common.collect.ImmutableList;
 
@@ -36,6 +31,11 @@ public class SinglePlayerGame extends Game {
 	 * The level of this game.
 	 */
 	private final Level level;
+
+	/**
+	 * The factory providing the bullets the player shoots.
+	 */
+	private final PlayerFactory playerFactory;
 	
 	/**
 	 * A lock that prevent Fruit from being created on the board, when the lock value is true, a Fruit can appear on the board and false when a fruit can't appear.
@@ -53,13 +53,17 @@ public class SinglePlayerGame extends Game {
 	 *            The player.
 	 * @param l
 	 *            The level.
+	 * @param factory
+	 *            The factory providing the bullets the player shoots.
 	 */
-	protected SinglePlayerGame(Player p, Level l) {
+	protected SinglePlayerGame(Player p, Level l, PlayerFactory factory) {
 		assert p != null;
 		assert l != null;
+		assert factory != null;
 
 		this.player = p;
 		this.level = l;
+		this.playerFactory = factory;
 		level.registerPlayer(p);
 	}
 
@@ -109,18 +113,14 @@ public class SinglePlayerGame extends Game {
 			Fruit fruit = fruitFactory.getRandomFruit();
 			Square postion = fruitFactory.getRandomFruitPosition();
 			fruit.occupy(postion);
-			TimerTask timerTask = new TimerTask() {
+			level.getEffects().schedule(fruit.getLifetime() * 1000, new Runnable() {
 		        public void run() {
-		        	for(Unit occupant : postion.getOccupants()){
-		        		if(occupant instanceof Fruit){
-		        			fruit.leaveSquare();
-		        		}
+		        	if(postion.hasOccupantOfType(Fruit.class)){
+		        		fruit.leaveSquare();
 		        	}
 		        	fruitLock = true;
 		        }
-		    };
-		    Timer timer = new Timer();
-		    timer.schedule(timerTask, fruit.getLifetime() * 1000);
+		    });
 		}
 	}
 
@@ -128,36 +128,30 @@ public class SinglePlayerGame extends Game {
 	public void ShootingEvent() {
 		if(shootLock){
 			shootLock = false;
-			Bullet b = new Bullet(new PacManSprites().getBulletSprite(), player);
+			Bullet b = playerFactory.createBullet(player);
 			b.occupy(player.getSquare());
 			level.animateBullet(b);
-			TimerTask timerTask = new TimerTask() {
+			level.getEffects().schedule(b.getBulletDelay() * 1000, new Runnable() {
 		        public void run() {
 		        	shootLock = true;
 		        }
-		    };
-		    Timer timer = new Timer();
-		    timer.schedule(timerTask, b.getBulletDelay() * 1000);
+		    });
 		}
 	}
 
 	@Override
-	public void NPCCleanEvent(List<NPC> deadNPCs, Map<NPC, ScheduledExecutorService> npcs) {
+	public void NPCCleanEvent(List<NPC> deadNPCs) {
 		for(NPC npc : deadNPCs) {
 			if(npc instanceof Ghost) {
-				TimerTask timerTask = new TimerTask() {
+				int deadGhostAnimationTime = 5 * 200;
+				level.getEffects().schedule(deadGhostAnimationTime, new Runnable() {
 				    public void run() {
-				    	npc.leaveSquare();
-				    	npcs.remove(npc);
+				    	level.removeNPC(npc);
 				    }
-				};
-				int deadGhostAnimationTime = 5 * 200;
-				Timer timer = new Timer();
-				timer.schedule(timerTask, deadGhostAnimationTime);
+				});
 			}
 			else {
-				npc.leaveSquare();
-				npcs.remove(npc);
+				level.removeNPC(npc);
 			}
 		}
 	}
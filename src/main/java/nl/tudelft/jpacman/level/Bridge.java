@@ -4,6 +4,7 @@ import java.util.Map;
 
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -23,6 +24,7 @@ public class Bridge extends Unit{
 	 * @param Map<Direction, Sprite> spriteMap the sprites of this bridge depending of the direction.
 	 */
 	public Bridge(Map<Direction, Sprite> spriteMap){
+		super(UnitKind.BRIDGE);
 		sprites = spriteMap;
 	}
 	
@@ -77,7 +79,7 @@ public class Bridge extends Unit{
 	 * @returns true is the unit can't go in that direction because there a bridge that block it. 
 	 */
 	public static boolean blockedBybridge(Unit unit, Direction direction){
-		Unit u = unit.getSquare().getOccupants().get(0);
+		Unit u = unit.getSquare().firstOccupant();
 		if(u instanceof Bridge){
 			Bridge b = (Bridge) u;
 			if((!(b.parralelTo(direction)) && unit.isOnBridge())
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import nl.tudelft.jpacman.board.Unit;
 
@@ -23,6 +24,28 @@ public class CollisionInteractionMap implements CollisionMap {
 			Map<Class<? extends Unit>, CollisionHandler<?, ?>>
 	> handlers;
 
+	/**
+	 * Marks a pair of classes for which no handler is listed in
+	 * {@link #resolved}.
+	 */
+	private static final CollisionHandler<Unit, Unit> NO_HANDLER = new CollisionHandler<Unit, Unit>() {
+
+		@Override
+		public void handleCollision(Unit collider, Unit collidee) {
+			// There is nothing to handle.
+		}
+	};
+
+	/**
+	 * The handlers found for pairs of concrete classes, by the class of the
+	 * collider and then the class of the collidee. Filled as collisions
+	 * occur and replaced by an empty cache when handlers are added.
+	 */
+	private volatile Map<
+			Class<?>,
+			Map<Class<?>, CollisionHandler<?, ?>>
+	> resolved;
+
 	/**
 	 * Creates a new, empty collision map.
 	 */
@@ -31,6 +54,7 @@ public class CollisionInteractionMap implements CollisionMap {
 				Class<? extends Unit>,
 				Map<Class<? extends Unit>, CollisionHandler<?, ?>>
 		>();
+		this.resolved = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -105,11 +129,14 @@ public class CollisionInteractionMap implements CollisionMap {
 		Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers
 				.get(collider);
 		map.put(collidee, handler);
+		resolved = new ConcurrentHashMap<>();
 	}
 
 	/**
 	 * Handles the collision between two colliding parties, if a suitable
-	 * collision handler is listed.
+	 * collision handler is listed. The handler for a pair of classes is only
+	 * looked up once; later collisions between units of the same classes
+	 * use the cached result.
 	 * 
 	 * @param <C1>
 	 *            The collider type.
@@ -125,27 +152,55 @@ public class CollisionInteractionMap implements CollisionMap {
 	@Override
 	public <C1 extends Unit, C2 extends Unit> void collide(C1 collider,
 			C2 collidee) {
+		Map<Class<?>, Map<Class<?>, CollisionHandler<?, ?>>> cache = resolved;
+		Map<Class<?>, CollisionHandler<?, ?>> byCollidee = cache.get(collider
+				.getClass());
+		if (byCollidee == null) {
+			byCollidee = new ConcurrentHashMap<>();
+			cache.put(collider.getClass(), byCollidee);
+		}
+		CollisionHandler<?, ?> handler = byCollidee.get(collidee.getClass());
+		if (handler == null) {
+			handler = resolve(collider.getClass(), collidee.getClass());
+			byCollidee.put(collidee.getClass(), handler);
+		}
+		((CollisionHandler<C1, C2>) handler).handleCollision(collider,
+				collidee);
+	}
+
+	/**
+	 * Looks up the handler for a pair of classes, using the most specific
+	 * class of the collider listed and then the most specific class of the
+	 * collidee listed for it.
+	 * 
+	 * @param collider
+	 *            The class of the collider.
+	 * @param collidee
+	 *            The class of the collidee.
+	 * @return The handler for the pair, or {@link #NO_HANDLER} if none is
+	 *         listed.
+	 */
+	private CollisionHandler<?, ?> resolve(Class<? extends Unit> collider,
+			Class<? extends Unit> collidee) {
 		Class<? extends Unit> colliderKey = getMostSpecificClass(handlers,
-				collider.getClass());
+				collider);
 		if (colliderKey == null) {
-			return;
+			return NO_HANDLER;
 		}
 
 		Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers
 				.get(colliderKey);
 		Class<? extends Unit> collideeKey = getMostSpecificClass(map,
-				collidee.getClass());
+				collidee);
 		if (collideeKey == null) {
-			return;
+			return NO_HANDLER;
 		}
 
-		CollisionHandler<C1, C2> collisionHandler = (CollisionHandler<C1, C2>) map
-				.get(collideeKey);
+		CollisionHandler<?, ?> collisionHandler = map.get(collideeKey);
 		if (collisionHandler == null) {
-			return;
+			return NO_HANDLER;
 		}
-
-		collisionHandler.handleCollision(collider, collidee);
+		return collisionHandler;
 	}
 
 	/**
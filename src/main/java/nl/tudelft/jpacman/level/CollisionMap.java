@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.level;
 
+import nl.tudelft.jpacman.board.PelletLayer;
 import nl.tudelft.jpacman.board.Unit;
 
 /**
@@ -27,4 +28,34 @@ public interface CollisionMap {
 	 */
 	<C1 extends Unit, C2 extends Unit> void collide(C1 collider, C2 collidee);
 
+	/**
+	 * Handles a unit entering a square that holds a pellet of the pellet
+	 * layer of the board. By default, nothing happens.
+	 * 
+	 * @param collider
+	 *            The unit that entered the square.
+	 * @param pellets
+	 *            The pellet layer of the board.
+	 * @param squareId
+	 *            The id of the square holding the pellet.
+	 */
+	default void collideWithPellet(Unit collider, PelletLayer pellets,
+			int squareId) {
+		// Only units can collide by default.
+	}
+
+	/**
+	 * Returns a collision map handling collisions like this one, whose
+	 * temporary effects end on the given effects, for a forked level. By
+	 * default, collisions have no temporary effects and this map is
+	 * returned.
+	 * 
+	 * @param effects
+	 *            The effects of the forked level.
+	 * @return A collision map for the forked level.
+	 */
+	default CollisionMap withEffects(TimedEffects effects) {
+		return this;
+	}
+
 }
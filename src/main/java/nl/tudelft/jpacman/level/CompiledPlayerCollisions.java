@@ -0,0 +1,177 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
+import nl.tudelft.jpacman.fruit.Fruit;
+import nl.tudelft.jpacman.npc.Bullet;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+/**
+ * The collisions of {@link PlayerCollisions}, dispatched through a table
+ * instead of chains of instanceof checks. The table is indexed by the
+ * {@link Unit#getKind() kind} of the mover and the kind of the unit it
+ * collided on, and lists which of the collisions to handle. It is built once
+ * and shared by all levels.
+ */
+public class CompiledPlayerCollisions extends PlayerCollisions {
+
+	/**
+	 * Nothing happens.
+	 */
+	private static final byte NONE = 0;
+
+	/**
+	 * A player bumps into a ghost.
+	 */
+	private static final byte PLAYER_GHOST = 1;
+
+	/**
+	 * A ghost bumps into a player.
+	 */
+	private static final byte GHOST_PLAYER = 2;
+
+	/**
+	 * A player eats a pellet.
+	 */
+	private static final byte PLAYER_PELLET = 3;
+
+	/**
+	 * A player or a ghost falls into a hole.
+	 */
+	private static final byte CHARACTER_HOLE = 4;
+
+	/**
+	 * A player enters a teleport.
+	 */
+	private static final byte PLAYER_TELEPORT = 5;
+
+	/**
+	 * A player, a ghost or a bullet enters a bridge.
+	 */
+	private static final byte UNIT_BRIDGE = 6;
+
+	/**
+	 * A player eats a fruit.
+	 */
+	private static final byte PLAYER_FRUIT = 7;
+
+	/**
+	 * A bullet hits a ghost.
+	 */
+	private static final byte BULLET_GHOST = 8;
+
+	/**
+	 * A ghost runs into a bullet.
+	 */
+	private static final byte GHOST_BULLET = 9;
+
+	/**
+	 * The collision to handle, by the kind of the mover and then the kind of
+	 * the unit collided on.
+	 */
+	private static final byte[][] TABLE = createTable();
+
+	/**
+	 * Creates a new collision map whose effects end on a clock of their own.
+	 */
+	public CompiledPlayerCollisions() {
+		super();
+	}
+
+	/**
+	 * Creates a new collision map.
+	 * 
+	 * @param timedEffects
+	 *            The effects of the level, on which the temporary effects
+	 *            caused by collisions end.
+	 */
+	public CompiledPlayerCollisions(TimedEffects timedEffects) {
+		super(timedEffects);
+	}
+
+	@Override
+	public CollisionMap withEffects(TimedEffects timedEffects) {
+		return new CompiledPlayerCollisions(timedEffects);
+	}
+
+	/**
+	 * @return The table of collisions to handle.
+	 */
+	private static byte[][] createTable() {
+		int kinds = UnitKind.values().length;
+		byte[][] table = new byte[kinds][kinds];
+		set(table, UnitKind.PLAYER, UnitKind.GHOST, PLAYER_GHOST);
+		set(table, UnitKind.PLAYER, UnitKind.PELLET, PLAYER_PELLET);
+		set(table, UnitKind.PLAYER, UnitKind.HOLE, CHARACTER_HOLE);
+		set(table, UnitKind.PLAYER, UnitKind.TELEPORT, PLAYER_TELEPORT);
+		set(table, UnitKind.PLAYER, UnitKind.BRIDGE, UNIT_BRIDGE);
+		set(table, UnitKind.PLAYER, UnitKind.FRUIT, PLAYER_FRUIT);
+		set(table, UnitKind.GHOST, UnitKind.PLAYER, GHOST_PLAYER);
+		set(table, UnitKind.GHOST, UnitKind.HOLE, CHARACTER_HOLE);
+		set(table, UnitKind.GHOST, UnitKind.BRIDGE, UNIT_BRIDGE);
+		set(table, UnitKind.GHOST, UnitKind.BULLET, GHOST_BULLET);
+		set(table, UnitKind.BULLET, UnitKind.GHOST, BULLET_GHOST);
+		set(table, UnitKind.BULLET, UnitKind.BRIDGE, UNIT_BRIDGE);
+		return table;
+	}
+
+	/**
+	 * Lists a collision in the table.
+	 * 
+	 * @param table
+	 *            The table to list the collision in.
+	 * @param mover
+	 *            The kind of the mover.
+	 * @param collidedOn
+	 *            The kind of the unit collided on.
+	 * @param collision
+	 *            The collision to handle.
+	 */
+	private static void set(byte[][] table, UnitKind mover,
+			UnitKind collidedOn, byte collision) {
+		table[mover.ordinal()][collidedOn.ordinal()] = collision;
+	}
+
+	@Override
+	public void collide(Unit mover, Unit collidedOn) {
+		if (mover.isOnBridge() != collidedOn.isOnBridge()) {
+			return;
+		}
+		switch (TABLE[mover.getKind()][collidedOn.getKind()]) {
+		case PLAYER_GHOST:
+			if (!((Player) mover).isInvincible()) {
+				playerVersusGhost((Player) mover, (Ghost) collidedOn);
+			}
+			break;
+		case GHOST_PLAYER:
+			playerVersusGhost((Player) collidedOn, (Ghost) mover);
+			break;
+		case PLAYER_PELLET:
+			playerVersusPellet((Player) mover, (Pellet) collidedOn);
+			break;
+		case CHARACTER_HOLE:
+			characterVersusHole(mover, (Hole) collidedOn);
+			break;
+		case PLAYER_TELEPORT:
+			playerVersusTeleport((Player) mover, (Teleport) collidedOn);
+			break;
+		case UNIT_BRIDGE:
+			characterVersusBridge(mover, (Bridge) collidedOn);
+			break;
+		case PLAYER_FRUIT:
+			playerVersusFruit((Player) mover, (Fruit) collidedOn);
+			break;
+		case BULLET_GHOST:
+			ghostVersusBullet((Ghost) collidedOn, (Bullet) mover);
+			break;
+		case GHOST_BULLET:
+			if (((Bullet) collidedOn).isAlive()) {
+				ghostVersusBullet((Ghost) mover, (Bullet) collidedOn);
+			}
+			break;
+		case NONE:
+		default:
+			break;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.level;
 
+import nl.tudelft.jpacman.board.PelletLayer;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.CollisionInteractionMap.CollisionHandler;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
@@ -24,6 +25,20 @@ public class DefaultPlayerInteractionMap implements CollisionMap {
 		collisions.collide(mover, movedInto);
 	}
 
+	/**
+	 * Players eat the pellets of the pellet layer as they eat pellet units.
+	 */
+	@Override
+	public void collideWithPellet(Unit mover, PelletLayer pellets,
+			int squareId) {
+		if (mover instanceof Player) {
+			int points = pellets.eat(squareId);
+			if (points >= 0) {
+				((Player) mover).addPoints(points);
+			}
+		}
+	}
+
 	/**
 	 * Creates the default collisions Player-Ghost and Player-Pellet.
 	 * 
@@ -1,11 +1,7 @@
 package nl.tudelft.jpacman.level;
 
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
-
-import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
 import nl.tudelft.jpacman.npc.DirectionCharacter;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
@@ -29,16 +25,24 @@ public class Hole extends Unit {
 	 * The time in seconds for which a character is trapped into this hole.
 	 */
 	private int trapTime;
+
+	/**
+	 * The store providing the sprites of trapped characters.
+	 */
+	private final PacManSprites spriteStore;
 	
 	/**
 	 * Creates a new hole.
 	 * @param time The time in seconds for which a character is trapped into 
 	 * this hole.
 	 * @param sprite The sprite of this hole.
+	 * @param store The store providing the sprites of trapped characters.
 	 */
-	public Hole(int time, Sprite sprite) {
+	public Hole(int time, Sprite sprite, PacManSprites store) {
+		super(UnitKind.HOLE);
 		this.image = sprite;
 		this.trapTime = time;
+		this.spriteStore = store;
 	}
 	
 	@Override
@@ -57,22 +61,19 @@ public class Hole extends Unit {
 	 * Trap a character into this hole during the time specified in the method
 	 * getTrapTime.
 	 * @param dc the character which will be trapped in this hole
+	 * @param effects the effects of the level, on which the trap ends
 	 */
-	public void effect(DirectionCharacter dc) {
-		Map<Direction, Sprite> oldSprites = dc.getSprites();
+	public void effect(DirectionCharacter dc, TimedEffects effects) {
 	    dc.setMobility(false);
 		if(dc instanceof Player)
-			((Player) dc).setSprites(new PacManSprites().getPacmanParalizedSprites());
+			((Player) dc).setSprites(spriteStore.getPacmanParalizedSprites());
 		else if(dc instanceof Ghost)
-			((Ghost) dc).setSprites(new PacManSprites().getParalizedGhostSprite());
-		TimerTask timerTask = new TimerTask() {
-			public void run() {
-			    dc.setMobility(true);
-			    dc.setSprites(oldSprites);
-			}
-	    };
-		Timer timer = new Timer();
-		timer.schedule(timerTask, trapTime * 1000);
+			((Ghost) dc).setSprites(spriteStore.getParalizedGhostSprite());
+		effects.schedule(trapTime * 1000, (Unit) dc, unit -> {
+			DirectionCharacter trapped = (DirectionCharacter) unit;
+			trapped.setMobility(true);
+			trapped.resetSprites();
+		});
 	}
 	
 }
\ No newline at end of file
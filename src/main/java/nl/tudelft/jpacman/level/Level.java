@@ -2,15 +2,15 @@ package nl.tudelft.jpacman.level;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.FlowField;
+import nl.tudelft.jpacman.board.PelletLayer;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.fruit.FruitFactory;
@@ -19,7 +19,6 @@ import nl.tudelft.jpacman.npc.Bullet;
 import nl.tudelft.jpacman.npc.DirectionCharacter;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
-import nl.tudelft.jpacman.sprite.PacManSprites;
 
 /**
  * A level of Pac-Man. A level consists of the board with the players and the
@@ -46,9 +45,27 @@ public class Level {
 	private final Object startStopLock = new Object();
 
 	/**
-	 * The NPCs of this level and, if they are running, their schedules.
+	 * The NPCs of this level and, if they are running, their schedules, in
+	 * the order in which they were added.
 	 */
-	private final Map<NPC, ScheduledExecutorService> npcs;
+	private final Map<NPC, NpcScheduler.Task> npcs;
+
+	/**
+	 * The scheduler moving the NPCs of this level.
+	 */
+	private final NpcScheduler scheduler;
+
+	/**
+	 * The temporary effects on this level, which only expire while this
+	 * level is in progress.
+	 */
+	private final TimedEffects effects;
+
+	/**
+	 * <code>true</code> iff the NPCs of this level are moved by a
+	 * {@link Simulation} instead of the scheduler.
+	 */
+	private boolean simulated;
 
 	/**
 	 * <code>true</code> iff this level is currently in progress, i.e. players
@@ -76,6 +93,11 @@ public class Level {
 	 */
 	private final List<Player> players;
 
+	/**
+	 * The flow fields leading to the players on this level.
+	 */
+	private final Map<Player, FlowField> flowFields;
+
 	/**
 	 * The table of possible collisions between units.
 	 */
@@ -100,31 +122,61 @@ public class Level {
 	 */
 	public Level(Board b, List<NPC> ghosts, List<Square> startPositions,
 			CollisionMap collisionMap) {
+		this(b, ghosts, startPositions, collisionMap, NpcScheduler.getDefault(),
+				new TimedEffects());
+	}
+
+	/**
+	 * Creates a new level for the board, moving its NPCs on the given
+	 * scheduler.
+	 * 
+	 * @param b
+	 *            The board for the level.
+	 * @param ghosts
+	 *            The ghosts on the board.
+	 * @param startPositions
+	 *            The squares on which players start on this board.
+	 * @param collisionMap
+	 *            The collection of collisions that should be handled.
+	 * @param npcScheduler
+	 *            The scheduler moving the NPCs, which may be shared with
+	 *            other levels.
+	 * @param timedEffects
+	 *            The temporary effects on the level, which are paused
+	 *            whenever the level is not in progress.
+	 */
+	public Level(Board b, List<NPC> ghosts, List<Square> startPositions,
+			CollisionMap collisionMap, NpcScheduler npcScheduler,
+			TimedEffects timedEffects) {
 		assert b != null;
 		assert ghosts != null;
 		assert startPositions != null;
+		assert npcScheduler != null;
+		assert timedEffects != null;
 
 		this.board = b;
+		this.scheduler = npcScheduler;
+		this.effects = timedEffects;
+		effects.pause();
 		this.inProgress = false;
-		this.npcs = new HashMap<>();
+		this.npcs = new LinkedHashMap<>();
 		for (NPC g : ghosts) {
 			npcs.put(g, null);
 		}
 		this.startSquares = startPositions;
 		this.startSquareIndex = 0;
 		this.players = new ArrayList<>();
+		this.flowFields = new HashMap<>();
 		this.collisions = collisionMap;
 		this.observers = new ArrayList<>();
 	}
 	
 	/**
 	 * Setup the fruit for this level if the board specified that some square may contain a fruit.
-	 * @param fruitpositions the list of the squares where a fruit may appear
-	 * @param npcs the list of the NPC registered on this level at the time of setting-up the fruits. 
+	 * @param factory the factory of the fruits, which knows the squares where a fruit may appear
 	 */
-	public void setupFruits(List<Square> fruitpositions, List<NPC> npcs) {
-		if(fruitpositions.size() > 0)
-			fruitFactory = new FruitFactory(new PacManSprites(), fruitpositions, npcs);
+	public void setupFruits(FruitFactory factory) {
+		fruitFactory = factory;
 	}
 	
 
@@ -172,6 +224,64 @@ public class Level {
 		p.occupy(square);
 		startSquareIndex++;
 		startSquareIndex %= startSquares.size();
+		registerFlowField(p);
+	}
+
+	/**
+	 * Registers a flow field leading to a player on the board, so all ghosts
+	 * share a single search per move of the player instead of each searching
+	 * for the player themselves. The field is laid out for the terrain as
+	 * seen by the ghosts on this level; if there are no ghosts or the board
+	 * is too large, no field is registered.
+	 * 
+	 * @param p
+	 *            The player the field leads to.
+	 */
+	private void registerFlowField(Player p) {
+		if (board.getSquareCount() > FlowField.MAX_SQUARES) {
+			return;
+		}
+		for (NPC npc : npcs.keySet()) {
+			if (npc instanceof Ghost) {
+				FlowField field = new FlowField(board, p, npc);
+				field.update();
+				addFlowField(p, field);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Adds a flow field leading to a player to the board.
+	 * 
+	 * @param p
+	 *            The player the field leads to.
+	 * @param field
+	 *            The field.
+	 */
+	private void addFlowField(Player p, FlowField field) {
+		flowFields.put(p, field);
+		board.addFlowField(field);
+	}
+
+	/**
+	 * Returns the temporary effects on this level. Their clock only runs
+	 * while this level is in progress.
+	 * 
+	 * @return The temporary effects on this level.
+	 */
+	public TimedEffects getEffects() {
+		return effects;
+	}
+
+	/**
+	 * Returns the players on this level.
+	 * 
+	 * @return A new list with the players, in the order in which they were
+	 *         registered.
+	 */
+	public List<Player> getPlayers() {
+		return new ArrayList<>(players);
 	}
 
 	/**
@@ -212,6 +322,15 @@ public class Level {
 				for (Unit occupant : occupants) {
 					collisions.collide(unit, occupant);
 				}
+				PelletLayer pellets = board.getPellets();
+				if (pellets.contains(destination.getId())) {
+					collisions.collideWithPellet(unit, pellets,
+							destination.getId());
+				}
+				FlowField field = flowFields.get(unit);
+				if (field != null) {
+					field.update();
+				}
 			}
 			updateObservers();
 		}
@@ -227,6 +346,7 @@ public class Level {
 				return;
 			}
 			startNPCs();
+			effects.resume();
 			inProgress = true;
 			updateObservers();
 		}
@@ -242,6 +362,7 @@ public class Level {
 				return;
 			}
 			stopNPCs();
+			effects.pause();
 			inProgress = false;
 		}
 	}
@@ -250,22 +371,40 @@ public class Level {
 	 * Starts all NPC movement scheduling.
 	 */
 	private void startNPCs() {
+		if (simulated) {
+			return;
+		}
 		for (final NPC npc : npcs.keySet()) {
-			ScheduledExecutorService service = Executors
-					.newSingleThreadScheduledExecutor();
-			service.schedule(new NpcMoveTask(service, npc),
-					npc.getInterval() / 2, TimeUnit.MILLISECONDS);
-			npcs.put(npc, service);
+			npcs.put(npc, scheduler.schedule(npc, new NpcMoveTask(npc)));
 		}
 	}
 
 	/**
-	 * Stops all NPC movement scheduling and interrupts any movements being
-	 * executed.
+	 * Stops all NPC movement scheduling. Movements being executed are
+	 * finished, but no new ones are started.
 	 */
 	private void stopNPCs() {
-		for (Entry<NPC, ScheduledExecutorService> e : npcs.entrySet()) {
-			e.getValue().shutdownNow();
+		for (NpcScheduler.Task task : npcs.values()) {
+			if (task != null) {
+				task.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Removes an NPC from this level, taking it off the board and no longer
+	 * moving it.
+	 * 
+	 * @param npc
+	 *            The NPC to remove.
+	 */
+	public void removeNPC(NPC npc) {
+		synchronized (moveLock) {
+			npc.leaveSquare();
+			NpcScheduler.Task task = npcs.remove(npc);
+			if (task != null) {
+				task.cancel();
+			}
 		}
 	}
 
@@ -306,7 +445,7 @@ public class Level {
 		List<NPC> deadNPCs = NPCToClean() ;
 		if(deadNPCs.size() > 0) {
 			for (LevelObserver o : observers) {
-				o.NPCCleanEvent(deadNPCs, npcs);
+				o.NPCCleanEvent(deadNPCs);
 			}
 		}
 	}
@@ -372,23 +511,15 @@ public class Level {
 	}
 
 	/**
-	 * Counts the pellets remaining on the board.
+	 * Counts the pellets remaining on the board, both units and pellets of
+	 * its pellet layer. The board keeps track of the pellets placed on and
+	 * removed from its squares, so this does not scan the board.
 	 * 
 	 * @return The amount of pellets remaining on the board.
 	 */
 	public int remainingPellets() {
-		Board b = getBoard();
-		int pellets = 0;
-		for (int x = 0; x < b.getWidth(); x++) {
-			for (int y = 0; y < b.getHeight(); y++) {
-				for (Unit u : b.squareAt(x, y).getOccupants()) {
-					if (u instanceof Pellet) {
-						pellets++;
-					}
-				}
-			}
-		}
-		return pellets;
+		return getBoard().countUnits(Pellet.class)
+				+ getBoard().getPellets().size();
 	}
 	
 	/**
@@ -400,17 +531,13 @@ public class Level {
 	}
 
 	/**
-	 * A task that moves an NPC and reschedules itself after it finished.
+	 * A task that moves an NPC once; the scheduler performs it again after
+	 * every interval of the NPC.
 	 * 
 	 * @author Jeroen Roosen 
 	 */
 	private final class NpcMoveTask implements Runnable {
 
-		/**
-		 * The service executing the task.
-		 */
-		private final ScheduledExecutorService service;
-
 		/**
 		 * The NPC to move.
 		 */
@@ -419,13 +546,10 @@ public class Level {
 		/**
 		 * Creates a new task.
 		 * 
-		 * @param s
-		 *            The service that executes the task.
 		 * @param n
 		 *            The NPC to move.
 		 */
-		private NpcMoveTask(ScheduledExecutorService s, NPC n) {
-			this.service = s;
+		private NpcMoveTask(NPC n) {
 			this.npc = n;
 		}
 
@@ -435,8 +559,6 @@ public class Level {
 			if (nextMove != null) {
 				move(npc, nextMove);
 			}
-			long interval = npc.getInterval();
-			service.schedule(this, interval, TimeUnit.MILLISECONDS);
 		}
 	}
 
@@ -470,11 +592,11 @@ public class Level {
 		void ShootingEvent();
 		
 		/**
-		 * A NPC is dead and need to be cleared from the board
+		 * A NPC is dead and need to be cleared from the board, see
+		 * {@link Level#removeNPC(NPC)}.
 		 * @param List<NPC> deadNPC the list of the NPCs that are dead
-		 * @param Map<NPC, ScheduledExecutorService> npcs the npcs that are still in the game.
 		 */
-		void NPCCleanEvent(List<NPC> deadNPCs, Map<NPC, ScheduledExecutorService> npcs);
+		void NPCCleanEvent(List<NPC> deadNPCs);
 	}
 
 	/**
@@ -482,10 +604,98 @@ public class Level {
 	 * @param b the bullet that have to be moved.
 	 */
 	public void animateBullet(Bullet b) {
-			ScheduledExecutorService service = Executors
-					.newSingleThreadScheduledExecutor();
-			service.schedule(new NpcMoveTask(service, b),
-					b.getInterval() / 2, TimeUnit.MILLISECONDS);
-			npcs.put(b, service);
+		if (simulated) {
+			npcs.put(b, null);
+			return;
+		}
+		npcs.put(b, scheduler.schedule(b, new NpcMoveTask(b)));
+	}
+
+	/**
+	 * Hands the movement of the NPCs and the clock of the effects of this
+	 * level over to a simulation. This can only be done before the level is
+	 * started.
+	 */
+	void simulate() {
+		synchronized (startStopLock) {
+			assert !isInProgress() : "Level cannot be simulated once started.";
+			simulated = true;
+			effects.simulate();
+		}
+	}
+
+	/**
+	 * Creates an independent copy of this level, for instance to look ahead
+	 * at the outcome of a move. The copy has its own board, units, pellets,
+	 * scores and temporary effects, and shares everything that does not
+	 * change with this level, see {@link Board#fork(Map)}. Its clock shows
+	 * the time of this level and pending effects on units keep their
+	 * remaining delays.
+	 * 
+	 * <p>
+	 * The copy is not in progress, has no observers and no fruit factory,
+	 * and is meant to be advanced by a {@link Simulation}. Effects that are
+	 * not on a unit, such as those scheduled by a game, are not copied.
+	 * Levels on a compact board cannot be forked.
+	 * </p>
+	 * 
+	 * @return The copy of this level.
+	 */
+	public Level fork() {
+		return fork(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Creates an independent copy of this level, see {@link #fork()}.
+	 * 
+	 * @param copies
+	 *            The map the copies of the units are added to, by original.
+	 * @return The copy of this level.
+	 */
+	Level fork(Map<Unit, Unit> copies) {
+		synchronized (moveLock) {
+			Board copy = board.fork(copies);
+			for (Teleport teleport : copy.getUnits(Teleport.class)) {
+				Square reference = teleport.getReference();
+				if (reference != null && reference.getBoard() == board) {
+					teleport.setReference(copy.squareWithId(reference.getId()));
+				}
+			}
+			List<NPC> copiedNPCs = new ArrayList<>();
+			for (NPC npc : npcs.keySet()) {
+				copiedNPCs.add((NPC) copies.computeIfAbsent(npc, Unit::copy));
+			}
+			List<Square> starts = new ArrayList<>();
+			for (Square square : startSquares) {
+				starts.add(copy.squareWithId(square.getId()));
+			}
+			TimedEffects copiedEffects = effects.fork(copies);
+			Level fork = new Level(copy, copiedNPCs, starts,
+					collisions.withEffects(copiedEffects), scheduler,
+					copiedEffects);
+			fork.simulated = true;
+			fork.startSquareIndex = startSquareIndex;
+			for (Player p : players) {
+				Player player = (Player) copies.get(p);
+				fork.players.add(player);
+				FlowField field = flowFields.get(p);
+				if (field != null) {
+					fork.addFlowField(player, field.fork(copy, player));
+				}
+			}
+			return fork;
+		}
+	}
+
+	/**
+	 * Lists the NPCs of this level, including the players, in the order in
+	 * which they were added.
+	 * 
+	 * @return A new list with the NPCs of this level.
+	 */
+	List<NPC> getNPCs() {
+		synchronized (moveLock) {
+			return new ArrayList<>(npcs.keySet());
+		}
 	}
 }
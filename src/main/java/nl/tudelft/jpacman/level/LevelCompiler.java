@@ -0,0 +1,221 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceTable;
+
+/**
+ * Compiles the text representation of maps, see
+ * {@link MapParser#parseMap(char[][], List, List)}, into a binary format from
+ * which {@link MapParser#loadTemplate(ByteBuffer)} reads a
+ * {@link LevelTemplate} without parsing or validating anything.
+ *
+ * <p>
+ * A compiled map consists of, in big-endian order:
+ * </p>
+ * <ul>
+ * <li>The header: the int {@link #MAGIC}, the short {@link #VERSION}, a short
+ * of flags ({@link #LINKS}, {@link #DISTANCES}), and the width and height of
+ * the map as ints.</li>
+ * <li>The terrain and static units, a byte per square by id:
+ * {@link #GROUND}, {@link #WALL}, {@link #PELLET} or {@link #HOLE}.</li>
+ * <li>The start squares and the squares of the ghosts, each as an int count
+ * followed by the ids of the squares, in the order the parser finds
+ * them.</li>
+ * <li>The teleports: an int count followed by the id of the square of every
+ * teleport and the id of the square it refers to.</li>
+ * <li>The bridges: an int count followed by the id of the square of every
+ * bridge, the byte {@link #NO_DIRECTION}, {@link #HORIZONTAL} or
+ * {@link #VERTICAL}, and a byte that is <code>1</code> if a pellet lies
+ * under the bridge.</li>
+ * <li>The squares where fruits can appear: an int count followed by their
+ * ids.</li>
+ * <li>If {@link #LINKS} is set, the ids of the four neighbours of every
+ * square as ints, see {@link Board#getNeighbourId(int, Direction)}.</li>
+ * <li>If {@link #DISTANCES} is set, the amount of squares accessible to the
+ * ghosts as an int, followed by their distances, see
+ * {@link DistanceTable#writeTo(java.nio.ShortBuffer)}.</li>
+ * </ul>
+ */
+public class LevelCompiler {
+
+	/**
+	 * The first four bytes of a compiled map, "JPML".
+	 */
+	static final int MAGIC = 0x4A504D4C;
+
+	/**
+	 * The version of the format written by this compiler.
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * The flag of a map containing the neighbours of its squares.
+	 */
+	static final int LINKS = 1;
+
+	/**
+	 * The flag of a map containing the distances between the squares
+	 * accessible to the ghosts.
+	 */
+	static final int DISTANCES = 2;
+
+	/**
+	 * An empty square.
+	 */
+	static final byte GROUND = 0;
+
+	/**
+	 * A wall.
+	 */
+	static final byte WALL = 1;
+
+	/**
+	 * A square with a pellet.
+	 */
+	static final byte PELLET = 2;
+
+	/**
+	 * A square with a hole.
+	 */
+	static final byte HOLE = 3;
+
+	/**
+	 * A bridge whose orientation was not given.
+	 */
+	static final byte NO_DIRECTION = 0;
+
+	/**
+	 * A horizontal bridge.
+	 */
+	static final byte HORIZONTAL = 1;
+
+	/**
+	 * A vertical bridge.
+	 */
+	static final byte VERTICAL = 2;
+
+	/**
+	 * The size of the header in bytes.
+	 */
+	static final int HEADER_SIZE = 16;
+
+	/**
+	 * The parser resolving the maps.
+	 */
+	private final MapParser parser;
+
+	/**
+	 * Whether the distances between squares are compiled into the map.
+	 */
+	private boolean distanceTables;
+
+	/**
+	 * Creates a new compiler.
+	 *
+	 * @param mapParser
+	 *            The parser resolving the maps into {@link LevelTemplate}s,
+	 *            which are then written in the compiled format.
+	 */
+	public LevelCompiler(MapParser mapParser) {
+		this.parser = mapParser;
+		this.distanceTables = true;
+	}
+
+	/**
+	 * Selects whether the distances between the squares the ghosts can walk
+	 * on are compiled into the maps, for maps that have ghosts and are small
+	 * enough to get a {@link DistanceTable}. Enabled by default.
+	 *
+	 * @param enabled
+	 *            <code>true</code> to compile the distances.
+	 */
+	public void setDistanceTables(boolean enabled) {
+		this.distanceTables = enabled;
+	}
+
+	/**
+	 * Compiles a map file.
+	 *
+	 * @param source
+	 *            The text representation of the map.
+	 * @param target
+	 *            The file to write the compiled map to, which is replaced if
+	 *            it exists.
+	 * @throws IOException
+	 *             If the files could not be read or written.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public void compile(Path source, Path target) throws IOException {
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+			ByteBuffer compiled = compile(in);
+			try (FileChannel out = FileChannel.open(target,
+					StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				write(compiled, out);
+			}
+		}
+	}
+
+	/**
+	 * Compiles the map read from a channel.
+	 *
+	 * @param source
+	 *            The channel providing the text representation of the map,
+	 *            which is read until its end.
+	 * @param target
+	 *            The channel to write the compiled map to.
+	 * @throws IOException
+	 *             If the channels could not be read or written.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public void compile(ReadableByteChannel source, WritableByteChannel target)
+			throws IOException {
+		write(compile(source), target);
+	}
+
+	/**
+	 * Compiles the map read from a channel.
+	 *
+	 * @param source
+	 *            The channel providing the text representation of the map,
+	 *            which is read until its end.
+	 * @return The compiled map, ready to be read.
+	 * @throws IOException
+	 *             If the channel could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public ByteBuffer compile(ReadableByteChannel source) throws IOException {
+		return parser.parseTemplate(source).compile(distanceTables);
+	}
+
+	/**
+	 * Writes a buffer to a channel completely.
+	 *
+	 * @param buffer
+	 *            The bytes to write.
+	 * @param target
+	 *            The channel to write to.
+	 * @throws IOException
+	 *             If the channel could not be written.
+	 */
+	private static void write(ByteBuffer buffer, WritableByteChannel target)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			target.write(buffer);
+		}
+	}
+}
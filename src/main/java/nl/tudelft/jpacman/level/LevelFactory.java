@@ -6,6 +6,7 @@ import java.util.Map;
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.fruit.FruitFactory;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
 import nl.tudelft.jpacman.npc.ghost.GhostColor;
@@ -52,6 +53,11 @@ public class LevelFactory {
 	 */
 	private final GhostFactory ghostFact;
 
+	/**
+	 * Whether levels dispatch collisions through a table of unit kinds.
+	 */
+	private boolean compiledCollisions;
+
 	/**
 	 * Creates a new level factory.
 	 * 
@@ -66,6 +72,19 @@ public class LevelFactory {
 		this.ghostFact = ghostFactory;
 	}
 
+	/**
+	 * Selects the collision map of the levels created from now on.
+	 * 
+	 * @param compiled
+	 *            <code>true</code> to dispatch collisions through a table
+	 *            indexed by the kinds of the units, see
+	 *            {@link CompiledPlayerCollisions};
+	 *            <code>false</code> to use the {@link PlayerCollisions}.
+	 */
+	public void setCompiledCollisions(boolean compiled) {
+		this.compiledCollisions = compiled;
+	}
+
 	/**
 	 * Creates a new level from the provided data.
 	 * 
@@ -81,9 +100,16 @@ public class LevelFactory {
 			List<Square> startPositions, List<Square> fruitPositions) {
 
 		// We'll adopt the simple collision map for now.
-		CollisionMap collisionMap = new PlayerCollisions();
+		TimedEffects effects = new TimedEffects();
+		CollisionMap collisionMap;
+		if (compiledCollisions) {
+			collisionMap = new CompiledPlayerCollisions(effects);
+		} else {
+			collisionMap = new PlayerCollisions(effects);
+		}
 		
-		return new Level(board, ghosts, startPositions, collisionMap);
+		return new Level(board, ghosts, startPositions, collisionMap,
+				NpcScheduler.getDefault(), effects);
 	}
 
 	/**
@@ -94,7 +120,19 @@ public class LevelFactory {
 	NPC createGhost() {
 		ghostIndex++;
 		ghostIndex %= GHOSTS;
-		switch (ghostIndex) {
+		return createGhost(ghostIndex);
+	}
+
+	/**
+	 * Creates the ghost of a certain position in the cycle of ghost types,
+	 * without advancing the cycle of {@link #createGhost()}.
+	 * 
+	 * @param index
+	 *            The position of the ghost among the ghosts of its map.
+	 * @return The new ghost.
+	 */
+	NPC createGhost(int index) {
+		switch (index % GHOSTS) {
 		case BLINKY:
 			return ghostFact.createBlinky();
 		case INKY:
@@ -117,13 +155,27 @@ public class LevelFactory {
 		return new Pellet(PELLET_VALUE, sprites.getPelletSprite());
 	}
 	
+	/**
+	 * Creates a new factory of the fruits appearing on a level.
+	 * 
+	 * @param fruitPositions
+	 *            The squares where fruits can appear.
+	 * @param npcs
+	 *            The NPCs on the level.
+	 * @return The new fruit factory.
+	 */
+	public FruitFactory createFruitFactory(List<Square> fruitPositions,
+			List<NPC> npcs) {
+		return new FruitFactory(sprites, fruitPositions, npcs);
+	}
+
 	/**
 	 * Creates a new hole.
 	 * 
 	 * @return The new hole.
 	 */
 	public Hole createHole() {
-		return new Hole(HOLE_TIME, sprites.getHoleSprite());
+		return new Hole(HOLE_TIME, sprites.getHoleSprite(), sprites);
 	}
 	
 	/**
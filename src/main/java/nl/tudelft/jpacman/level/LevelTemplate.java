@@ -0,0 +1,662 @@
+package nl.tudelft.jpacman.level;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceTable;
+
+/**
+ * The immutable structure of a map: its terrain and static units, the squares
+ * of the players, ghosts and fruits, the resolved references of its teleports
+ * and bridges, and the links of its squares and the distances between them. A
+ * template is created once by a {@link MapParser}. {@link #instantiate()}
+ * then creates a new level from it, creating only the squares and units,
+ * which are the mutable state of a level.
+ */
+public final class LevelTemplate {
+
+	/**
+	 * The parser instantiating this template.
+	 */
+	private final MapParser parser;
+
+	/**
+	 * The width of the map.
+	 */
+	private final int width;
+
+	/**
+	 * The height of the map.
+	 */
+	private final int height;
+
+	/**
+	 * The terrain and static unit of every square by id, see
+	 * {@link LevelCompiler#GROUND}.
+	 */
+	private final byte[] cells;
+
+	/**
+	 * The ids of the start squares, in the order the parser finds them.
+	 */
+	private final int[] starts;
+
+	/**
+	 * The ids of the squares of the ghosts, in the order the parser finds
+	 * them.
+	 */
+	private final int[] ghosts;
+
+	/**
+	 * The ids of the squares of the teleports.
+	 */
+	private final int[] teleports;
+
+	/**
+	 * The ids of the squares the teleports refer to.
+	 */
+	private final int[] targets;
+
+	/**
+	 * The ids of the squares of the bridges.
+	 */
+	private final int[] bridges;
+
+	/**
+	 * The orientation of every bridge, see {@link LevelCompiler#HORIZONTAL}.
+	 */
+	private final byte[] directions;
+
+	/**
+	 * Whether a pellet lies under every bridge, as <code>1</code> or
+	 * <code>0</code>.
+	 */
+	private final byte[] pelletsUnder;
+
+	/**
+	 * The ids of the squares where fruits can appear.
+	 */
+	private final int[] fruits;
+
+	/**
+	 * A board of empty squares and walls holding the links shared by the
+	 * boards of the levels, or <code>null</code> for maps with a
+	 * {@link nl.tudelft.jpacman.board.CompactBoard}.
+	 */
+	private final Board topology;
+
+	/**
+	 * The distances between the squares accessible to the ghosts on
+	 * {@link #topology}, or <code>null</code> if there are none.
+	 */
+	private final DistanceTable distances;
+
+	/**
+	 * Creates a new template.
+	 *
+	 * @param mapParser
+	 *            The parser instantiating this template.
+	 * @param layout
+	 *            The resolved structure of the map.
+	 * @param links
+	 *            The board holding the links, or <code>null</code>.
+	 * @param table
+	 *            The distances between the squares, or <code>null</code>.
+	 */
+	private LevelTemplate(MapParser mapParser, Layout layout, Board links,
+			DistanceTable table) {
+		this.parser = mapParser;
+		this.width = layout.width;
+		this.height = layout.height;
+		this.cells = layout.cells;
+		this.starts = layout.starts.toArray();
+		this.ghosts = layout.ghosts.toArray();
+		this.teleports = layout.teleports.toArray();
+		this.targets = layout.targets.toArray();
+		this.bridges = layout.bridges.toArray();
+		this.directions = layout.directions;
+		this.pelletsUnder = layout.pelletsUnder;
+		this.fruits = layout.fruits.toArray();
+		this.topology = links;
+		this.distances = table;
+	}
+
+	/**
+	 * Creates a new level from this template.
+	 *
+	 * @return A new level with the structure of this template.
+	 */
+	public Level instantiate() {
+		return parser.instantiate(this);
+	}
+
+	/**
+	 * @return The width of the map.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height of the map.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @param id
+	 *            The id of a square.
+	 * @return The terrain and static unit of the square, see
+	 *         {@link LevelCompiler#GROUND}.
+	 */
+	byte cellAt(int id) {
+		return cells[id];
+	}
+
+	/**
+	 * @return The ids of the start squares, which must not be changed.
+	 */
+	int[] getStarts() {
+		return starts;
+	}
+
+	/**
+	 * @return The ids of the squares of the ghosts, which must not be
+	 *         changed.
+	 */
+	int[] getGhosts() {
+		return ghosts;
+	}
+
+	/**
+	 * @return The ids of the squares of the teleports, which must not be
+	 *         changed.
+	 */
+	int[] getTeleports() {
+		return teleports;
+	}
+
+	/**
+	 * @return The ids of the squares the teleports refer to, which must not be
+	 *         changed.
+	 */
+	int[] getTargets() {
+		return targets;
+	}
+
+	/**
+	 * @return The ids of the squares of the bridges, which must not be
+	 *         changed.
+	 */
+	int[] getBridges() {
+		return bridges;
+	}
+
+	/**
+	 * @param bridge
+	 *            The index of a bridge.
+	 * @return The orientation of the bridge, see
+	 *         {@link LevelCompiler#HORIZONTAL}.
+	 */
+	byte getBridgeDirection(int bridge) {
+		return directions[bridge];
+	}
+
+	/**
+	 * @param bridge
+	 *            The index of a bridge.
+	 * @return <code>true</code> iff a pellet lies under the bridge.
+	 */
+	boolean hasPelletUnder(int bridge) {
+		return pelletsUnder[bridge] != 0;
+	}
+
+	/**
+	 * @return The ids of the squares where fruits can appear, which must not
+	 *         be changed.
+	 */
+	int[] getFruits() {
+		return fruits;
+	}
+
+	/**
+	 * @return The board holding the links of the squares, or
+	 *         <code>null</code> if the map uses a compact board.
+	 */
+	Board getTopology() {
+		return topology;
+	}
+
+	/**
+	 * @return The distances between the squares accessible to the ghosts, or
+	 *         <code>null</code> if there are none.
+	 */
+	DistanceTable getDistances() {
+		return distances;
+	}
+
+	/**
+	 * Creates the template for the map a scanner has read, resolving its
+	 * references the way {@link MapParser#parseMap(char[][], List, List)}
+	 * does.
+	 *
+	 * @param parser
+	 *            The parser instantiating the template.
+	 * @param scanner
+	 *            The scanner that read the whole text.
+	 * @return The template.
+	 */
+	static LevelTemplate resolve(MapParser parser, MapScanner scanner) {
+		Layout layout = new Layout(scanner.getWidth(), scanner.getHeight());
+		int width = layout.width;
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < layout.height; y++) {
+				int id = y * width + x;
+				char c = scanner.charAt(x, y);
+				switch (c) {
+				case ' ':
+					break;
+				case '#':
+					layout.cells[id] = LevelCompiler.WALL;
+					break;
+				case '.':
+					layout.cells[id] = LevelCompiler.PELLET;
+					break;
+				case 'H':
+					layout.cells[id] = LevelCompiler.HOLE;
+					break;
+				case 'P':
+					layout.starts.add(id);
+					break;
+				case 'G':
+					layout.ghosts.add(id);
+					break;
+				case 'T':
+					layout.teleports.add(id);
+					break;
+				case 'B':
+					layout.bridges.add(id);
+					break;
+				case 'F':
+					layout.fruits.add(id);
+					break;
+				default:
+					throw new PacmanConfigurationException("Invalid character at "
+							+ x + "," + y + ": " + c);
+				}
+			}
+		}
+
+		List<int[]> teleportRefs = scanner.getTeleportRefs();
+		if (teleportRefs.size() != layout.teleports.size) {
+			throw new PacmanConfigurationException("there can't be more references than teleports");
+		}
+		for (int[] ref : teleportRefs) {
+			if (ref[0] >= width || ref[1] >= layout.height) {
+				throw new PacmanConfigurationException(
+						"The teleport refereces must be a place in the board");
+			}
+			layout.targets.add(ref[1] * width + ref[0]);
+		}
+
+		List<char[]> bridgeRefs = scanner.getBridgeRefs();
+		if (bridgeRefs.size() != layout.bridges.size) {
+			throw new PacmanConfigurationException("there can't be more references than bridges");
+		}
+		layout.directions = new byte[layout.bridges.size];
+		layout.pelletsUnder = new byte[layout.bridges.size];
+		// Like MapParser, the bridges following the first one with a fruit
+		// under it keep no orientation.
+		for (int i = 0; i < layout.bridges.size; i++) {
+			char[] ref = bridgeRefs.get(i);
+			layout.directions[i] = ref[0] == 'H' ? LevelCompiler.HORIZONTAL : LevelCompiler.VERTICAL;
+			if (ref[1] == 'P') {
+				layout.pelletsUnder[i] = 1;
+			} else if (ref[1] == 'F') {
+				layout.fruits.add(layout.bridges.ids[i]);
+				break;
+			}
+		}
+
+		Board topology = null;
+		DistanceTable table = null;
+		if (layout.cells.length <= MapParser.COMPACT_SQUARES) {
+			topology = parser.createTopology(layout.cells, width, layout.height, null);
+			if (layout.ghosts.size > 0) {
+				table = DistanceTable.compute(topology, layout.accessible());
+			}
+		}
+		return new LevelTemplate(parser, layout, topology, table);
+	}
+
+	/**
+	 * Reads the template from a compiled map, see {@link LevelCompiler}.
+	 *
+	 * @param parser
+	 *            The parser instantiating the template.
+	 * @param in
+	 *            The compiled map, positioned after its version.
+	 * @param flags
+	 *            The flags of the map.
+	 * @return The template.
+	 */
+	static LevelTemplate read(MapParser parser, ByteBuffer in, int flags) {
+		int width = in.getInt();
+		int height = in.getInt();
+		if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+			throw new PacmanConfigurationException("Compiled map has an invalid size.");
+		}
+		Layout layout = new Layout(width, height);
+		int n = layout.cells.length;
+		in.get(layout.cells);
+		layout.starts.read(in, n);
+		layout.ghosts.read(in, n);
+		int teleportCount = in.getInt();
+		for (int i = 0; i < teleportCount; i++) {
+			layout.teleports.add(readId(in, n));
+			layout.targets.add(readId(in, n));
+		}
+		int bridgeCount = in.getInt();
+		if (bridgeCount < 0) {
+			throw new PacmanConfigurationException("Compiled map has an invalid amount of bridges.");
+		}
+		layout.directions = new byte[bridgeCount];
+		layout.pelletsUnder = new byte[bridgeCount];
+		for (int i = 0; i < bridgeCount; i++) {
+			layout.bridges.add(readId(in, n));
+			layout.directions[i] = in.get();
+			layout.pelletsUnder[i] = in.get();
+		}
+		layout.fruits.read(in, n);
+
+		Board topology = null;
+		if ((flags & LevelCompiler.LINKS) != 0) {
+			IntBuffer links = in.asIntBuffer();
+			links.limit(n * Direction.values().length);
+			for (int i = 0; i < links.limit(); i++) {
+				checkId(links.get(i), n);
+			}
+			topology = parser.createTopology(layout.cells, width, height, links);
+			in.position(in.position() + Integer.BYTES * links.limit());
+		} else if (n <= MapParser.COMPACT_SQUARES) {
+			topology = parser.createTopology(layout.cells, width, height, null);
+		}
+
+		DistanceTable table = null;
+		if (topology != null && layout.ghosts.size > 0) {
+			BitSet accessible = layout.accessible();
+			if ((flags & LevelCompiler.DISTANCES) != 0) {
+				int size = in.getInt();
+				if (size != accessible.cardinality()) {
+					throw new PacmanConfigurationException("Compiled map has an invalid distance table.");
+				}
+				ShortBuffer stored = in.asShortBuffer();
+				stored.limit(size * size);
+				table = DistanceTable.restore(topology, accessible, stored);
+			} else {
+				table = DistanceTable.compute(topology, accessible);
+			}
+		}
+		return new LevelTemplate(parser, layout, topology, table);
+	}
+
+	/**
+	 * Reads the id of a square from a compiled map.
+	 *
+	 * @param in
+	 *            The compiled map.
+	 * @param n
+	 *            The amount of squares of the map.
+	 * @return The id.
+	 */
+	private static int readId(ByteBuffer in, int n) {
+		return checkId(in.getInt(), n);
+	}
+
+	/**
+	 * Verifies that an id read from a compiled map refers to a square of the
+	 * map.
+	 *
+	 * @param id
+	 *            The id.
+	 * @param n
+	 *            The amount of squares of the map.
+	 * @return The id.
+	 * @throws PacmanConfigurationException
+	 *             If there is no square with the id.
+	 */
+	private static int checkId(int id, int n) {
+		if (id < 0 || id >= n) {
+			throw new PacmanConfigurationException(
+					"Compiled map refers to square " + id + " outside the board.");
+		}
+		return id;
+	}
+
+	/**
+	 * Compiles this template into the format described by
+	 * {@link LevelCompiler}.
+	 *
+	 * @param withDistances
+	 *            Whether to include the distances between the squares, if
+	 *            this template has them.
+	 * @return The compiled map, ready to be read.
+	 */
+	ByteBuffer compile(boolean withDistances) {
+		int n = cells.length;
+		DistanceTable table = withDistances ? distances : null;
+		long size = LevelCompiler.HEADER_SIZE + (long) n
+				+ Integer.BYTES * (5L + starts.length + ghosts.length
+						+ 2L * teleports.length + bridges.length + fruits.length)
+				+ 2L * bridges.length;
+		if (topology != null) {
+			size += (long) Integer.BYTES * Direction.values().length * n;
+		}
+		if (table != null) {
+			size += Integer.BYTES + (long) Short.BYTES * table.size() * table.size();
+		}
+		if (size > Integer.MAX_VALUE) {
+			throw new PacmanConfigurationException("Map is too large.");
+		}
+
+		ByteBuffer out = ByteBuffer.allocate((int) size);
+		out.putInt(LevelCompiler.MAGIC);
+		out.putShort(LevelCompiler.VERSION);
+		out.putShort((short) ((topology == null ? 0 : LevelCompiler.LINKS)
+				| (table == null ? 0 : LevelCompiler.DISTANCES)));
+		out.putInt(width);
+		out.putInt(height);
+		out.put(cells);
+		writeIds(out, starts);
+		writeIds(out, ghosts);
+		out.putInt(teleports.length);
+		for (int i = 0; i < teleports.length; i++) {
+			out.putInt(teleports[i]);
+			out.putInt(targets[i]);
+		}
+		out.putInt(bridges.length);
+		for (int i = 0; i < bridges.length; i++) {
+			out.putInt(bridges[i]);
+			out.put(directions[i]);
+			out.put(pelletsUnder[i]);
+		}
+		writeIds(out, fruits);
+		if (topology != null) {
+			Direction[] all = Direction.values();
+			for (int id = 0; id < n; id++) {
+				for (Direction d : all) {
+					out.putInt(topology.getNeighbourId(id, d));
+				}
+			}
+		}
+		if (table != null) {
+			out.putInt(table.size());
+			table.writeTo(out.asShortBuffer());
+			out.position(out.position() + Short.BYTES * table.size() * table.size());
+		}
+		assert !out.hasRemaining();
+		out.flip();
+		return out;
+	}
+
+	/**
+	 * Writes the amount of ids followed by the ids.
+	 *
+	 * @param out
+	 *            The buffer to write to.
+	 * @param ids
+	 *            The ids to write.
+	 */
+	private static void writeIds(ByteBuffer out, int[] ids) {
+		out.putInt(ids.length);
+		for (int id : ids) {
+			out.putInt(id);
+		}
+	}
+
+	/**
+	 * The structure of a map while it is being resolved or read.
+	 */
+	private static final class Layout {
+
+		/**
+		 * The width of the map.
+		 */
+		private final int width;
+
+		/**
+		 * The height of the map.
+		 */
+		private final int height;
+
+		/**
+		 * The terrain and static unit of every square by id.
+		 */
+		private final byte[] cells;
+
+		/**
+		 * The ids of the start squares.
+		 */
+		private final Ids starts = new Ids();
+
+		/**
+		 * The ids of the squares of the ghosts.
+		 */
+		private final Ids ghosts = new Ids();
+
+		/**
+		 * The ids of the squares of the teleports.
+		 */
+		private final Ids teleports = new Ids();
+
+		/**
+		 * The ids of the squares the teleports refer to.
+		 */
+		private final Ids targets = new Ids();
+
+		/**
+		 * The ids of the squares of the bridges.
+		 */
+		private final Ids bridges = new Ids();
+
+		/**
+		 * The ids of the squares where fruits can appear.
+		 */
+		private final Ids fruits = new Ids();
+
+		/**
+		 * The orientation of every bridge.
+		 */
+		private byte[] directions;
+
+		/**
+		 * Whether a pellet lies under every bridge.
+		 */
+		private byte[] pelletsUnder;
+
+		/**
+		 * Creates a new layout of empty squares.
+		 *
+		 * @param columns
+		 *            The width of the map.
+		 * @param rows
+		 *            The height of the map.
+		 */
+		private Layout(int columns, int rows) {
+			this.width = columns;
+			this.height = rows;
+			this.cells = new byte[columns * rows];
+		}
+
+		/**
+		 * @return The ids of the squares that are not walls.
+		 */
+		private BitSet accessible() {
+			BitSet result = new BitSet(cells.length);
+			for (int id = 0; id < cells.length; id++) {
+				if (cells[id] != LevelCompiler.WALL) {
+					result.set(id);
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * A growing list of square ids.
+	 */
+	private static final class Ids {
+
+		/**
+		 * The ids, of which the first {@link #size} are used.
+		 */
+		private int[] ids = new int[16];
+
+		/**
+		 * The amount of ids in this list.
+		 */
+		private int size;
+
+		/**
+		 * Appends an id.
+		 *
+		 * @param id
+		 *            The id to append.
+		 */
+		private void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		/**
+		 * Appends the ids read from a buffer, preceded by their amount.
+		 *
+		 * @param in
+		 *            The buffer to read from.
+		 * @param n
+		 *            The amount of squares the ids refer to.
+		 */
+		private void read(ByteBuffer in, int n) {
+			for (int i = in.getInt(); i > 0; i--) {
+				add(readId(in, n));
+			}
+		}
+
+		/**
+		 * @return The ids in this list.
+		 */
+		private int[] toArray() {
+			return Arrays.copyOf(ids, size);
+		}
+	}
+}
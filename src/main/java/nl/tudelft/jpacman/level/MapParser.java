@@ -1,22 +1,35 @@
 package nl.tudelft.jpacman.level;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import nl.tudelft.jpacman.PacmanConfigurationException;
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.CompactBoard;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceTable;
+import nl.tudelft.jpacman.board.PelletLayer;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.npc.NPC;
 
 /**
- * Creates new {@link Level}s from text representations.
+ * Creates new {@link Level}s from text representations, and from maps
+ * compiled by the {@link LevelCompiler}.
  * 
  * @author Jeroen Roosen 
  */
@@ -27,6 +40,12 @@ public class MapParser {
 	 */
 	private final char SEPARATOR = '-';
 
+	/**
+	 * The amount of squares above which maps are parsed into a
+	 * {@link CompactBoard}, which only creates the squares that are used.
+	 */
+	static final long COMPACT_SQUARES = 1 << 20;
+
 	/**
 	 * The factory that creates the levels.
 	 */
@@ -37,6 +56,12 @@ public class MapParser {
 	 */
 	private final BoardFactory boardCreator;
 
+	/**
+	 * Whether pellets are placed in the pellet layer of the board instead of
+	 * being created as units.
+	 */
+	private boolean pelletLayer;
+
 	/**
 	 * Creates a new map parser.
 	 * 
@@ -50,6 +75,21 @@ public class MapParser {
 		this.boardCreator = boardFactory;
 	}
 
+	/**
+	 * Selects how the pellets of the maps parsed from now on are stored.
+	 * Pellets under bridges are always created as units.
+	 * 
+	 * @param enabled
+	 *            <code>true</code> to place pellets in the
+	 *            {@link PelletLayer} of the board, which takes a bit per
+	 *            square;
+	 *            <code>false</code> to create a {@link Pellet} unit for
+	 *            every pellet.
+	 */
+	public void setPelletLayer(boolean enabled) {
+		this.pelletLayer = enabled;
+	}
+
 	/**
 	 * Parses the text representation of the board into an actual level.
 	 * 
@@ -105,28 +145,80 @@ public class MapParser {
 	 * @return The level as represented by this text.
 	 */
 	public Level parseMap(char[][] map, List<int[]> teleportrefs, List<char[]> bridgeRefs){
-		int width = map.length;
-		int height = map[0].length;
-
-		Square[][] grid = new Square[width][height];
+		return parseMap((x, y) -> map[x][y], map.length, map[0].length, teleportrefs, bridgeRefs);
+	}
 
+	/**
+	 * Creates the level for a map, see
+	 * {@link #parseMap(char[][], List, List)}.
+	 */
+	private Level parseMap(Cells map, int width, int height, List<int[]> teleportrefs, List<char[]> bridgeRefs) {
 		List<NPC> ghosts = new ArrayList<>();
 		List<Square> startPositions = new ArrayList<>();
 		List<Teleport> teleportList = new ArrayList<>();
 		List<Bridge> bridgeList = new ArrayList<>();
 		List<Square> fruitPositions = new ArrayList<>();
 		
-		makeGrid(map, width, height, grid, ghosts, startPositions, teleportList, bridgeList, fruitPositions);
-		Board board = boardCreator.createBoard(grid);
+		Board board;
+		if ((long) width * height > COMPACT_SQUARES) {
+			board = makeCompactBoard(map, width, height, ghosts, startPositions, teleportList, bridgeList, fruitPositions);
+		} else {
+			Square[][] grid = new Square[width][height];
+			BitSet pellets = new BitSet();
+			makeGrid(map, width, height, grid, pellets, ghosts, startPositions, teleportList, bridgeList, fruitPositions);
+			board = boardCreator.createBoard(grid);
+			for (int id = pellets.nextSetBit(0); id >= 0; id = pellets.nextSetBit(id + 1)) {
+				board.getPellets().place(id);
+			}
+		}
 		setTeleports(teleportList, teleportrefs, board);
 		setBridges(bridgeList, bridgeRefs, fruitPositions);
+		setDistanceTable(board, ghosts);
+		return createLevel(board, ghosts, startPositions, fruitPositions);
+	}
+
+	/**
+	 * Creates the level for a board on which all units were placed.
+	 * 
+	 * @param board
+	 *            The board with all units on their squares.
+	 * @param ghosts
+	 *            The ghosts on the board.
+	 * @param startPositions
+	 *            The squares from which players may start the game.
+	 * @param fruitPositions
+	 *            The squares where fruits can appear.
+	 * @return The new level.
+	 */
+	private Level createLevel(Board board, List<NPC> ghosts, List<Square> startPositions, List<Square> fruitPositions) {
+		if (pelletLayer) {
+			Pellet prototype = levelCreator.createPellet();
+			board.getPellets().setValue(prototype.getValue());
+			board.getPellets().setSprite(prototype.getSprite());
+		}
 		Level l = levelCreator.createLevel(board, ghosts, startPositions, fruitPositions);
 		if(fruitPositions.size() > 0){
-			l.setupFruits(fruitPositions, ghosts);
+			l.setupFruits(levelCreator.createFruitFactory(fruitPositions, ghosts));
 		}
 		return l;
 	}
 	
+	/**
+	 * Precomputes the distances between all squares the ghosts can walk on,
+	 * so they can navigate without searching the board on every move. Boards
+	 * without ghosts or with too many squares are left without a table.
+	 * 
+	 * @param board
+	 *            The board to compute the distances for.
+	 * @param ghosts
+	 *            The ghosts on the board.
+	 */
+	private void setDistanceTable(Board board, List<NPC> ghosts) {
+		if (!ghosts.isEmpty()) {
+			board.setDistanceTable(DistanceTable.compute(board, ghosts.get(0)));
+		}
+	}
+
 	private void setTeleports(List<Teleport> teleportList, List<int[]> teleportRefs, Board b){
 		if(teleportList.size() == teleportRefs.size()){
 			int[] t;
@@ -174,63 +266,112 @@ public class MapParser {
 		}
 	}
 
-	private void makeGrid(char[][] map, int width, int height, Square[][] grid, List<NPC> ghosts,
+	private void makeGrid(Cells map, int width, int height, Square[][] grid, BitSet pellets, List<NPC> ghosts,
 	        List<Square> startPositions, List<Teleport> teleportList, List<Bridge> bridgeList, List<Square> fruitPositions) {
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
-				char c = map[x][y];
-				addSquare(grid, ghosts, startPositions, x, y, c, teleportList, bridgeList, fruitPositions);
+				char c = map.at(x, y);
+				if (c == '.' && pelletLayer) {
+					grid[x][y] = boardCreator.createGround();
+					pellets.set(y * width + x);
+				} else {
+					addSquare(grid, ghosts, startPositions, x, y, c, teleportList, bridgeList, fruitPositions);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Creates a compact board for a large map. Walls and pellets are only
+	 * recorded; squares are created for the other special characters only.
+	 * The map is read row by row, and the special characters are handled
+	 * afterwards in the same order as on a grid.
+	 */
+	private Board makeCompactBoard(Cells map, int width, int height, List<NPC> ghosts,
+			List<Square> startPositions, List<Teleport> teleportList, List<Bridge> bridgeList, List<Square> fruitPositions) {
+		CompactBoard board = boardCreator.createCompactBoard(width, height);
+		int pellets = board.addPlane(Pellet.class, levelCreator::createPellet);
+		int[] special = new int[16];
+		int specials = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				switch (map.at(x, y)) {
+				case ' ':
+					break;
+				case '#':
+					board.setTerrain(x, y, BoardFactory.WALL);
+					break;
+				case '.':
+					if (pelletLayer) {
+						board.getPellets().place(y * width + x);
+					} else {
+						board.place(pellets, x, y);
+					}
+					break;
+				default:
+					if (specials == special.length) {
+						special = Arrays.copyOf(special, specials * 2);
+					}
+					special[specials++] = x * height + y;
+					break;
+				}
+			}
+		}
+		Arrays.sort(special, 0, specials);
+		for (int i = 0; i < specials; i++) {
+			int x = special[i] / height;
+			int y = special[i] % height;
+			populate(board.squareAt(x, y), x, y, map.at(x, y), ghosts, startPositions, teleportList, bridgeList, fruitPositions);
+		}
+		return board;
+	}
+
 	private void addSquare(Square[][] grid, List<NPC> ghosts,
 			List<Square> startPositions, int x, int y, char c, List<Teleport> teleportList, List<Bridge> bridgeList, List<Square> fruitPositions) {
+		if (c == '#') {
+			grid[x][y] = boardCreator.createWall();
+			return;
+		}
+		Square square = boardCreator.createGround();
+		grid[x][y] = square;
+		populate(square, x, y, c, ghosts, startPositions, teleportList, bridgeList, fruitPositions);
+	}
+
+	/**
+	 * Puts the units a character stands for on a ground square.
+	 */
+	private void populate(Square square, int x, int y, char c, List<NPC> ghosts,
+			List<Square> startPositions, List<Teleport> teleportList, List<Bridge> bridgeList, List<Square> fruitPositions) {
 		switch (c) {
 		case ' ':
-			grid[x][y] = boardCreator.createGround();
-			break;
-		case '#':
-			grid[x][y] = boardCreator.createWall();
 			break;
 		case '.':
-			Square pelletSquare = boardCreator.createGround();
-			grid[x][y] = pelletSquare;
 			Unit p = levelCreator.createPellet();
-			p.occupy(pelletSquare);
+			p.occupy(square);
 			break;
 		case 'G':
-			Square ghostSquare = makeGhostSquare(ghosts);
-			grid[x][y] = ghostSquare;
+			NPC ghost = levelCreator.createGhost();
+			ghosts.add(ghost);
+			ghost.occupy(square);
 			break;
 		case 'P':
-			Square playerSquare = boardCreator.createGround();
-			grid[x][y] = playerSquare;
-			startPositions.add(playerSquare);
+			startPositions.add(square);
 			break;
 		case 'H':
-			Square holeSquare = boardCreator.createGround();
-			grid[x][y] = holeSquare;
-			levelCreator.createHole().occupy(holeSquare);
+			levelCreator.createHole().occupy(square);
 			break;
 		case 'T':
-			Square teleportSquare = boardCreator.createGround();
 			Teleport t = levelCreator.createTeleport();
 			teleportList.add(t);
-			t.occupy(teleportSquare);
-			grid[x][y] = teleportSquare;
+			t.occupy(square);
 			break;
 		case 'B':
-			Square bridgeSquare = boardCreator.createGround();
 			Bridge bridge = levelCreator.createBridge();
 			bridgeList.add(bridge);
-			bridge.occupy(bridgeSquare);
-			grid[x][y] = bridgeSquare;
+			bridge.occupy(square);
 			break;
 		case 'F':
-			Square fruitSquare = boardCreator.createGround();
-			grid[x][y] = fruitSquare;
-			fruitPositions.add(fruitSquare);
+			fruitPositions.add(square);
 			break;
 		default:
 			throw new PacmanConfigurationException("Invalid character at "
@@ -238,14 +379,6 @@ public class MapParser {
 		}
 	}
 
-	private Square makeGhostSquare(List<NPC> ghosts) {
-		Square ghostSquare = boardCreator.createGround();
-		NPC ghost = levelCreator.createGhost();
-		ghosts.add(ghost);
-		ghost.occupy(ghostSquare);
-		return ghostSquare;
-	}
-
 	/**
 	 * Parses the list of strings into a 2-dimensional character array and
 	 * passes it on to {@link #parseMap(char[][])}.
@@ -317,8 +450,8 @@ public class MapParser {
 	}
 
 	/**
-	 * Parses the provided input stream as a character stream and passes it
-	 * result to {@link #parseMap(List)}.
+	 * Parses the provided input stream as text and closes it, see
+	 * {@link #parseMap(ReadableByteChannel)}.
 	 * 
 	 * @param source
 	 *            The input stream that will be read.
@@ -327,16 +460,348 @@ public class MapParser {
 	 *             when the source could not be read.
 	 */
 	public Level parseMap(InputStream source) throws IOException {
-		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-				source, "UTF-8"))) {
-			List<String> lines = new ArrayList<>();
-			while (reader.ready()) {
-				lines.add(reader.readLine());
+		try (ReadableByteChannel channel = Channels.newChannel(source)) {
+			return parseMap(channel);
+		}
+	}
+
+	/**
+	 * Parses the text read from a channel into a level, in a single pass and
+	 * without creating a string for every line, see
+	 * {@link #parseMap(char[][], List, List)}. The lines of the text may end
+	 * with <code>\n</code> or <code>\r\n</code>; the lines of the
+	 * reference sections need not be as wide as the map.
+	 * 
+	 * @param source
+	 *            The channel that will be read until its end. It is not
+	 *            closed.
+	 * @return The parsed level as represented by the text on the channel.
+	 * @throws IOException
+	 *             when the source could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public Level parseMap(ReadableByteChannel source) throws IOException {
+		MapScanner scanner = new MapScanner(0);
+		scanner.read(source);
+		return parseMap(scanner);
+	}
+
+	/**
+	 * Parses a map file into a level, see
+	 * {@link #parseMap(ReadableByteChannel)}. The file is mapped into memory
+	 * rather than copied into buffers.
+	 * 
+	 * @param file
+	 *            The file containing the text representation of the map.
+	 * @return The parsed level as represented by the text in the file.
+	 * @throws IOException
+	 *             when the file could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public Level parseMap(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				return parseMap((ReadableByteChannel) channel);
 			}
-			return parseMap(lines);
+			MapScanner scanner = new MapScanner((int) size);
+			scanner.scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+			return parseMap(scanner);
 		}
 	}
-	
+
+	/**
+	 * Creates the level for the text a scanner has read.
+	 * 
+	 * @param scanner
+	 *            The scanner that read the whole text.
+	 * @return The level as represented by the text.
+	 */
+	private Level parseMap(MapScanner scanner) {
+		scanner.finish();
+		return parseMap(scanner::charAt, scanner.getWidth(), scanner.getHeight(),
+				scanner.getTeleportRefs(), scanner.getBridgeRefs());
+	}
+
+	/**
+	 * Resolves the text read from a channel into a template for levels, see
+	 * {@link #parseMap(ReadableByteChannel)}. The text is parsed and
+	 * validated once, after which {@link LevelTemplate#instantiate()}
+	 * creates levels without parsing or searching anything.
+	 * 
+	 * @param source
+	 *            The channel that will be read until its end. It is not
+	 *            closed.
+	 * @return The template of the levels represented by the text.
+	 * @throws IOException
+	 *             when the source could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the text is not properly formatted.
+	 */
+	public LevelTemplate parseTemplate(ReadableByteChannel source) throws IOException {
+		MapScanner scanner = new MapScanner(0);
+		scanner.read(source);
+		scanner.finish();
+		return LevelTemplate.resolve(this, scanner);
+	}
+
+	/**
+	 * Resolves the text read from an input stream into a template for levels
+	 * and closes the stream, see {@link #parseTemplate(ReadableByteChannel)}.
+	 * 
+	 * @param source
+	 *            The input stream that will be read.
+	 * @return The template of the levels represented by the text.
+	 * @throws IOException
+	 *             when the source could not be read.
+	 */
+	public LevelTemplate parseTemplate(InputStream source) throws IOException {
+		try (ReadableByteChannel channel = Channels.newChannel(source)) {
+			return parseTemplate(channel);
+		}
+	}
+
+	/**
+	 * Loads a map compiled by {@link LevelCompiler} from a file, which is
+	 * mapped into memory.
+	 * 
+	 * @param compiled
+	 *            The file containing the compiled map.
+	 * @return The level the map was compiled from.
+	 * @throws IOException
+	 *             when the file could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the file is not a compiled map of a supported version.
+	 */
+	public Level loadMap(Path compiled) throws IOException {
+		return loadTemplate(compiled).instantiate();
+	}
+
+	/**
+	 * Creates a level from a map compiled by {@link LevelCompiler}, see
+	 * {@link #loadTemplate(ByteBuffer)}.
+	 * 
+	 * @param compiled
+	 *            The compiled map, from its position to its limit. The
+	 *            position of the buffer is not changed.
+	 * @return The level the map was compiled from.
+	 * @throws PacmanConfigurationException
+	 *             If the buffer is not a compiled map of a supported version.
+	 */
+	public Level loadMap(ByteBuffer compiled) {
+		return loadTemplate(compiled).instantiate();
+	}
+
+	/**
+	 * Reads the template of a map compiled by {@link LevelCompiler} from a
+	 * file, which is mapped into memory.
+	 * 
+	 * @param compiled
+	 *            The file containing the compiled map.
+	 * @return The template of the levels the map was compiled from.
+	 * @throws IOException
+	 *             when the file could not be read.
+	 * @throws PacmanConfigurationException
+	 *             If the file is not a compiled map of a supported version.
+	 */
+	public LevelTemplate loadTemplate(Path compiled) throws IOException {
+		try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+			return loadTemplate(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads the template of a map compiled by {@link LevelCompiler}. The
+	 * references, the neighbours of the squares and the distances between
+	 * them were resolved by the compiler, so nothing is parsed or searched.
+	 * 
+	 * @param compiled
+	 *            The compiled map, from its position to its limit. The
+	 *            position of the buffer is not changed.
+	 * @return The template of the levels the map was compiled from.
+	 * @throws PacmanConfigurationException
+	 *             If the buffer is not a compiled map of a supported version.
+	 */
+	public LevelTemplate loadTemplate(ByteBuffer compiled) {
+		ByteBuffer in = compiled.duplicate().order(ByteOrder.BIG_ENDIAN);
+		try {
+			if (in.remaining() < LevelCompiler.HEADER_SIZE || in.getInt() != LevelCompiler.MAGIC) {
+				throw new PacmanConfigurationException("Not a compiled map.");
+			}
+			short version = in.getShort();
+			if (version != LevelCompiler.VERSION) {
+				throw new PacmanConfigurationException(
+						"Unsupported version of compiled map: " + version);
+			}
+			return LevelTemplate.read(this, in, in.getShort());
+		} catch (BufferUnderflowException | IllegalArgumentException
+				| IndexOutOfBoundsException e) {
+			throw new PacmanConfigurationException("Compiled map is truncated.", e);
+		}
+	}
+
+	/**
+	 * Creates a board of empty squares and walls holding the links of a map.
+	 * 
+	 * @param cells
+	 *            The terrain of every square by id, see
+	 *            {@link LevelCompiler#WALL}.
+	 * @param width
+	 *            The width of the map.
+	 * @param height
+	 *            The height of the map.
+	 * @param links
+	 *            The ids of the neighbours of all squares, or
+	 *            <code>null</code> to compute them.
+	 * @return The board.
+	 */
+	Board createTopology(byte[] cells, int width, int height, IntBuffer links) {
+		Square[][] grid = createGrid(cells, width, height);
+		if (links == null) {
+			return boardCreator.createBoard(grid);
+		}
+		return boardCreator.createBoard(grid, links);
+	}
+
+	/**
+	 * Creates the empty squares and walls of a map.
+	 * 
+	 * @param cells
+	 *            The terrain of every square by id.
+	 * @param width
+	 *            The width of the map.
+	 * @param height
+	 *            The height of the map.
+	 * @return The grid of squares, with grid[x][y] the square at x,y.
+	 */
+	private Square[][] createGrid(byte[] cells, int width, int height) {
+		Square[][] grid = new Square[width][height];
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				if (cells[y * width + x] == LevelCompiler.WALL) {
+					grid[x][y] = boardCreator.createWall();
+				} else {
+					grid[x][y] = boardCreator.createGround();
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Creates a new level from a template, creating its squares and units.
+	 * The board shares its links and distances with the template.
+	 * 
+	 * @param template
+	 *            The template to instantiate.
+	 * @return The new level.
+	 */
+	Level instantiate(LevelTemplate template) {
+		int width = template.getWidth();
+		int height = template.getHeight();
+		int n = width * height;
+
+		Board board;
+		Board topology = template.getTopology();
+		if (topology == null) {
+			CompactBoard compact = boardCreator.createCompactBoard(width, height);
+			int pellets = compact.addPlane(Pellet.class, levelCreator::createPellet);
+			for (int id = 0; id < n; id++) {
+				switch (template.cellAt(id)) {
+				case LevelCompiler.WALL:
+					compact.setTerrain(id % width, id / width, BoardFactory.WALL);
+					break;
+				case LevelCompiler.PELLET:
+					if (pelletLayer) {
+						compact.getPellets().place(id);
+					} else {
+						compact.place(pellets, id % width, id / width);
+					}
+					break;
+				case LevelCompiler.HOLE:
+					levelCreator.createHole().occupy(compact.squareWithId(id));
+					break;
+				default:
+					break;
+				}
+			}
+			board = compact;
+		} else {
+			Square[][] grid = new Square[width][height];
+			BitSet pellets = new BitSet();
+			for (int id = 0; id < n; id++) {
+				byte code = template.cellAt(id);
+				Square square;
+				if (code == LevelCompiler.WALL) {
+					square = boardCreator.createWall();
+				} else {
+					square = boardCreator.createGround();
+				}
+				grid[id % width][id / width] = square;
+				if (code == LevelCompiler.PELLET) {
+					if (pelletLayer) {
+						pellets.set(id);
+					} else {
+						levelCreator.createPellet().occupy(square);
+					}
+				} else if (code == LevelCompiler.HOLE) {
+					levelCreator.createHole().occupy(square);
+				}
+			}
+			board = boardCreator.createBoard(grid, topology);
+			for (int id = pellets.nextSetBit(0); id >= 0; id = pellets.nextSetBit(id + 1)) {
+				board.getPellets().place(id);
+			}
+		}
+
+		List<Square> startPositions = new ArrayList<>();
+		for (int id : template.getStarts()) {
+			startPositions.add(board.squareWithId(id));
+		}
+		int[] ghostIds = template.getGhosts();
+		List<NPC> ghosts = new ArrayList<>(ghostIds.length);
+		for (int i = 0; i < ghostIds.length; i++) {
+			NPC ghost = levelCreator.createGhost(i);
+			ghosts.add(ghost);
+			ghost.occupy(board.squareWithId(ghostIds[i]));
+		}
+		int[] teleports = template.getTeleports();
+		int[] targets = template.getTargets();
+		for (int i = 0; i < teleports.length; i++) {
+			Teleport teleport = levelCreator.createTeleport();
+			teleport.occupy(board.squareWithId(teleports[i]));
+			teleport.setReference(board.squareWithId(targets[i]));
+		}
+		int[] bridges = template.getBridges();
+		for (int i = 0; i < bridges.length; i++) {
+			Bridge bridge = levelCreator.createBridge();
+			bridge.occupy(board.squareWithId(bridges[i]));
+			byte direction = template.getBridgeDirection(i);
+			if (direction == LevelCompiler.HORIZONTAL) {
+				bridge.setDirection(Direction.EAST);
+			} else if (direction == LevelCompiler.VERTICAL) {
+				bridge.setDirection(Direction.NORTH);
+			}
+			if (template.hasPelletUnder(i)) {
+				Unit p = levelCreator.createPellet();
+				p.setOnBridge(false);
+				p.occupy(bridge.getSquare());
+			}
+		}
+		List<Square> fruitPositions = new ArrayList<>();
+		for (int id : template.getFruits()) {
+			fruitPositions.add(board.squareWithId(id));
+		}
+
+		DistanceTable distances = template.getDistances();
+		if (distances != null) {
+			board.setDistanceTable(distances.forBoard(board));
+		}
+		return createLevel(board, ghosts, startPositions, fruitPositions);
+	}
+
 	/**
 	 * Parses the list of strings into a list of array containing the coordinates of
 	 * the Square objects referenced a teleport
@@ -407,4 +872,20 @@ public class MapParser {
 		}
 		return bridgeRefs;
 	}
+
+	/**
+	 * The characters of a map, by position.
+	 */
+	@FunctionalInterface
+	private interface Cells {
+
+		/**
+		 * @param x
+		 *            The column of the square.
+		 * @param y
+		 *            The row of the square.
+		 * @return The character of the square at <code>x,y</code>.
+		 */
+		char at(int x, int y);
+	}
 }
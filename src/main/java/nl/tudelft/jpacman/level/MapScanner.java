@@ -0,0 +1,411 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Reads the text representation of a map, as described in
+ * {@link MapParser#parseMap(char[][], List, List)}, byte by byte. The squares
+ * are collected row by row in a single array of bytes, and the references of
+ * teleports and bridges are parsed as their lines end, so no strings are
+ * created. The text may be fed in any number of buffers.
+ *
+ * <p>
+ * Unlike {@link MapParser#parseMap(List)}, the lines of the reference
+ * sections need not be as wide as the map.
+ * </p>
+ */
+final class MapScanner {
+
+	/**
+	 * The character used to separate different sections of the board file.
+	 */
+	private static final byte SEPARATOR = '-';
+
+	/**
+	 * The message of a malformed teleport reference.
+	 */
+	private static final String TELEPORT_FORMAT =
+			"The teleport refereces section must contain two positive integer separated by a white space";
+
+	/**
+	 * The amount of bytes read from a channel at once.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The initial capacity of the buffers.
+	 */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * The section of the map being read.
+	 */
+	private enum Section {
+		/**
+		 * The squares.
+		 */
+		SQUARES,
+		/**
+		 * The references of the teleports.
+		 */
+		TELEPORTS,
+		/**
+		 * The references of the bridges.
+		 */
+		BRIDGES
+	}
+
+	/**
+	 * The line being read.
+	 */
+	private byte[] line;
+
+	/**
+	 * The amount of bytes of the line read so far.
+	 */
+	private int lineLength;
+
+	/**
+	 * The squares read so far, row by row.
+	 */
+	private byte[] cells;
+
+	/**
+	 * The amount of squares read so far.
+	 */
+	private int cellCount;
+
+	/**
+	 * The width of the map, or <code>-1</code> if no row was read yet.
+	 */
+	private int width;
+
+	/**
+	 * The amount of rows read so far.
+	 */
+	private int height;
+
+	/**
+	 * The section being read.
+	 */
+	private Section section;
+
+	/**
+	 * The positions the teleports refer to.
+	 */
+	private final List<int[]> teleportRefs;
+
+	/**
+	 * The orientation of every bridge and what lies beneath it.
+	 */
+	private final List<char[]> bridgeRefs;
+
+	/**
+	 * Creates a new scanner that did not read anything yet.
+	 *
+	 * @param expectedSize
+	 *            The expected amount of bytes of the text, used to size the
+	 *            array of squares, or <code>0</code> if unknown.
+	 */
+	MapScanner(int expectedSize) {
+		this.line = new byte[INITIAL_CAPACITY];
+		this.cells = new byte[Math.max(INITIAL_CAPACITY, expectedSize)];
+		this.width = -1;
+		this.section = Section.SQUARES;
+		this.teleportRefs = new ArrayList<>();
+		this.bridgeRefs = new ArrayList<>();
+	}
+
+	/**
+	 * Reads all remaining bytes of a buffer.
+	 *
+	 * @param buffer
+	 *            The next part of the text.
+	 */
+	void scan(ByteBuffer buffer) {
+		while (buffer.hasRemaining()) {
+			byte b = buffer.get();
+			if (b == '\n') {
+				endLine();
+			} else {
+				if (lineLength == line.length) {
+					line = Arrays.copyOf(line, line.length * 2);
+				}
+				line[lineLength++] = b;
+			}
+		}
+	}
+
+	/**
+	 * Reads a channel until its end.
+	 *
+	 * @param source
+	 *            The channel providing the next part of the text.
+	 * @throws IOException
+	 *             If the channel could not be read.
+	 */
+	void read(ReadableByteChannel source) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		while (source.read(buffer) >= 0) {
+			buffer.flip();
+			scan(buffer);
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Ends the text, reading its last line if it did not end with a line
+	 * break.
+	 *
+	 * @throws PacmanConfigurationException
+	 *             If the text contains no squares.
+	 */
+	void finish() {
+		if (lineLength > 0) {
+			endLine();
+		}
+		if (height == 0) {
+			throw new PacmanConfigurationException(
+					"Input text must consist of at least 1 row.");
+		}
+	}
+
+	/**
+	 * @return The width of the map.
+	 */
+	int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height of the map.
+	 */
+	int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the character of a square.
+	 *
+	 * @param x
+	 *            The column of the square.
+	 * @param y
+	 *            The row of the square.
+	 * @return The character of the square at <code>x,y</code>.
+	 */
+	char charAt(int x, int y) {
+		return (char) (cells[y * width + x] & 0xFF);
+	}
+
+	/**
+	 * @return The positions the teleports refer to, in order.
+	 */
+	List<int[]> getTeleportRefs() {
+		return teleportRefs;
+	}
+
+	/**
+	 * @return The orientation of every bridge and what lies beneath it, in
+	 *         order.
+	 */
+	List<char[]> getBridgeRefs() {
+		return bridgeRefs;
+	}
+
+	/**
+	 * Handles the line read since the previous line break.
+	 */
+	private void endLine() {
+		int length = lineLength;
+		if (length > 0 && line[length - 1] == '\r') {
+			length--;
+		}
+		lineLength = 0;
+
+		switch (section) {
+		case SQUARES:
+			if (length > 0 && line[0] == SEPARATOR) {
+				if (height == 0) {
+					throw new PacmanConfigurationException(
+							"Input text must consist of at least 1 row.");
+				}
+				section = Section.TELEPORTS;
+			} else {
+				addRow(length);
+			}
+			break;
+		case TELEPORTS:
+			if (length > 0 && line[0] == SEPARATOR) {
+				section = Section.BRIDGES;
+			} else {
+				teleportRefs.add(parseTeleport(length));
+			}
+			break;
+		default:
+			bridgeRefs.add(parseBridge(length));
+			break;
+		}
+	}
+
+	/**
+	 * Adds the line as a row of squares.
+	 *
+	 * @param length
+	 *            The length of the line.
+	 */
+	private void addRow(int length) {
+		if (width < 0) {
+			if (length == 0) {
+				throw new PacmanConfigurationException(
+						"Input text lines cannot be empty.");
+			}
+			width = length;
+		} else if (length != width) {
+			throw new PacmanConfigurationException(
+					"Input text lines are not of equal width.");
+		}
+		if ((long) cellCount + length > Integer.MAX_VALUE) {
+			throw new PacmanConfigurationException("Map is too large.");
+		}
+		if (cellCount + length > cells.length) {
+			long grown = Math.max((long) cells.length * 2, cellCount + length);
+			cells = Arrays.copyOf(cells, (int) Math.min(grown, Integer.MAX_VALUE));
+		}
+		System.arraycopy(line, 0, cells, cellCount, length);
+		cellCount += length;
+		height++;
+	}
+
+	/**
+	 * Parses the line as the reference of a teleport: two non-negative
+	 * integers separated by a single space.
+	 *
+	 * @param length
+	 *            The length of the line.
+	 * @return The x and y coordinate of the square the teleport refers to.
+	 */
+	private int[] parseTeleport(int length) {
+		int start = trimStart(length);
+		int end = trimEnd(start, length);
+		int space = indexOfSpace(start, end);
+		if (space < 0 || indexOfSpace(space + 1, end) >= 0) {
+			throw new PacmanConfigurationException(TELEPORT_FORMAT);
+		}
+		return new int[] {parseNumber(start, space),
+				parseNumber(space + 1, end)};
+	}
+
+	/**
+	 * Parses the line as the description of a bridge: two characters
+	 * separated by a single space.
+	 *
+	 * @param length
+	 *            The length of the line.
+	 * @return The orientation of the bridge and what lies beneath it.
+	 */
+	private char[] parseBridge(int length) {
+		int start = trimStart(length);
+		int end = trimEnd(start, length);
+		if (end - start != 3 || line[start + 1] != ' ') {
+			throw new PacmanConfigurationException(
+					"Bridge data must contain two character separated by only one space");
+		}
+		char c1 = (char) (line[start] & 0xFF);
+		char c2 = (char) (line[start + 2] & 0xFF);
+		if (c1 != 'H' && c1 != 'V' || c2 != 'P' && c2 != 'N' && c2 != 'F') {
+			throw new PacmanConfigurationException("Incorrect Bridge data : "
+					+ c1 + c2);
+		}
+		return new char[] {c1, c2};
+	}
+
+	/**
+	 * Parses a non-negative integer, optionally preceded by a sign.
+	 *
+	 * @param start
+	 *            The index of the first character of the number in the line.
+	 * @param end
+	 *            The index after the last character of the number.
+	 * @return The number.
+	 */
+	private int parseNumber(int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (line[i] == '+' || line[i] == '-')) {
+			negative = line[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new PacmanConfigurationException(TELEPORT_FORMAT);
+		}
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = line[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new PacmanConfigurationException(TELEPORT_FORMAT);
+			}
+			value = value * 10 + digit;
+			if (value > Integer.MAX_VALUE) {
+				throw new PacmanConfigurationException(TELEPORT_FORMAT);
+			}
+		}
+		if (negative && value != 0) {
+			throw new PacmanConfigurationException(TELEPORT_FORMAT);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * @param length
+	 *            The length of the line.
+	 * @return The index of the first character of the line that is not
+	 *         white space.
+	 */
+	private int trimStart(int length) {
+		int start = 0;
+		while (start < length && (line[start] & 0xFF) <= ' ') {
+			start++;
+		}
+		return start;
+	}
+
+	/**
+	 * @param start
+	 *            The index of the first character that is not white space.
+	 * @param length
+	 *            The length of the line.
+	 * @return The index after the last character of the line that is not
+	 *         white space.
+	 */
+	private int trimEnd(int start, int length) {
+		int end = length;
+		while (end > start && (line[end - 1] & 0xFF) <= ' ') {
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * @param from
+	 *            The index to start searching at.
+	 * @param end
+	 *            The index to stop searching at.
+	 * @return The index of the first space in the range, or <code>-1</code>
+	 *         if there is none.
+	 */
+	private int indexOfSpace(int from, int end) {
+		for (int i = from; i < end; i++) {
+			if (line[i] == ' ') {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
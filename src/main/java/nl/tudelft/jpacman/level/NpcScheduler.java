@@ -0,0 +1,309 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Schedules the moves of NPCs of any number of levels on a small, fixed pool
+ * of threads, instead of giving every NPC a thread of its own.
+ *
+ * <p>
+ * Pending moves are kept in a hashed timing wheel: a ring of slots, each
+ * covering one tick of {@link #getTickMillis()} milliseconds. A single timer
+ * thread advances the wheel and hands the moves that are due to the pool.
+ * Every NPC moves for the first time after half its interval and, after each
+ * move, again after its current {@link NPC#getInterval()}, so moves of one NPC
+ * never overlap and changes in its speed are picked up immediately.
+ * </p>
+ */
+public final class NpcScheduler {
+
+	/**
+	 * The default duration of a tick of the wheel in milliseconds.
+	 */
+	public static final long DEFAULT_TICK = 5L;
+
+	/**
+	 * The amount of slots in the wheel; a power of two.
+	 */
+	private static final int WHEEL_SIZE = 256;
+
+	/**
+	 * The scheduler shared by all levels that were not given one.
+	 */
+	private static NpcScheduler defaultScheduler;
+
+	/**
+	 * The pending tasks, by the tick they are due modulo the size of the
+	 * wheel.
+	 */
+	private final List<List<Task>> wheel;
+
+	/**
+	 * The duration of a tick in milliseconds.
+	 */
+	private final long tickMillis;
+
+	/**
+	 * The moment the wheel started turning, in nanoseconds.
+	 */
+	private final long origin;
+
+	/**
+	 * The last tick of which the due tasks were handed to the pool.
+	 */
+	private long currentTick;
+
+	/**
+	 * The thread turning the wheel.
+	 */
+	private final ScheduledExecutorService timer;
+
+	/**
+	 * The threads executing the moves.
+	 */
+	private final ExecutorService workers;
+
+	/**
+	 * Creates a new scheduler and starts turning its wheel.
+	 *
+	 * @param threads
+	 *            The amount of threads executing moves.
+	 * @param tick
+	 *            The duration of a tick in milliseconds, which is the
+	 *            precision of all moves.
+	 */
+	public NpcScheduler(int threads, long tick) {
+		assert threads > 0;
+		assert tick > 0;
+		this.tickMillis = tick;
+		this.wheel = new ArrayList<>(WHEEL_SIZE);
+		for (int i = 0; i < WHEEL_SIZE; i++) {
+			wheel.add(new ArrayList<Task>());
+		}
+		this.timer = Executors.newSingleThreadScheduledExecutor(
+				new DaemonFactory("npc-timer"));
+		this.workers = Executors.newFixedThreadPool(threads,
+				new DaemonFactory("npc-worker"));
+		this.origin = System.nanoTime();
+		this.currentTick = 0L;
+		timer.scheduleAtFixedRate(new Runnable() {
+
+			@Override
+			public void run() {
+				advance();
+			}
+		}, tick, tick, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the scheduler shared by all levels that were not given one,
+	 * creating it on first use with a thread per processor.
+	 *
+	 * @return The shared scheduler.
+	 */
+	public static synchronized NpcScheduler getDefault() {
+		if (defaultScheduler == null) {
+			defaultScheduler = new NpcScheduler(
+					Runtime.getRuntime().availableProcessors(), DEFAULT_TICK);
+		}
+		return defaultScheduler;
+	}
+
+	/**
+	 * @return The duration of a tick in milliseconds.
+	 */
+	public long getTickMillis() {
+		return tickMillis;
+	}
+
+	/**
+	 * Starts moving an NPC. The step is first performed after half the
+	 * interval of the NPC, and then every time its interval has passed after
+	 * the previous step finished, until the returned task is cancelled.
+	 *
+	 * @param npc
+	 *            The NPC to move.
+	 * @param step
+	 *            The move to perform.
+	 * @return The task performing the moves.
+	 */
+	public Task schedule(NPC npc, Runnable step) {
+		assert npc != null;
+		assert step != null;
+		Task task = new Task(npc, step);
+		enqueue(task, npc.getInterval() / 2);
+		return task;
+	}
+
+	/**
+	 * Stops turning the wheel and executing moves. Pending moves are
+	 * discarded.
+	 */
+	public void shutdown() {
+		timer.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Places a task in the slot of the tick it becomes due.
+	 *
+	 * @param task
+	 *            The task to place.
+	 * @param delay
+	 *            The amount of milliseconds after which it is due.
+	 */
+	private void enqueue(Task task, long delay) {
+		long ticks = Math.max(1L, (delay + tickMillis - 1) / tickMillis);
+		synchronized (wheel) {
+			task.deadline = currentTick + ticks;
+			wheel.get(slot(task.deadline)).add(task);
+		}
+	}
+
+	/**
+	 * Hands all tasks that became due since the previous call to the pool.
+	 * Ticks are counted from the elapsed time, so ticks missed because the
+	 * timer thread was delayed are caught up on.
+	 */
+	private void advance() {
+		long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin)
+				/ tickMillis;
+		List<Task> due = new ArrayList<>();
+		synchronized (wheel) {
+			while (currentTick < now) {
+				currentTick++;
+				Iterator<Task> it = wheel.get(slot(currentTick)).iterator();
+				while (it.hasNext()) {
+					Task task = it.next();
+					if (task.cancelled) {
+						it.remove();
+					} else if (task.deadline <= currentTick) {
+						it.remove();
+						due.add(task);
+					}
+				}
+			}
+		}
+		for (Task task : due) {
+			workers.execute(task);
+		}
+	}
+
+	/**
+	 * @param tick
+	 *            A tick.
+	 * @return The index of the slot in the wheel of the tick.
+	 */
+	private static int slot(long tick) {
+		return (int) (tick & (WHEEL_SIZE - 1));
+	}
+
+	/**
+	 * The recurring moves of a single NPC.
+	 */
+	public final class Task implements Runnable {
+
+		/**
+		 * The NPC being moved.
+		 */
+		private final NPC npc;
+
+		/**
+		 * The move to perform.
+		 */
+		private final Runnable step;
+
+		/**
+		 * The tick in which the next move is due.
+		 */
+		private long deadline;
+
+		/**
+		 * <code>true</code> iff no more moves should be performed.
+		 */
+		private volatile boolean cancelled;
+
+		/**
+		 * Creates a new task.
+		 *
+		 * @param n
+		 *            The NPC being moved.
+		 * @param s
+		 *            The move to perform.
+		 */
+		private Task(NPC n, Runnable s) {
+			this.npc = n;
+			this.step = s;
+		}
+
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			step.run();
+			if (!cancelled) {
+				enqueue(this, npc.getInterval());
+			}
+		}
+
+		/**
+		 * Stops moving the NPC. A move that is being performed is finished,
+		 * but no further moves are started.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+
+		/**
+		 * @return <code>true</code> iff this task was cancelled.
+		 */
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+
+	/**
+	 * Creates the daemon threads of a scheduler, so they do not keep the
+	 * application alive.
+	 */
+	private static final class DaemonFactory implements ThreadFactory {
+
+		/**
+		 * The prefix of the names of the threads.
+		 */
+		private final String prefix;
+
+		/**
+		 * The amount of threads created so far.
+		 */
+		private final AtomicInteger count = new AtomicInteger();
+
+		/**
+		 * Creates a new factory.
+		 *
+		 * @param name
+		 *            The prefix of the names of the threads.
+		 */
+		private DaemonFactory(String name) {
+			this.prefix = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.level;
 
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -26,6 +27,7 @@ public class Pellet extends Unit {
 	 * @param sprite The sprite of this pellet.
 	 */
 	public Pellet(int points, Sprite sprite) {
+		super(UnitKind.PELLET);
 		this.image = sprite;
 		this.value = points;
 	}
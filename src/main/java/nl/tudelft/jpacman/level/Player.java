@@ -3,6 +3,7 @@ package nl.tudelft.jpacman.level;
 import java.util.Map;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.UnitKind;
 import nl.tudelft.jpacman.npc.DirectionCharacter;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
@@ -35,10 +36,15 @@ public class Player extends NPC implements DirectionCharacter {
 	 */
 	private Map<Direction, Sprite> sprites;
 
+	/**
+	 * The animations for every direction while no effect changes them.
+	 */
+	private Map<Direction, Sprite> normalSprites;
+
 	/**
 	 * The animation that is to be played when Pac-Man dies.
 	 */
-	private final AnimatedSprite deathSprite;
+	private AnimatedSprite deathSprite;
 
 	/**
 	 * <code>true</code> iff this player is alive.
@@ -69,11 +75,13 @@ public class Player extends NPC implements DirectionCharacter {
 	 *            The sprite to be shown when this player dies.
 	 */
 	Player(Map<Direction, Sprite> spriteMap, AnimatedSprite deathAnimation) {
+		super(UnitKind.PLAYER);
 		this.mobile = true;
 		this.score = 0;
 		this.alive = true;
 		this.shooting = false;
 		this.sprites = spriteMap;
+		this.normalSprites = spriteMap;
 		this.deathSprite = deathAnimation;
 		deathSprite.setAnimating(false);
 	}
@@ -112,6 +120,23 @@ public class Player extends NPC implements DirectionCharacter {
 		return score;
 	}
 
+	/**
+	 * {@inheritDoc} The copy gets animations of its own, so its death
+	 * animation does not play on this player.
+	 */
+	@Override
+	public Player copy() {
+		Player copy = (Player) super.copy();
+		copy.normalSprites = copySprites(normalSprites);
+		if (sprites == normalSprites) {
+			copy.sprites = copy.normalSprites;
+		} else {
+			copy.sprites = copySprites(sprites);
+		}
+		copy.deathSprite = deathSprite.copy();
+		return copy;
+	}
+
 	@Override
 	public Sprite getSprite() {
 		if (isAlive()) {
@@ -139,6 +164,11 @@ public class Player extends NPC implements DirectionCharacter {
 		this.sprites = sprites;
 	}
 
+	@Override
+	public void resetSprites() {
+		this.sprites = normalSprites;
+	}
+
 	public boolean isInvincible() {
 		return invincible;
 	}
@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.level;
 
+import nl.tudelft.jpacman.board.PelletLayer;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.fruit.Fruit;
 import nl.tudelft.jpacman.npc.Bullet;
@@ -19,6 +20,34 @@ import nl.tudelft.jpacman.npc.ghost.Ghost;
 
 public class PlayerCollisions implements CollisionMap {
 
+	/**
+	 * The temporary effects caused by collisions.
+	 */
+	private final TimedEffects effects;
+
+	/**
+	 * Creates a new collision map whose effects end on a clock of their own.
+	 */
+	public PlayerCollisions() {
+		this(new TimedEffects());
+	}
+
+	/**
+	 * Creates a new collision map.
+	 * 
+	 * @param timedEffects
+	 *            The effects of the level, on which the temporary effects
+	 *            caused by collisions end.
+	 */
+	public PlayerCollisions(TimedEffects timedEffects) {
+		this.effects = timedEffects;
+	}
+
+	@Override
+	public CollisionMap withEffects(TimedEffects timedEffects) {
+		return new PlayerCollisions(timedEffects);
+	}
+
 	@Override
 	public void collide(Unit mover, Unit collidedOn) {
 		if(mover.isOnBridge() == collidedOn.isOnBridge()){
@@ -80,7 +109,13 @@ public class PlayerCollisions implements CollisionMap {
 	}
 	
 	
-	private void ghostVersusBullet(Ghost ghost, Bullet collidedOn) {
+	/**
+	 * Actual case of a ghost being hit by a bullet or vice versa.
+	 *
+	 * @param ghost The ghost involved in the collision.
+	 * @param collidedOn The bullet involved in the collision.
+	 */
+	void ghostVersusBullet(Ghost ghost, Bullet collidedOn) {
 		if(!(ghost.hasExploded())) {
 			collidedOn.setAlive(false);
 			ghost.setExplode(true);
@@ -110,6 +145,20 @@ public class PlayerCollisions implements CollisionMap {
 		player.addPoints(pellet.getValue());		
 	}
 
+	/**
+	 * Actual case of a player eating a pellet of the pellet layer.
+	 */
+	@Override
+	public void collideWithPellet(Unit collider, PelletLayer pellets,
+			int squareId) {
+		if (collider instanceof Player && !collider.isOnBridge()) {
+			int points = pellets.eat(squareId);
+			if (points >= 0) {
+				((Player) collider).addPoints(points);
+			}
+		}
+	}
+
 	/**
 	 * Actual case of A player or a ghost falling into a hole.
      *
@@ -119,7 +168,7 @@ public class PlayerCollisions implements CollisionMap {
 	public void characterVersusHole(Unit unit, Hole hole) {
 		if(unit instanceof DirectionCharacter) {
 			hole.leaveSquare();
-			hole.effect((DirectionCharacter) unit);
+			hole.effect((DirectionCharacter) unit, effects);
 		}
 	}
 	
@@ -151,6 +200,6 @@ public class PlayerCollisions implements CollisionMap {
 	 */
 	public void playerVersusFruit(Player player, Fruit fruit) {
 		fruit.leaveSquare();
-		fruit.fruitEffect(player);
+		fruit.fruitEffect(player, effects);
 	}
 }
@@ -1,5 +1,6 @@
 package nl.tudelft.jpacman.level;
 
+import nl.tudelft.jpacman.npc.Bullet;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
 /**
@@ -33,4 +34,16 @@ public class PlayerFactory {
 		return new Player(sprites.getPacmanSprites(),
 				sprites.getPacManDeathAnimation());
 	}
+
+	/**
+	 * Creates a new bullet shot by a player.
+	 * 
+	 * @param shooter
+	 *            The player shooting the bullet, in whose direction it
+	 *            flies.
+	 * @return A new bullet.
+	 */
+	public Bullet createBullet(Player shooter) {
+		return new Bullet(sprites.getBulletSprite(), shooter);
+	}
 }
@@ -0,0 +1,193 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Advances a {@link Level} in fixed steps of simulated time instead of in real
+ * time. No threads are involved: every call to {@link #tick()} moves the clock
+ * of the level forward by the length of a tick, ends the temporary effects
+ * that became due and moves every NPC, including the players, whose interval
+ * elapsed. NPCs are moved in the order in which they were added to the level,
+ * so a simulation of a level without random choices is reproducible.
+ *
+ * <p>
+ * As with the scheduler, every NPC first moves after half its interval and
+ * then every time its interval has passed. The direction a player moves in
+ * can be {@link #steer(Player, Direction) steered} before every tick.
+ * </p>
+ */
+public class Simulation {
+
+	/**
+	 * The level being simulated.
+	 */
+	private final Level level;
+
+	/**
+	 * The length of a tick in milliseconds.
+	 */
+	private final long tickMillis;
+
+	/**
+	 * The simulated time in milliseconds.
+	 */
+	private long time;
+
+	/**
+	 * The time at which every NPC moves next.
+	 */
+	private final Map<NPC, Long> due;
+
+	/**
+	 * The directions players will take from the next tick on.
+	 */
+	private final Map<Player, Direction> input;
+
+	/**
+	 * Creates a new simulation of a level that has not been started yet.
+	 *
+	 * @param l
+	 *            The level to simulate.
+	 * @param tick
+	 *            The length of a tick in milliseconds.
+	 */
+	public Simulation(Level l, long tick) {
+		assert l != null;
+		assert tick > 0;
+		this.level = l;
+		this.tickMillis = tick;
+		this.due = new IdentityHashMap<>();
+		this.input = new LinkedHashMap<>();
+		level.simulate();
+	}
+
+	/**
+	 * @return The level being simulated.
+	 */
+	public Level getLevel() {
+		return level;
+	}
+
+	/**
+	 * @return The simulated time in milliseconds since the start.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Starts the level, allowing movement.
+	 */
+	public void start() {
+		level.start();
+	}
+
+	/**
+	 * Sets the direction a player takes from the next tick on.
+	 *
+	 * @param player
+	 *            The player to steer.
+	 * @param direction
+	 *            The direction the player should move in.
+	 */
+	public void steer(Player player, Direction direction) {
+		assert player != null;
+		assert direction != null;
+		input.put(player, direction);
+	}
+
+	/**
+	 * Advances the level by a single tick. Nothing happens while the level
+	 * is not in progress.
+	 */
+	public void tick() {
+		if (!level.isInProgress()) {
+			return;
+		}
+		for (Map.Entry<Player, Direction> e : input.entrySet()) {
+			e.getKey().setDirection(e.getValue());
+		}
+		input.clear();
+
+		time += tickMillis;
+		level.getEffects().advance(tickMillis);
+
+		List<NPC> npcs = level.getNPCs();
+		due.keySet().retainAll(npcs);
+		for (NPC npc : npcs) {
+			Long next = due.get(npc);
+			long at = next == null ? time - tickMillis + npc.getInterval() / 2
+					: next;
+			while (at <= time && level.isInProgress()
+					&& npc.getSquare() != null) {
+				Direction nextMove = npc.nextMove();
+				if (nextMove != null) {
+					level.move(npc, nextMove);
+				}
+				at += Math.max(1L, npc.getInterval());
+			}
+			due.put(npc, at);
+		}
+	}
+
+	/**
+	 * Advances the level until it is won or lost, or until the given amount
+	 * of ticks has passed.
+	 *
+	 * @param maxTicks
+	 *            The maximum amount of ticks to simulate.
+	 * @return The amount of ticks simulated.
+	 */
+	public long run(long maxTicks) {
+		long ticks = 0;
+		while (ticks < maxTicks && level.isInProgress() && !isFinished()) {
+			tick();
+			ticks++;
+		}
+		return ticks;
+	}
+
+	/**
+	 * Creates a simulation of a {@link Level#fork() fork} of the level, at
+	 * the same time and with the same moves due and players steered, which
+	 * can be advanced independently of this simulation. The fork is started
+	 * if the level is in progress.
+	 *
+	 * @return The simulation of the fork.
+	 */
+	public Simulation fork() {
+		Map<Unit, Unit> copies = new IdentityHashMap<>();
+		Simulation fork = new Simulation(level.fork(copies), tickMillis);
+		fork.time = time;
+		for (Map.Entry<NPC, Long> e : due.entrySet()) {
+			Unit copy = copies.get(e.getKey());
+			if (copy != null) {
+				fork.due.put((NPC) copy, e.getValue());
+			}
+		}
+		for (Map.Entry<Player, Direction> e : input.entrySet()) {
+			Unit copy = copies.get(e.getKey());
+			if (copy != null) {
+				fork.input.put((Player) copy, e.getValue());
+			}
+		}
+		if (level.isInProgress()) {
+			fork.start();
+		}
+		return fork;
+	}
+
+	/**
+	 * @return <code>true</code> iff the level is won or lost.
+	 */
+	public boolean isFinished() {
+		return !level.isAnyPlayerAlive() || level.remainingPellets() == 0;
+	}
+}
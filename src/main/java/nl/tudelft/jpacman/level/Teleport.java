@@ -6,6 +6,7 @@ import nl.tudelft.jpacman.sprite.Sprite;
 import java.util.List;
 
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.UnitKind;
 
 /**
  * A teleport is a special object that will teleport pacman instantly to another part of the board.
@@ -27,6 +28,7 @@ public class Teleport extends Unit {
 	 * @param sprite The sprite of this hole.
 	 */
 	public Teleport(Sprite sprite) {
+		super(UnitKind.TELEPORT);
 		this.image = sprite;
 	}
 	
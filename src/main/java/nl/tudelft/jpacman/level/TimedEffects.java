@@ -0,0 +1,363 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The temporary effects on a level, such as paralysis, acceleration,
+ * invincibility, the ability to shoot, the lifetime of a fruit and the removal
+ * of dead ghosts. Every effect ends after a delay measured on the clock of the
+ * level, which only runs while the effects are not paused, so a level that is
+ * stopped does not see its effects expire.
+ *
+ * <p>
+ * The effects of all levels expire on a single shared timer thread, which
+ * only wakes up when the first effect of a level is due. The actions ending
+ * the effects are run on that thread and should therefore be short.
+ * </p>
+ *
+ * <p>
+ * Alternatively, the clock can be {@link #simulate() simulated}: it then only
+ * moves when it is {@link #advance(long) advanced}, and effects end on the
+ * thread advancing it.
+ * </p>
+ *
+ * <p>
+ * Effects that end on a {@link #schedule(long, Unit, Consumer) unit} are
+ * carried over when the effects are {@link #fork(Map) forked} along with
+ * their level, and then end on the copy of that unit.
+ * </p>
+ */
+public class TimedEffects {
+
+	/**
+	 * The thread ending the effects of all levels.
+	 */
+	private static final ScheduledExecutorService TIMER = Executors
+			.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "effect-timer");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	/**
+	 * The effects that have not ended yet, the first to end first.
+	 */
+	private final PriorityQueue<Effect> pending;
+
+	/**
+	 * The amount of nanoseconds the clock was paused, which is subtracted
+	 * from the system clock to get the time of the level.
+	 */
+	private long pausedNanos;
+
+	/**
+	 * The moment the clock was paused on the system clock, if it is paused.
+	 */
+	private long pausedSince;
+
+	/**
+	 * <code>true</code> iff the clock is paused.
+	 */
+	private boolean paused;
+
+	/**
+	 * <code>true</code> iff the clock only moves when it is advanced.
+	 */
+	private boolean simulated;
+
+	/**
+	 * The time on a simulated clock in nanoseconds.
+	 */
+	private long simulatedTime;
+
+	/**
+	 * The wake-up of the timer for the first pending effect, if any.
+	 */
+	private ScheduledFuture<?> wakeUp;
+
+	/**
+	 * The amount of effects added so far, used to end effects that are due
+	 * at the same time in the order in which they were added.
+	 */
+	private long sequence;
+
+	/**
+	 * Creates a new set of effects with a running clock.
+	 */
+	public TimedEffects() {
+		this.pending = new PriorityQueue<>();
+	}
+
+	/**
+	 * Schedules the end of an effect.
+	 *
+	 * @param delay
+	 *            The amount of milliseconds on the clock of the level after
+	 *            which the effect ends.
+	 * @param end
+	 *            The action that ends the effect.
+	 */
+	public void schedule(long delay, Runnable end) {
+		assert end != null;
+		add(delay, null, unit -> end.run());
+	}
+
+	/**
+	 * Schedules the end of an effect on a unit.
+	 *
+	 * @param <T>
+	 *            The type of the unit.
+	 * @param delay
+	 *            The amount of milliseconds on the clock of the level after
+	 *            which the effect ends.
+	 * @param target
+	 *            The unit the effect is on.
+	 * @param end
+	 *            The action that ends the effect, which is given the unit
+	 *            the effect is on: the target, or its copy if the effects
+	 *            were forked.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Unit> void schedule(long delay, T target,
+			Consumer<? super T> end) {
+		assert target != null;
+		assert end != null;
+		add(delay, target, (Consumer<Unit>) end);
+	}
+
+	/**
+	 * Adds an effect.
+	 *
+	 * @param delay
+	 *            The amount of milliseconds after which the effect ends.
+	 * @param target
+	 *            The unit the effect is on, or <code>null</code>.
+	 * @param end
+	 *            The action that ends the effect.
+	 */
+	private synchronized void add(long delay, Unit target, Consumer<Unit> end) {
+		Effect effect = new Effect(now() + TimeUnit.MILLISECONDS.toNanos(delay),
+				sequence++, target, end);
+		pending.add(effect);
+		if (pending.peek() == effect) {
+			rescheduleWakeUp();
+		}
+	}
+
+	/**
+	 * Creates effects with a simulated clock showing the current time of
+	 * this clock, and the effects on the copied units that have not ended
+	 * yet. Effects that are not on a unit, or on a unit that was not
+	 * copied, are left out.
+	 *
+	 * @param copies
+	 *            The copies of the units, by original.
+	 * @return The new effects, which have the same remaining delays.
+	 */
+	synchronized TimedEffects fork(Map<Unit, Unit> copies) {
+		TimedEffects fork = new TimedEffects();
+		fork.simulated = true;
+		fork.simulatedTime = now();
+		fork.sequence = sequence;
+		for (Effect effect : pending) {
+			Unit copy = copies.get(effect.target);
+			if (copy != null) {
+				fork.pending.add(new Effect(effect.deadline, effect.order,
+						copy, effect.end));
+			}
+		}
+		return fork;
+	}
+
+	/**
+	 * Stops the clock, so no effects end until it is resumed.
+	 */
+	public synchronized void pause() {
+		if (paused) {
+			return;
+		}
+		paused = true;
+		pausedSince = System.nanoTime();
+		rescheduleWakeUp();
+	}
+
+	/**
+	 * Restarts the clock after it was paused.
+	 */
+	public synchronized void resume() {
+		if (!paused) {
+			return;
+		}
+		paused = false;
+		pausedNanos += System.nanoTime() - pausedSince;
+		rescheduleWakeUp();
+	}
+
+	/**
+	 * Detaches the clock from the system clock. From now on, it only moves
+	 * when it is advanced, and effects only end while it is advanced.
+	 * Pending effects keep their remaining delays.
+	 */
+	public synchronized void simulate() {
+		if (simulated) {
+			return;
+		}
+		simulatedTime = now();
+		simulated = true;
+		rescheduleWakeUp();
+	}
+
+	/**
+	 * Moves a simulated clock forward, unless it is paused, and ends all
+	 * effects that became due on the calling thread.
+	 *
+	 * @param millis
+	 *            The amount of milliseconds to move the clock.
+	 */
+	public void advance(long millis) {
+		synchronized (this) {
+			assert simulated : "Only a simulated clock can be advanced.";
+			if (paused) {
+				return;
+			}
+			simulatedTime += TimeUnit.MILLISECONDS.toNanos(millis);
+		}
+		expire();
+	}
+
+	/**
+	 * @return <code>true</code> iff the clock is paused.
+	 */
+	public synchronized boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * @return The amount of effects that have not ended yet.
+	 */
+	public synchronized int size() {
+		return pending.size();
+	}
+
+	/**
+	 * @return The time on the clock of the level in nanoseconds.
+	 */
+	private long now() {
+		if (simulated) {
+			return simulatedTime;
+		}
+		if (paused) {
+			return pausedSince - pausedNanos;
+		}
+		return System.nanoTime() - pausedNanos;
+	}
+
+	/**
+	 * Replaces the wake-up of the timer with one for the first pending
+	 * effect, or removes it if there is none, the clock is paused or the
+	 * clock is simulated.
+	 */
+	private void rescheduleWakeUp() {
+		if (wakeUp != null) {
+			wakeUp.cancel(false);
+			wakeUp = null;
+		}
+		Effect first = pending.peek();
+		if (first == null || paused || simulated) {
+			return;
+		}
+		wakeUp = TIMER.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				expire();
+			}
+		}, Math.max(0L, first.deadline - now()), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Ends all effects that are due. The actions are run outside the lock,
+	 * so they may schedule new effects.
+	 */
+	private void expire() {
+		while (true) {
+			Effect due;
+			synchronized (this) {
+				Effect first = pending.peek();
+				if (paused || first == null || first.deadline > now()) {
+					rescheduleWakeUp();
+					return;
+				}
+				due = pending.poll();
+			}
+			due.end.accept(due.target);
+		}
+	}
+
+	/**
+	 * An effect that has not ended yet.
+	 */
+	private static final class Effect implements Comparable<Effect> {
+
+		/**
+		 * The time on the clock of the level at which the effect ends.
+		 */
+		private final long deadline;
+
+		/**
+		 * The number of this effect in the order of scheduling.
+		 */
+		private final long order;
+
+		/**
+		 * The unit the effect is on, or <code>null</code>.
+		 */
+		private final Unit target;
+
+		/**
+		 * The action that ends the effect.
+		 */
+		private final Consumer<Unit> end;
+
+		/**
+		 * Creates a new effect.
+		 *
+		 * @param time
+		 *            The time at which the effect ends.
+		 * @param number
+		 *            The number of the effect in the order of scheduling.
+		 * @param unit
+		 *            The unit the effect is on, or <code>null</code>.
+		 * @param action
+		 *            The action that ends the effect.
+		 */
+		private Effect(long time, long number, Unit unit,
+				Consumer<Unit> action) {
+			this.deadline = time;
+			this.order = number;
+			this.target = unit;
+			this.end = action;
+		}
+
+		@Override
+		public int compareTo(Effect other) {
+			if (deadline != other.deadline) {
+				return deadline < other.deadline ? -1 : 1;
+			}
+			return Long.compare(order, other.order);
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.npc;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.UnitKind;
 import nl.tudelft.jpacman.level.Bridge;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.sprite.Sprite;
@@ -41,6 +42,7 @@ public class Bullet extends NPC{
 	 * @param p the player that fired this bullet.
 	 */
 	public Bullet(Sprite sprite, Player p) {
+		super(UnitKind.BULLET);
 		this.setAlive(true);
 		this.sprite = sprite;
 		shootingDirection = p.getDirection();
@@ -27,6 +27,12 @@ public interface DirectionCharacter {
 	 * @param the new sprites for all Directions.
 	 */
 	public void setSprites(Map<Direction, Sprite> sprites);
+
+	/**
+	 * Changes the sprites back to the ones this DirectionCharacter was
+	 * created with, for instance when a temporary effect ends.
+	 */
+	public void resetSprites();
 	
 	/**
 	 * Returns whether this DirectionCharacter can be moved or not.
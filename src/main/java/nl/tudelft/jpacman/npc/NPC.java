@@ -1,7 +1,13 @@
 package nl.tudelft.jpacman.npc;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
  * A non-player unit.
@@ -15,6 +21,23 @@ public abstract class NPC extends Unit {
 	 */
 	private boolean acceleration = false;
 
+	/**
+	 * Creates an NPC of no particular kind.
+	 */
+	protected NPC() {
+		super();
+	}
+
+	/**
+	 * Creates an NPC.
+	 * 
+	 * @param kind
+	 *            The kind of this NPC.
+	 */
+	protected NPC(UnitKind kind) {
+		super(kind);
+	}
+
 	/**
 	 * The time that should be taken between moves.
 	 * 
@@ -46,4 +69,26 @@ public abstract class NPC extends Unit {
 	public boolean getAcceleration() {
 		return acceleration;
 	}
+
+	/**
+	 * Copies the sprites of a unit for every direction for a copy of the
+	 * unit, so the animations of the copy run independently of the original.
+	 * 
+	 * @param sprites
+	 *            The sprites for every direction.
+	 * @return A new map with copies of the animated sprites, and the same
+	 *         static sprites.
+	 */
+	protected static Map<Direction, Sprite> copySprites(
+			Map<Direction, Sprite> sprites) {
+		Map<Direction, Sprite> copy = new EnumMap<>(Direction.class);
+		for (Map.Entry<Direction, Sprite> entry : sprites.entrySet()) {
+			Sprite sprite = entry.getValue();
+			if (sprite instanceof AnimatedSprite) {
+				sprite = ((AnimatedSprite) sprite).copy();
+			}
+			copy.put(entry.getKey(), sprite);
+		}
+		return copy;
+	}
 }
@@ -1,10 +1,9 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.FlowField;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
@@ -73,11 +72,11 @@ public class Blinky extends Ghost {
 		// TODO Blinky should speed up when there are a few pellets left, but he
 		// has no way to find out how many there are.
 		if(!getAcceleration()){
-			return MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 		else{
 			System.out.println("Test");
-			return ACCELERATED_MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return ACCELERATED_MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 	}
 
@@ -98,6 +97,16 @@ public class Blinky extends Ghost {
 	public Direction nextMove() {
 		// TODO Blinky should patrol his corner every once in a while
 		// TODO Implement his actual behaviour instead of simply chasing.
+		FlowField field = Navigation.nearestFlowField(Player.class,
+				getSquare(), this);
+		if (field != null) {
+			Direction d = field.directionFrom(getSquare());
+			if (d != null) {
+				return d;
+			}
+			return randomMove();
+		}
+
 		Square target = Navigation.findNearest(Player.class, getSquare())
 				.getSquare();
 
@@ -106,13 +115,10 @@ public class Blinky extends Ghost {
 			return d;
 		}
 		
-		List<Direction> path = Navigation.shortestPath(getSquare(), target,
-				this);
-		if (path != null && !path.isEmpty()) {
-			Direction d = path.get(0);
+		Direction d = Navigation.nextHop(getSquare(), target, this);
+		if (d != null) {
 			return d;
 		}
-		Direction d = randomMove();
-		return d;
+		return randomMove();
 	}
 }
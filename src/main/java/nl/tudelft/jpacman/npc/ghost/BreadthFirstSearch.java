@@ -0,0 +1,532 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Breadth first search over the squares of a {@link Board}, working on the ids
+ * of the squares. All bookkeeping is done in arrays that are kept per thread
+ * and reused for every search, so a search does not create any garbage unless
+ * a complete path is requested.
+ *
+ * <p>
+ * On boards of up to {@value #DENSE_SQUARES} squares the arrays hold an entry
+ * for every square. On larger boards, such as the compact boards of very large
+ * maps, the squares reached are kept in a hash table instead, so the scratch
+ * space grows with the amount of squares a search visits rather than with the
+ * size of the board.
+ * </p>
+ *
+ * <p>
+ * Squares that are not part of a board keep their neighbours themselves, so
+ * searches starting on them walk the linked squares instead, keeping the
+ * squares reached in a map.
+ * </p>
+ */
+final class BreadthFirstSearch {
+
+	/**
+	 * The directions in the order in which neighbours are explored.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The direction leading back for every direction, by ordinal.
+	 */
+	private static final Direction[] OPPOSITES = { Direction.SOUTH,
+			Direction.NORTH, Direction.EAST, Direction.WEST };
+
+	/**
+	 * The maximum amount of squares of a board for which the scratch space
+	 * holds an entry for every square.
+	 */
+	static final int DENSE_SQUARES = 1 << 20;
+
+	/**
+	 * The initial capacity of the hash table and the queue for large boards.
+	 */
+	private static final int SPARSE_CAPACITY = 1 << 10;
+
+	/**
+	 * Multiplier spreading square ids over the hash table.
+	 */
+	private static final int HASH = 0x9E3779B9;
+
+	/**
+	 * The scratch space of the current thread.
+	 */
+	private static final ThreadLocal<BreadthFirstSearch> SCRATCH = new ThreadLocal<BreadthFirstSearch>() {
+		@Override
+		protected BreadthFirstSearch initialValue() {
+			return new BreadthFirstSearch();
+		}
+	};
+
+	/**
+	 * The ids of the squares to visit, in order.
+	 */
+	private int[] queue = new int[0];
+
+	/**
+	 * The generation in which every square was reached, by id.
+	 */
+	private int[] reached = new int[0];
+
+	/**
+	 * The ordinal of the direction in which every square was entered, by id.
+	 */
+	private byte[] entered = new byte[0];
+
+	/**
+	 * The ids of the squares reached on a large board, by slot of the hash
+	 * table.
+	 */
+	private int[] keys = new int[0];
+
+	/**
+	 * The generation in which every slot of the hash table was filled.
+	 */
+	private int[] stamps = new int[0];
+
+	/**
+	 * The ordinal of the direction in which the square in every slot of the
+	 * hash table was entered.
+	 */
+	private byte[] values = new byte[0];
+
+	/**
+	 * The amount of slots of the hash table filled in the current search.
+	 */
+	private int size;
+
+	/**
+	 * <code>true</code> iff the current search keeps the squares reached in
+	 * the hash table.
+	 */
+	private boolean sparse;
+
+	/**
+	 * The number of the current search. Squares are reached in the current
+	 * search iff their entry in {@link #reached}, or the stamp of their slot
+	 * in the hash table, equals this number, so the arrays do not have to be
+	 * cleared between searches.
+	 */
+	private int generation;
+
+	private BreadthFirstSearch() {
+	}
+
+	/**
+	 * @return The scratch space of the current thread.
+	 */
+	static BreadthFirstSearch get() {
+		return SCRATCH.get();
+	}
+
+	/**
+	 * Prepares the scratch space for a new search on a board.
+	 *
+	 * @param board
+	 *            The board to search.
+	 */
+	private void prepare(Board board) {
+		int n = board.getSquareCount();
+		sparse = n > DENSE_SQUARES;
+		if (sparse) {
+			if (keys.length == 0) {
+				keys = new int[SPARSE_CAPACITY];
+				stamps = new int[SPARSE_CAPACITY];
+				values = new byte[SPARSE_CAPACITY];
+			}
+			size = 0;
+		} else if (reached.length < n) {
+			queue = new int[Math.max(n, queue.length)];
+			reached = new int[n];
+			entered = new byte[n];
+		}
+		generation++;
+		if (generation == 0) {
+			Arrays.fill(reached, 0);
+			Arrays.fill(stamps, 0);
+			generation++;
+		}
+	}
+
+	/**
+	 * @return The amount of squares the scratch space can currently hold
+	 *         without growing.
+	 */
+	int capacity() {
+		return Math.max(reached.length, keys.length / 2);
+	}
+
+	/**
+	 * Marks a square as reached in the current search, unless it already
+	 * was.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @param direction
+	 *            The ordinal of the direction in which the square is entered.
+	 * @return <code>true</code> iff the square was not reached before.
+	 */
+	private boolean reach(int id, int direction) {
+		if (!sparse) {
+			if (reached[id] == generation) {
+				return false;
+			}
+			reached[id] = generation;
+			entered[id] = (byte) direction;
+			return true;
+		}
+		int slot = slot(id);
+		if (stamps[slot] == generation) {
+			return false;
+		}
+		if (2 * (size + 1) > keys.length) {
+			grow();
+			slot = slot(id);
+		}
+		keys[slot] = id;
+		stamps[slot] = generation;
+		values[slot] = (byte) direction;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the direction in which a square reached in the current search
+	 * was entered.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return The direction in which the square was entered.
+	 */
+	private Direction enteredAt(int id) {
+		if (!sparse) {
+			return DIRECTIONS[entered[id]];
+		}
+		int slot = slot(id);
+		assert stamps[slot] == generation;
+		return DIRECTIONS[values[slot]];
+	}
+
+	/**
+	 * Finds the slot of the hash table holding a square, or the empty slot it
+	 * would be stored in.
+	 *
+	 * @param id
+	 *            The id of the square.
+	 * @return The slot for the square.
+	 */
+	private int slot(int id) {
+		int mask = keys.length - 1;
+		int hash = id * HASH;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (stamps[slot] == generation && keys[slot] != id) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Doubles the capacity of the hash table, keeping the squares reached in
+	 * the current search.
+	 */
+	private void grow() {
+		int[] oldKeys = keys;
+		int[] oldStamps = stamps;
+		byte[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		stamps = new int[oldKeys.length * 2];
+		values = new byte[oldKeys.length * 2];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldStamps[i] == generation) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				stamps[slot] = generation;
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Adds a square to the queue, growing the queue if needed.
+	 *
+	 * @param tail
+	 *            The position of the end of the queue.
+	 * @param id
+	 *            The id of the square.
+	 * @return The new position of the end of the queue.
+	 */
+	private int enqueue(int tail, int id) {
+		if (tail == queue.length) {
+			queue = Arrays.copyOf(queue, Math.max(SPARSE_CAPACITY, tail * 2));
+		}
+		queue[tail] = id;
+		return tail + 1;
+	}
+
+	/**
+	 * Searches from a square until the destination is reached. Squares are
+	 * only entered if the traveller is allowed to occupy them.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param traveller
+	 *            The traveller, or <code>null</code> to ignore terrain.
+	 * @return <code>true</code> iff the destination was reached.
+	 */
+	private boolean search(Square from, Square to, Unit traveller) {
+		Board board = from.getBoard();
+		assert board != null : "Square must be part of a board.";
+		prepare(board);
+		BitSet terrain = null;
+		if (traveller != null) {
+			terrain = board.getAccessibleSquares(traveller);
+		}
+
+		int target = to.getId();
+		int head = 0;
+		int tail = 0;
+		reach(from.getId(), 0);
+		tail = enqueue(tail, from.getId());
+		while (head < tail) {
+			int current = queue[head++];
+			if (current == target) {
+				return true;
+			}
+			for (Direction d : DIRECTIONS) {
+				int id = board.getNeighbourId(current, d);
+				if ((terrain == null || terrain.get(id))
+						&& reach(id, d.ordinal())) {
+					tail = enqueue(tail, id);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Calculates the shortest path, as
+	 * {@link Navigation#shortestPath(Square, Square, Unit)}.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param traveller
+	 *            The traveller, or <code>null</code> to ignore terrain.
+	 * @return The shortest path to the destination or <code>null</code> if no
+	 *         such path could be found.
+	 */
+	List<Direction> shortestPath(Square from, Square to, Unit traveller) {
+		if (from.getBoard() == null) {
+			return linkedPath(from, to, traveller);
+		}
+		if (!search(from, to, traveller)) {
+			return null;
+		}
+		Board board = from.getBoard();
+		List<Direction> path = new ArrayList<>();
+		int current = to.getId();
+		while (current != from.getId()) {
+			Direction d = enteredAt(current);
+			path.add(d);
+			current = board.getNeighbourId(current, OPPOSITES[d.ordinal()]);
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	/**
+	 * Calculates the first step of the shortest path without building the
+	 * path itself.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param traveller
+	 *            The traveller, or <code>null</code> to ignore terrain.
+	 * @return The direction of the first step or <code>null</code> if no such
+	 *         path could be found or the destination is the starting square.
+	 */
+	Direction nextHop(Square from, Square to, Unit traveller) {
+		if (from == to) {
+			return null;
+		}
+		if (from.getBoard() == null) {
+			List<Direction> path = linkedPath(from, to, traveller);
+			if (path == null) {
+				return null;
+			}
+			return path.get(0);
+		}
+		if (!search(from, to, traveller)) {
+			return null;
+		}
+		Board board = from.getBoard();
+		int current = to.getId();
+		while (true) {
+			Direction d = enteredAt(current);
+			int previous = board.getNeighbourId(current, OPPOSITES[d.ordinal()]);
+			if (previous == from.getId()) {
+				return d;
+			}
+			current = previous;
+		}
+	}
+
+	/**
+	 * Calculates the shortest path between squares that are not part of a
+	 * board, following the links of the squares.
+	 *
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param traveller
+	 *            The traveller, or <code>null</code> to ignore terrain.
+	 * @return The shortest path to the destination or <code>null</code> if no
+	 *         such path could be found.
+	 */
+	private static List<Direction> linkedPath(Square from, Square to,
+			Unit traveller) {
+		Map<Square, Square> previous = new HashMap<>();
+		Deque<Square> toDo = new ArrayDeque<>();
+		previous.put(from, from);
+		toDo.add(from);
+		while (!toDo.isEmpty()) {
+			Square current = toDo.poll();
+			if (current == to) {
+				return linkedPath(previous, from, to);
+			}
+			for (Direction d : DIRECTIONS) {
+				Square next = current.getSquareAt(d);
+				if (next != null && !previous.containsKey(next)
+						&& (traveller == null || next.isAccessibleTo(traveller))) {
+					previous.put(next, current);
+					toDo.add(next);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Builds the path to a square reached by following links.
+	 *
+	 * @param previous
+	 *            The square every reached square was entered from.
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @return The directions leading from the start to the destination.
+	 */
+	private static List<Direction> linkedPath(Map<Square, Square> previous,
+			Square from, Square to) {
+		List<Direction> path = new ArrayList<>();
+		Square current = to;
+		while (current != from) {
+			Square parent = previous.get(current);
+			for (Direction d : DIRECTIONS) {
+				if (parent.getSquareAt(d) == current) {
+					path.add(d);
+					break;
+				}
+			}
+			current = parent;
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	/**
+	 * Finds the nearest unit of the given type, as
+	 * {@link Navigation#findNearest(Class, Square)}.
+	 *
+	 * @param type
+	 *            The type of unit to search for.
+	 * @param currentLocation
+	 *            The starting location for the search.
+	 * @return The nearest unit of the given type, or <code>null</code> if no
+	 *         such unit could be found.
+	 */
+	Unit findNearest(Class<? extends Unit> type, Square currentLocation) {
+		Board board = currentLocation.getBoard();
+		if (board == null) {
+			return findLinked(type, currentLocation);
+		}
+		prepare(board);
+
+		int head = 0;
+		int tail = 0;
+		reach(currentLocation.getId(), 0);
+		tail = enqueue(tail, currentLocation.getId());
+		while (head < tail) {
+			int current = queue[head++];
+			Unit unit = Navigation.findUnit(type, board.squareWithId(current));
+			if (unit != null) {
+				return unit;
+			}
+			for (Direction d : DIRECTIONS) {
+				int id = board.getNeighbourId(current, d);
+				if (reach(id, 0)) {
+					tail = enqueue(tail, id);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the nearest unit of the given type from a square that is not
+	 * part of a board, following the links of the squares.
+	 *
+	 * @param type
+	 *            The type of unit to search for.
+	 * @param currentLocation
+	 *            The starting location for the search.
+	 * @return The nearest unit of the given type, or <code>null</code> if no
+	 *         such unit could be found.
+	 */
+	private static Unit findLinked(Class<? extends Unit> type,
+			Square currentLocation) {
+		Set<Square> reached = new HashSet<>();
+		Deque<Square> toDo = new ArrayDeque<>();
+		reached.add(currentLocation);
+		toDo.add(currentLocation);
+		while (!toDo.isEmpty()) {
+			Square square = toDo.poll();
+			Unit unit = Navigation.findUnit(type, square);
+			if (unit != null) {
+				return unit;
+			}
+			for (Direction d : DIRECTIONS) {
+				Square next = square.getSquareAt(d);
+				if (next != null && reached.add(next)) {
+					toDo.add(next);
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -3,9 +3,9 @@ package nl.tudelft.jpacman.npc.ghost;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.FlowField;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
@@ -88,10 +88,10 @@ public class Clyde extends Ghost {
 	@Override
 	public long getInterval() {
 		if(!getAcceleration()){
-			return MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 		else{
-			return ACCELERATED_MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return ACCELERATED_MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 	}
 
@@ -114,6 +114,19 @@ public class Clyde extends Ghost {
 	 */
 	@Override
 	public Direction nextMove() {
+		FlowField field = Navigation.nearestFlowField(Player.class,
+				getSquare(), this);
+		if (field != null) {
+			FlowField.Step step = field.stepFrom(getSquare());
+			if (step == null) {
+				return randomMove();
+			}
+			if (step.getDistance() <= SHYNESS) {
+				return OPPOSITES.get(step.getDirection());
+			}
+			return step.getDirection();
+		}
+
 		Square target = Navigation.findNearest(Player.class, getSquare())
 				.getSquare();
 		if (target == null) {
@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.Random;
+
+/**
+ * A random generator whose state is a plain <code>long</code>, so it can be
+ * copied in constant time. It uses the same linear congruential formula as
+ * {@link Random}, so it produces the same values as a {@link Random} with the
+ * same seed. Unlike {@link Random}, it is not safe for use by several threads
+ * at once; a ghost only draws from it while it is moving.
+ */
+final class CopyableRandom extends Random {
+
+	/**
+	 * Default serialisation ID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The multiplier of the formula.
+	 */
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+
+	/**
+	 * The increment of the formula.
+	 */
+	private static final long ADDEND = 0xBL;
+
+	/**
+	 * The mask keeping the 48 bits of the state.
+	 */
+	private static final long MASK = (1L << 48) - 1;
+
+	/**
+	 * The source of the seeds of generators created without one.
+	 */
+	private static final Random SEEDS = new Random();
+
+	/**
+	 * The state of the generator.
+	 */
+	private long state;
+
+	/**
+	 * Creates a new generator with a seed of its own.
+	 */
+	CopyableRandom() {
+		this(SEEDS.nextLong());
+	}
+
+	/**
+	 * Creates a new generator.
+	 *
+	 * @param seed
+	 *            The initial seed.
+	 */
+	CopyableRandom(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * Creates a copy of a generator.
+	 *
+	 * @param other
+	 *            The generator to copy.
+	 */
+	private CopyableRandom(CopyableRandom other) {
+		super(0L);
+		this.state = other.state;
+	}
+
+	/**
+	 * @return A new generator in the same state as this one, which produces
+	 *         the same values as this one will.
+	 */
+	CopyableRandom copy() {
+		return new CopyableRandom(this);
+	}
+
+	@Override
+	public synchronized void setSeed(long seed) {
+		super.setSeed(seed);
+		this.state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+}
@@ -1,18 +1,17 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
 
+import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.UnitKind;
+import nl.tudelft.jpacman.level.TimedEffects;
 import nl.tudelft.jpacman.npc.DirectionCharacter;
 import nl.tudelft.jpacman.npc.NPC;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
-import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -21,16 +20,26 @@ import nl.tudelft.jpacman.sprite.Sprite;
  * @author Jeroen Roosen 
  */
 public abstract class Ghost extends NPC implements DirectionCharacter {
+
+	/**
+	 * The directions in the order in which they are considered.
+	 */
+	private static final Direction[] DIRECTIONS = Direction.values();
 	
 	/**
 	 * The sprite map, one sprite for each direction.
 	 */
 	private Map<Direction, Sprite> sprites;
+
+	/**
+	 * The sprite map while no effect changes it.
+	 */
+	private Map<Direction, Sprite> normalSprites;
 	
 	/**
 	 * The animation to play when this ghost explodes.
 	 */
-	private final AnimatedSprite explodeSprite;
+	private AnimatedSprite explodeSprite;
 	
 	/**
 	 * Whether this ghost has exploded or not.
@@ -42,6 +51,11 @@ public abstract class Ghost extends NPC implements DirectionCharacter {
 	 */
 	private boolean mobile = true;
 
+	/**
+	 * The source of the random choices of this ghost.
+	 */
+	private CopyableRandom random = new CopyableRandom();
+
 	/**
 	 * Creates a new ghost.
 	 * 
@@ -49,9 +63,11 @@ public abstract class Ghost extends NPC implements DirectionCharacter {
 	 * @param explodeAnimation the animation to play when this ghost explodes.
 	 */
 	protected Ghost(Map<Direction, Sprite> spriteMap, AnimatedSprite explodeAnimation) {
+		super(UnitKind.GHOST);
 		this.explodeSprite = explodeAnimation;
 		this.exploded = false;
 		this.sprites = spriteMap;
+		this.normalSprites = spriteMap;
 	}
 
 	@Override
@@ -62,6 +78,45 @@ public abstract class Ghost extends NPC implements DirectionCharacter {
 		return explodeSprite;
 	}
 	
+	/**
+	 * Returns the source of the random choices of this ghost, such as random
+	 * moves and variations in its interval.
+	 * @return the source of the random choices of this ghost.
+	 */
+	protected Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * Seeds the source of the random choices of this ghost, for instance to
+	 * make a game reproducible. The ghost then makes the same choices as
+	 * when drawing from a {@link Random} with the same seed.
+	 * @param seed the new seed of the random choices.
+	 */
+	public void setSeed(long seed) {
+		this.random = new CopyableRandom(seed);
+	}
+
+	/**
+	 * {@inheritDoc} The copy gets a random generator of its own, in the same
+	 * state as the generator of this ghost, so it makes the same random
+	 * choices this ghost will make, without drawing from this ghost's
+	 * generator. It also gets animations of its own.
+	 */
+	@Override
+	public Ghost copy() {
+		Ghost copy = (Ghost) super.copy();
+		copy.random = random.copy();
+		copy.normalSprites = copySprites(normalSprites);
+		if (sprites == normalSprites) {
+			copy.sprites = copy.normalSprites;
+		} else {
+			copy.sprites = copySprites(sprites);
+		}
+		copy.explodeSprite = explodeSprite.copy();
+		return copy;
+	}
+
 	/**
 	 * Returns the sprites with respect to the Direction of this Ghost.
 	 * @returns the sprites with respect to the Direction of this Ghost.
@@ -78,6 +133,11 @@ public abstract class Ghost extends NPC implements DirectionCharacter {
 		this.sprites = sprites;
 	}
 
+	@Override
+	public void resetSprites() {
+		this.sprites = normalSprites;
+	}
+
 	/**
 	 * Determines a possible move in a random direction.
 	 * 
@@ -86,32 +146,45 @@ public abstract class Ghost extends NPC implements DirectionCharacter {
 	 */
 	protected Direction randomMove() {
 		Square square = getSquare();
-		List<Direction> directions = new ArrayList<>();
-		for (Direction d : Direction.values()) {
-			if (square.getSquareAt(d).isAccessibleTo(this)) {
-				directions.add(d);
+		Board board = square.getBoard();
+		BitSet terrain = null;
+		if (board != null) {
+			terrain = board.getAccessibleSquares(this);
+		}
+		Direction[] directions = new Direction[DIRECTIONS.length];
+		int count = 0;
+		for (Direction d : DIRECTIONS) {
+			boolean accessible;
+			if (terrain == null) {
+				accessible = square.getSquareAt(d).isAccessibleTo(this);
+			} else {
+				accessible = terrain.get(board.getNeighbourId(square.getId(), d));
+			}
+			if (accessible) {
+				directions[count++] = d;
 			}
 		}
-		if (directions.isEmpty()) {
+		if (count == 0) {
 			return null;
 		}
-		int i = new Random().nextInt(directions.size());
-		return directions.get(i);
+		return directions[random.nextInt(count)];
 	}
 	
-	public void temporaryAcceleration(int time)
+	/**
+	 * Speeds up this ghost for a while.
+	 * @param time the time in seconds for which this ghost is accelerated
+	 * @param angrySprites the sprites of this ghost while it is accelerated
+	 * @param effects the effects of the level, on which the acceleration ends
+	 */
+	public void temporaryAcceleration(int time, Map<Direction, Sprite> angrySprites,
+			TimedEffects effects)
 	{
-		Map<Direction, Sprite> oldSprites = sprites;
 		setAcceleration(true);
-		setSprites(new PacManSprites().getAngryGhostSprite());
-		TimerTask timerTask = new TimerTask() {
-		    public void run() {
-		    	setAcceleration(false);
-		        setSprites(oldSprites);
-		    }
-		};
-		Timer timer = new Timer();
-		timer.schedule(timerTask, time * 1000);
+		setSprites(angrySprites);
+		effects.schedule(time * 1000, this, ghost -> {
+			ghost.setAcceleration(false);
+			ghost.resetSprites();
+		});
 	}
 
 	/**
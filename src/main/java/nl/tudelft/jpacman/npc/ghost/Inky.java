@@ -2,7 +2,6 @@ package nl.tudelft.jpacman.npc.ghost;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
@@ -75,10 +74,10 @@ public class Inky extends Ghost {
 	@Override
 	public long getInterval() {
 		if(!getAcceleration()){
-			return MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 		else{
-			return ACCELERATED_MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return ACCELERATED_MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 	}
 
@@ -141,14 +140,11 @@ public class Inky extends Ghost {
 			destination = playerDestination.getSquareAt(d);
 		}
 
-		List<Direction> path = Navigation.shortestPath(getSquare(),
-				destination, this);
-		if (path != null && !path.isEmpty()) {
-			Direction d = path.get(0);
+		Direction d = Navigation.nextHop(getSquare(), destination, this);
+		if (d != null) {
 			return d;
 		}
-		Direction d = randomMove();
-		return d;
+		return randomMove();
 	}
 	// CHECKSTYLE:ON
 
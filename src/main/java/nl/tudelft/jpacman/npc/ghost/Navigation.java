@@ -1,11 +1,12 @@
 package nl.tudelft.jpacman.npc.ghost;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceTable;
+import nl.tudelft.jpacman.board.FlowField;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Bridge;
@@ -21,10 +22,13 @@ public final class Navigation {
 	}
 	
 	/**
-	 * Calculates the shortest path. This is done by BFS. This search ensures
+	 * Calculates the shortest path. This is done by BFS, unless the board has
+	 * a {@link DistanceTable} that applies to the traveller, in which case the
+	 * path is read from the table. This search ensures
 	 * the traveller is allowed to occupy the squares on the way, or returns the
 	 * shortest path to the square regardless of terrain if no traveller is
-	 * specified.
+	 * specified. Squares that are not part of a board are searched by
+	 * following their links.
 	 * 
 	 * @param from
 	 *            The starting square.
@@ -45,38 +49,105 @@ public final class Navigation {
 			return new ArrayList<>();
 		}
 
-		List<Node> targets = new ArrayList<>();
-		Set<Square> visited = new HashSet<>();
-		targets.add(new Node(null, from, null));
-		while (!targets.isEmpty()) {
-			Node n = targets.remove(0);
-			Square s = n.getSquare();
-			if (s == to) {
-				List<Direction> path = n.getPath();
-				return path;
-			}
-			visited.add(s);
-			addNewTargets(traveller, targets, visited, n, s);
+		DistanceTable table = distanceTable(from, traveller);
+		if (table != null) {
+			return table.path(from, to);
 		}
-		return null;
+
+		return BreadthFirstSearch.get().shortestPath(from, to, traveller);
+	}
+
+	/**
+	 * Calculates the first step of the shortest path, as
+	 * {@link #shortestPath(Square, Square, Unit)} would find it. When the board
+	 * has a {@link DistanceTable} that applies to the traveller this takes
+	 * constant time.
+	 * 
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @param traveller
+	 *            The traveller attempting to reach the destination, or
+	 *            <code>null</code> to ignore terrain.
+	 * @return The direction of the first step towards the destination, or
+	 *         <code>null</code> if no such path could be found or the
+	 *         destination is the current square.
+	 */
+	public static Direction nextHop(Square from, Square to, Unit traveller) {
+		if (from == to) {
+			return null;
+		}
+
+		DistanceTable table = distanceTable(from, traveller);
+		if (table != null) {
+			return table.nextHop(from, to);
+		}
+
+		return BreadthFirstSearch.get().nextHop(from, to, traveller);
 	}
 
-	private static void addNewTargets(Unit traveller, List<Node> targets,
-			Set<Square> visited, Node n, Square s) {
-		for (Direction d : Direction.values()) {
-			Square target = s.getSquareAt(d);
-			if (!visited.contains(target)
-					&& (traveller == null || target
-							.isAccessibleTo(traveller))) {
-				targets.add(new Node(d, target, n));
+	/**
+	 * Returns the distance table that can answer queries starting at a square
+	 * for the given traveller.
+	 * 
+	 * @param from
+	 *            The starting square.
+	 * @param traveller
+	 *            The traveller.
+	 * @return The distance table of the board of the square, or
+	 *         <code>null</code> if there is none or it does not apply.
+	 */
+	private static DistanceTable distanceTable(Square from, Unit traveller) {
+		Board board = from.getBoard();
+		if (board == null) {
+			return null;
+		}
+		DistanceTable table = board.getDistanceTable();
+		if (table == null || !table.covers(from) || !table.supports(traveller)) {
+			return null;
+		}
+		return table;
+	}
+
+	/**
+	 * Finds the flow field leading to the nearest unit of the given type that
+	 * the traveller can follow from its square.
+	 * 
+	 * @param type
+	 *            The type of unit the field should lead to.
+	 * @param from
+	 *            The square of the traveller.
+	 * @param traveller
+	 *            The traveller.
+	 * @return The field leading to the nearest reachable unit of the given
+	 *         type, or <code>null</code> if no registered field applies.
+	 */
+	public static FlowField nearestFlowField(Class<? extends Unit> type,
+			Square from, Unit traveller) {
+		Board board = from.getBoard();
+		if (board == null) {
+			return null;
+		}
+		FlowField nearest = null;
+		int best = Integer.MAX_VALUE;
+		for (FlowField field : board.getFlowFields()) {
+			int distance = field.distanceFrom(from);
+			if (distance >= 0 && distance < best
+					&& type.isInstance(field.getTarget())
+					&& field.supports(traveller)) {
+				nearest = field;
+				best = distance;
 			}
 		}
+		return nearest;
 	}
 
 	/**
-	 * Finds the nearest unit of the given type and returns its location. This
-	 * method will perform a breadth first search starting from the given
-	 * square.
+	 * Finds the nearest unit of the given type and returns its location. The
+	 * candidates are taken from the units on the board of the square; only
+	 * if several of them are nearest, a breadth first search starting from
+	 * the given square decides between them.
 	 * 
 	 * @param type
 	 *            The type of unit to search for.
@@ -87,26 +158,53 @@ public final class Navigation {
 	 */
 	public static Unit findNearest(Class<? extends Unit> type,
 			Square currentLocation) {
-		List<Square> toDo = new ArrayList<>();
-		Set<Square> visited = new HashSet<>();
-
-		toDo.add(currentLocation);
+		Board board = currentLocation.getBoard();
+		if (board == null) {
+			return BreadthFirstSearch.get().findNearest(type, currentLocation);
+		}
 
-		while (!toDo.isEmpty()) {
-			Square square = toDo.remove(0);
-			Unit unit = findUnit(type, square);
-			if (unit != null) {
-				return unit;
+		Unit nearest = null;
+		int best = Integer.MAX_VALUE;
+		boolean tied = false;
+		for (Unit candidate : board.getUnits(type)) {
+			Square square = candidate.getSquare();
+			if (square == null || square.getBoard() != board) {
+				continue;
 			}
-			visited.add(square);
-			for (Direction d : Direction.values()) {
-				Square newTarget = square.getSquareAt(d);
-				if (!visited.contains(newTarget) && !toDo.contains(newTarget)) {
-					toDo.add(newTarget);
-				}
+			int distance = gridDistance(board, currentLocation, square);
+			if (distance < best) {
+				nearest = candidate;
+				best = distance;
+				tied = false;
+			} else if (distance == best) {
+				tied = true;
 			}
 		}
-		return null;
+		if (tied) {
+			return BreadthFirstSearch.get().findNearest(type, currentLocation);
+		}
+		return nearest;
+	}
+
+	/**
+	 * Returns the amount of steps between two squares on a board when terrain
+	 * is ignored. As the borders of a board wrap around, this is the distance
+	 * on a torus.
+	 * 
+	 * @param board
+	 *            The board of both squares.
+	 * @param from
+	 *            The starting square.
+	 * @param to
+	 *            The destination.
+	 * @return The amount of steps from the starting square to the destination.
+	 */
+	private static int gridDistance(Board board, Square from, Square to) {
+		int width = board.getWidth();
+		int height = board.getHeight();
+		int dx = Math.abs(from.getId() % width - to.getId() % width);
+		int dy = Math.abs(from.getId() / width - to.getId() / width);
+		return Math.min(dx, width - dx) + Math.min(dy, height - dy);
 	}
 
 	/**
@@ -127,83 +225,4 @@ public final class Navigation {
 		}
 		return null;
 	}
-
-	/**
-	 * Helper class to keep track of the path.
-	 * 
-	 * @author Jeroen Roosen 
-	 */
-	private static final class Node {
-
-		/**
-		 * The direction for this node, which is <code>null</code> for the root
-		 * node.
-		 */
-		private final Direction direction;
-
-		/**
-		 * The parent node, which is <code>null</code> for the root node.
-		 */
-		private final Node parent;
-
-		/**
-		 * The square associated with this node.
-		 */
-		private final Square square;
-
-		/**
-		 * Creates a new node.
-		 * 
-		 * @param d
-		 *            The direction, which is <code>null</code> for the root
-		 *            node.
-		 * @param s
-		 *            The square.
-		 * @param p
-		 *            The parent node, which is <code>null</code> for the root
-		 *            node.
-		 */
-		private Node(Direction d, Square s, Node p) {
-			this.direction = d;
-			this.square = s;
-			this.parent = p;
-		}
-
-		/**
-		 * @return The direction for this node, or <code>null</code> if this
-		 *         node is a root node.
-		 */
-		private Direction getDirection() {
-			return direction;
-		}
-
-		/**
-		 * @return The square for this node.
-		 */
-		private Square getSquare() {
-			return square;
-		}
-
-		/**
-		 * @return The parent node, or <code>null</code> if this node is a root
-		 *         node.
-		 */
-		private Node getParent() {
-			return parent;
-		}
-
-		/**
-		 * Returns the list of values from the root of the tree to this node.
-		 * 
-		 * @return The list of values from the root of the tree to this node.
-		 */
-		private List<Direction> getPath() {
-			if (getParent() == null) {
-				return new ArrayList<>();
-			}
-			List<Direction> path = parent.getPath();
-			path.add(getDirection());
-			return path;
-		}
-	}
 }
@@ -1,10 +1,9 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.FlowField;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Player;
@@ -81,10 +80,10 @@ public class Pinky extends Ghost {
 	@Override
 	public long getInterval() {
 		if(!getAcceleration()){
-			return MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 		else{
-			return ACCELERATED_MOVE_INTERVAL + new Random().nextInt(INTERVAL_VARIATION);
+			return ACCELERATED_MOVE_INTERVAL + getRandom().nextInt(INTERVAL_VARIATION);
 		}
 	}
 
@@ -104,7 +103,14 @@ public class Pinky extends Ghost {
 	 */
 	@Override
 	public Direction nextMove() {
-		Unit player = Navigation.findNearest(Player.class, getSquare());
+		FlowField field = Navigation.nearestFlowField(Player.class,
+				getSquare(), this);
+		Unit player;
+		if (field != null) {
+			player = field.getTarget();
+		} else {
+			player = Navigation.findNearest(Player.class, getSquare());
+		}
 		if (player == null) {
 			Direction d = randomMove();
 			return d;
@@ -116,13 +122,10 @@ public class Pinky extends Ghost {
 			destination = destination.getSquareAt(targetDirection);
 		}
 
-		List<Direction> path = Navigation.shortestPath(getSquare(),
-				destination, this);
-		if (path != null && !path.isEmpty()) {
-			Direction d = path.get(0);
+		Direction d = Navigation.nextHop(getSquare(), destination, this);
+		if (d != null) {
 			return d;
 		}
-		Direction d = randomMove();
-		return d;
+		return randomMove();
 	}
 }
@@ -85,6 +85,27 @@ public class AnimatedSprite implements Sprite {
 		this.lastUpdate = System.currentTimeMillis();
 	}
 
+	/**
+	 * Creates a copy of this animation, sharing its frames, that is in the
+	 * same state as this animation but animates independently of it.
+	 * 
+	 * @return A new animation at the frame this animation is at.
+	 */
+	public AnimatedSprite copy() {
+		AnimatedSprite copy = new AnimatedSprite(animationFrames,
+				animationDelay, looping, animating);
+		copy.current = current;
+		copy.lastUpdate = lastUpdate;
+		return copy;
+	}
+
+	/**
+	 * @return <code>true</code> iff this sprite is animating.
+	 */
+	public boolean isAnimating() {
+		return animating;
+	}
+
 	/**
 	 * @return The frame of the current index.
 	 */
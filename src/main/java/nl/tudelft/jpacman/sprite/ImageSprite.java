@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.sprite;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
@@ -10,6 +11,12 @@ import java.awt.image.BufferedImage;
 /**
  * Basic implementation of a Sprite, it merely consists of a static image.
  * 
+ * <p>
+ * The image is scaled once to the size it is drawn at, and the scaled copy
+ * is kept until the sprite is drawn at another size, so drawing a sprite
+ * repeatedly at the size of the squares of a board is a plain copy.
+ * </p>
+ * 
  * @author Jeroen Roosen 
  */
 public class ImageSprite implements Sprite {
@@ -19,6 +26,12 @@ public class ImageSprite implements Sprite {
 	 */
 	private final Image image;
 
+	/**
+	 * The image scaled to the size this sprite was last drawn at, or
+	 * <code>null</code> if it was not drawn scaled yet.
+	 */
+	private volatile Scaled scaled;
+
 	/**
 	 * Creates a new sprite from an image.
 	 * 
@@ -31,8 +44,55 @@ public class ImageSprite implements Sprite {
 
 	@Override
 	public void draw(Graphics g, int x, int y, int width, int height) {
-		g.drawImage(image, x, y, x + width, y + height, 0, 0,
-				image.getWidth(null), image.getHeight(null), null);
+		if (width == image.getWidth(null) && height == image.getHeight(null)) {
+			g.drawImage(image, x, y, null);
+			return;
+		}
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		Scaled current = scaled;
+		if (current == null || current.width != width
+				|| current.height != height) {
+			current = new Scaled(width, height, scale(g, width, height));
+			scaled = current;
+		}
+		g.drawImage(current.image, x, y, null);
+	}
+
+	/**
+	 * Creates a copy of the image scaled to the given size, compatible with
+	 * the device drawn on if it is known.
+	 * 
+	 * @param g
+	 *            The graphics context the sprite is drawn on.
+	 * @param width
+	 *            The width of the copy.
+	 * @param height
+	 *            The height of the copy.
+	 * @return The scaled copy.
+	 */
+	private BufferedImage scale(Graphics g, int width, int height) {
+		int transparency = Transparency.TRANSLUCENT;
+		if (image instanceof Transparency) {
+			transparency = ((Transparency) image).getTransparency();
+		}
+		BufferedImage copy;
+		if (g instanceof Graphics2D) {
+			copy = ((Graphics2D) g).getDeviceConfiguration()
+					.createCompatibleImage(width, height, transparency);
+		} else {
+			copy = new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_ARGB);
+		}
+		Graphics target = copy.getGraphics();
+		try {
+			target.drawImage(image, 0, 0, width, height, 0, 0,
+					image.getWidth(null), image.getHeight(null), null);
+		} finally {
+			target.dispose();
+		}
+		return copy;
 	}
 
 	@Override
@@ -78,4 +138,41 @@ public class ImageSprite implements Sprite {
 		return image.getHeight(null);
 	}
 
+
+	/**
+	 * A copy of the image scaled to a certain size.
+	 */
+	private static final class Scaled {
+
+		/**
+		 * The width of the copy.
+		 */
+		private final int width;
+
+		/**
+		 * The height of the copy.
+		 */
+		private final int height;
+
+		/**
+		 * The scaled copy of the image.
+		 */
+		private final BufferedImage image;
+
+		/**
+		 * Creates a new scaled copy.
+		 * 
+		 * @param w
+		 *            The width of the copy.
+		 * @param h
+		 *            The height of the copy.
+		 * @param img
+		 *            The scaled copy of the image.
+		 */
+		private Scaled(int w, int h, BufferedImage img) {
+			this.width = w;
+			this.height = h;
+			this.image = img;
+		}
+	}
 }
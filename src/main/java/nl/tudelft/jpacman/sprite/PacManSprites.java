@@ -1,7 +1,9 @@
 package nl.tudelft.jpacman.sprite;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import nl.tudelft.jpacman.PacmanConfigurationException;
@@ -11,6 +13,13 @@ import nl.tudelft.jpacman.npc.ghost.GhostColor;
 /**
  * Sprite Store containing the classic Pac-Man sprites.
  * 
+ * <p>
+ * The images are decoded only once per process, see {@link SpriteStore}, so
+ * creating another instance of this store does not load anything again. The
+ * sprites should still be taken from the store handed to the factories.
+ * Every call returns new animations, so units do not share their state.
+ * </p>
+ * 
  * @author Jeroen Roosen 
  */
 public class PacManSprites extends SpriteStore {
@@ -104,28 +113,31 @@ public class PacManSprites extends SpriteStore {
 	 * @return The animation of a dying Pac-Man.
 	 */
 	public AnimatedSprite getPacManDeathAnimation() {
-		String resource = "/sprite/dead.png";
-
-		Sprite baseImage = loadSprite(resource);
-		AnimatedSprite animation = createAnimatedSprite(baseImage, PACMAN_DEATH_FRAMES,
-				ANIMATION_DELAY, false);
-		animation.setAnimating(false);
-
-		return animation;
+		return animation("/sprite/dead.png", PACMAN_DEATH_FRAMES);
 	}
 	
 	/**
 	 * @return The animation of an exploding Ghost.
 	 */
 	public AnimatedSprite getGhostExplodeAnimation() {
-		String resource = "/sprite/ghost_explode.png";
-		
-		Sprite baseImage = loadSprite(resource);
-		AnimatedSprite animation = createAnimatedSprite(baseImage, GHOST_EXPLODE_FRAMES,
-				ANIMATION_DELAY, false);
-		animation.setAnimating(false);
+		return animation("/sprite/ghost_explode.png", GHOST_EXPLODE_FRAMES);
+	}
 
-		return animation;
+	/**
+	 * Returns a new animation that is played once, of the frames that make
+	 * up the full width of an image.
+	 * 
+	 * @param resource
+	 *            The resource name of the sprite.
+	 * @param frames
+	 *            The number of frames in this sprite.
+	 * @return The animation, which is not animating yet.
+	 */
+	private AnimatedSprite animation(String resource, int frames) {
+		Sprite baseImage = loadSprite(resource);
+		Sprite[] animation = frames(resource, 0, baseImage.getWidth() / frames,
+				baseImage.getHeight(), frames);
+		return new AnimatedSprite(animation, ANIMATION_DELAY, false, false);
 	}
 
 	/**
@@ -140,14 +152,11 @@ public class PacManSprites extends SpriteStore {
 	private Map<Direction, Sprite> directionSprite(String resource, int frames) {
 		Map<Direction, Sprite> sprite = new HashMap<>();
 
-		Sprite baseImage = loadSprite(resource);
 		for (int i = 0; i < DIRECTIONS.length; i++) {
-			Sprite directionSprite = baseImage.split(0, i * SPRITE_SIZE, frames
-					* SPRITE_SIZE, SPRITE_SIZE);
-			AnimatedSprite animation = createAnimatedSprite(directionSprite,
-					frames, ANIMATION_DELAY, true);
-			animation.setAnimating(true);
-			sprite.put(DIRECTIONS[i], animation);
+			Sprite[] animation = frames(resource, i * SPRITE_SIZE,
+					SPRITE_SIZE, SPRITE_SIZE, frames);
+			sprite.put(DIRECTIONS[i], new AnimatedSprite(animation,
+					ANIMATION_DELAY, true, true));
 		}
 
 		return sprite;
@@ -259,6 +268,41 @@ public class PacManSprites extends SpriteStore {
 		return directionSprite("/sprite/bridge.png", NO_ANIMATION_FRAMES);
 	}
 
+	/**
+	 * Returns the loads of all sprites of this store, which can be run in any
+	 * order and in parallel, see {@link SpritePreloader}.
+	 * 
+	 * @return The loads, one for each image.
+	 */
+	List<Runnable> loads() {
+		List<Runnable> loads = new ArrayList<>();
+		loads.add(this::getPacmanSprites);
+		loads.add(this::getPacmanAngrySprite);
+		loads.add(this::getPacmanInvisibleSprite);
+		loads.add(this::getPacmanParalizedSprites);
+		loads.add(this::getParalizedGhostSprite);
+		loads.add(this::getAngryGhostSprite);
+		loads.add(this::getPacManDeathAnimation);
+		loads.add(this::getGhostExplodeAnimation);
+		for (GhostColor color : GhostColor.values()) {
+			loads.add(() -> getGhostSprite(color));
+		}
+		loads.add(this::getWallSprite);
+		loads.add(this::getGroundSprite);
+		loads.add(this::getPelletSprite);
+		loads.add(this::getHoleSprite);
+		loads.add(this::getPomgranateSprite);
+		loads.add(this::getBellPepperSprite);
+		loads.add(this::getTomatoSprite);
+		loads.add(this::getKidneyBeanSprite);
+		loads.add(this::getPotatoSprite);
+		loads.add(this::getFishSprite);
+		loads.add(this::getBulletSprite);
+		loads.add(this::getTeleportSprite);
+		loads.add(this::getBridgeSprites);
+		return loads;
+	}
+
 	/**
 	 * Overloads the default sprite loading, ignoring the exception. This class
 	 * assumes all sprites are provided, hence the exception will be thrown as a
@@ -274,4 +318,30 @@ public class PacManSprites extends SpriteStore {
 			throw new PacmanConfigurationException("Unable to load sprite: " + resource, e);
 		}
 	}
+
+	/**
+	 * Loads a row of frames, see
+	 * {@link #loadFrames(String, int, int, int, int)}, throwing a
+	 * {@link RuntimeException} if they could not be loaded.
+	 * 
+	 * @param resource
+	 *            The resource path.
+	 * @param y
+	 *            The y position of the row in the image.
+	 * @param frameWidth
+	 *            The width of a frame.
+	 * @param frameHeight
+	 *            The height of a frame.
+	 * @param frames
+	 *            The amount of frames.
+	 * @return The shared frames.
+	 */
+	private Sprite[] frames(String resource, int y, int frameWidth,
+			int frameHeight, int frames) {
+		try {
+			return loadFrames(resource, y, frameWidth, frameHeight, frames);
+		} catch (IOException e) {
+			throw new PacmanConfigurationException("Unable to load sprite: " + resource, e);
+		}
+	}
 }
@@ -0,0 +1,113 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads sprites in parallel on a fork-join pool, so the images are decoded
+ * and split while the game is being set up, instead of one by one when they
+ * are first used. As the decoded images are shared by all stores, see
+ * {@link SpriteStore}, the sprites taken from any store afterwards are
+ * readily available.
+ */
+public final class SpritePreloader {
+
+	/**
+	 * The task running all loads.
+	 */
+	private final ForkJoinTask<?> task;
+
+	/**
+	 * The time in nanoseconds it took to run all loads, or <code>-1</code> if
+	 * they did not finish yet.
+	 */
+	private volatile long elapsed = -1L;
+
+	/**
+	 * Starts running loads on a pool.
+	 *
+	 * @param loads
+	 *            The loads, each of which loads one or more sprites.
+	 * @param pool
+	 *            The pool to run the loads on.
+	 */
+	private SpritePreloader(Collection<? extends Runnable> loads,
+			ForkJoinPool pool) {
+		final long start = System.nanoTime();
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>(loads.size());
+		for (Runnable load : loads) {
+			tasks.add(ForkJoinTask.adapt(load));
+		}
+		this.task = pool.submit(new Runnable() {
+
+			@Override
+			public void run() {
+				ForkJoinTask.invokeAll(tasks);
+				elapsed = System.nanoTime() - start;
+			}
+		});
+	}
+
+	/**
+	 * Starts loading all sprites of a store.
+	 *
+	 * @param store
+	 *            The store to load the sprites of.
+	 * @param pool
+	 *            The pool to load the sprites on.
+	 * @return The running preloader.
+	 */
+	public static SpritePreloader start(PacManSprites store, ForkJoinPool pool) {
+		assert store != null;
+		return start(store.loads(), pool);
+	}
+
+	/**
+	 * Starts running loads in parallel.
+	 *
+	 * @param loads
+	 *            The loads, each of which loads one or more sprites.
+	 * @param pool
+	 *            The pool to run the loads on.
+	 * @return The running preloader.
+	 */
+	public static SpritePreloader start(Collection<? extends Runnable> loads,
+			ForkJoinPool pool) {
+		assert loads != null;
+		assert pool != null;
+		return new SpritePreloader(loads, pool);
+	}
+
+	/**
+	 * Waits until all sprites are loaded. A load that failed is rethrown.
+	 *
+	 * @return The time in milliseconds it took to load all sprites.
+	 */
+	public long await() {
+		task.join();
+		return getElapsedMillis();
+	}
+
+	/**
+	 * @return <code>true</code> iff all loads finished.
+	 */
+	public boolean isDone() {
+		return task.isDone();
+	}
+
+	/**
+	 * @return The time in milliseconds it took to load all sprites, or
+	 *         <code>-1</code> if they are not loaded yet.
+	 */
+	public long getElapsedMillis() {
+		long nanos = elapsed;
+		if (nanos < 0) {
+			return -1L;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+}
@@ -3,35 +3,56 @@ package nl.tudelft.jpacman.sprite;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.imageio.ImageIO;
 
 /**
  * Utility to load {@link Sprite}s.
  * 
+ * <p>
+ * Images are decoded once per process and shared by all stores, as are the
+ * frames split from them. Sprites loaded from images and frames do not
+ * change, so they can be used by any thread; every animation made from
+ * frames has a state of its own.
+ * </p>
+ * 
+ * <p>
+ * The caches hold a future per resource, which is put in place before the
+ * image is decoded, so threads loading different resources never wait for
+ * each other, and threads loading the same resource wait for the one thread
+ * decoding it.
+ * </p>
+ * 
  * @author Jeroen Roosen 
  */
 public class SpriteStore {
 	
 	/**
 	 * We only need to load images once, so we keep track
-	 * of them in a hash map.
+	 * of them in a hash map shared by all stores.
+	 */
+	private static final ConcurrentMap<String, CompletableFuture<Sprite>> SPRITES = new ConcurrentHashMap<>();
+
+	/**
+	 * The frames split from the images, by resource and position.
 	 */
-	private Map<String, Sprite> spriteMap;
+	private static final ConcurrentMap<String, CompletableFuture<Sprite[]>> FRAMES = new ConcurrentHashMap<>();
 	
 	/**
 	 * Create a new sprite store.
 	 */
 	public SpriteStore() {
-		spriteMap = new HashMap<String, Sprite>();
+		super();
 	}
 	
 	/**
 	 * Loads a sprite from a resource on the class path.
-	 * Sprites are loaded once, and then stored in the store
-	 * so that they can be efficiently retrieved.
+	 * Sprites are loaded once, and then stored
+	 * so that they can be efficiently retrieved by all stores.
 	 * 
 	 * @param resource
 	 *            The resource path.
@@ -40,12 +61,104 @@ public class SpriteStore {
 	 *             When the resource could not be loaded.
 	 */
 	public Sprite loadSprite(String resource) throws IOException {
-		Sprite result = spriteMap.get(resource);
-		if (result == null) {
-			result = loadSpriteFromResource(resource);
-			spriteMap.put(resource, result);
+		return load(SPRITES, resource, () -> loadSpriteFromResource(resource));
+	}
+
+	/**
+	 * Loads a row of frames of the same size from a resource on the class
+	 * path. The frames are kept, and then shared by all stores.
+	 * 
+	 * @param resource
+	 *            The resource path.
+	 * @param y
+	 *            The y position of the row in the image.
+	 * @param frameWidth
+	 *            The width of a frame.
+	 * @param frameHeight
+	 *            The height of a frame.
+	 * @param frames
+	 *            The amount of frames, starting at the left of the image.
+	 * @return The frames, which must not be modified.
+	 * @throws IOException
+	 *             When the resource could not be loaded.
+	 */
+	protected Sprite[] loadFrames(String resource, int y, int frameWidth,
+			int frameHeight, int frames) throws IOException {
+		assert frames > 0;
+		String key = resource + '@' + y + ':' + frameWidth + 'x' + frameHeight
+				+ '*' + frames;
+		return load(FRAMES, key, () -> {
+			Sprite baseImage = loadSprite(resource);
+			Sprite[] split = new Sprite[frames];
+			for (int i = 0; i < frames; i++) {
+				split[i] = baseImage.split(i * frameWidth, y, frameWidth,
+						frameHeight);
+			}
+			return split;
+		});
+	}
+
+	/**
+	 * Returns a value from a cache, loading it if no thread did so before.
+	 * The value is loaded outside of the map, so loading it does not block
+	 * other threads using the map. If loading fails, the value is removed
+	 * from the cache again, so a later call tries again.
+	 * 
+	 * @param cache
+	 *            The cache holding the value.
+	 * @param key
+	 *            The key of the value.
+	 * @param loader
+	 *            Loads the value.
+	 * @param <T>
+	 *            The type of the value.
+	 * @return The value.
+	 * @throws IOException
+	 *             When the value could not be loaded.
+	 */
+	private static <T> T load(ConcurrentMap<String, CompletableFuture<T>> cache,
+			String key, Loader<T> loader) throws IOException {
+		CompletableFuture<T> future = cache.get(key);
+		if (future == null) {
+			CompletableFuture<T> created = new CompletableFuture<>();
+			future = cache.computeIfAbsent(key, k -> created);
+			if (future == created) {
+				try {
+					created.complete(loader.load());
+				} catch (IOException | RuntimeException | Error e) {
+					cache.remove(key, created);
+					created.completeExceptionally(e);
+				}
+			}
+		}
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw (RuntimeException) cause;
 		}
-		return result;
+	}
+
+	/**
+	 * Loads a value that is to be cached.
+	 * 
+	 * @param <T>
+	 *            The type of the value.
+	 */
+	private interface Loader<T> {
+
+		/**
+		 * @return The value.
+		 * @throws IOException
+		 *             When the value could not be loaded.
+		 */
+		T load() throws IOException;
 	}
 
 	/**
@@ -0,0 +1,197 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.CompactBoard;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.board.UnitKind;
+import nl.tudelft.jpacman.level.Bridge;
+
+/**
+ * The parts of a board that never change, drawn once for a certain size of
+ * the squares: the squares themselves and the units that never leave their
+ * square, i.e. teleports. Holes are not part of it, as a hole is used up
+ * once a character falls in. Drawing a frame starts by copying this image,
+ * so only the other units have to be drawn on top of it.
+ *
+ * <p>
+ * Positions of a {@link CompactBoard} whose squares were not created yet are
+ * drawn from their terrain, so drawing the background creates no squares.
+ * </p>
+ */
+final class BoardBackground {
+
+	/**
+	 * The board this is the background of.
+	 */
+	private final Board board;
+
+	/**
+	 * The width of a square in pixels.
+	 */
+	private final int cellW;
+
+	/**
+	 * The height of a square in pixels.
+	 */
+	private final int cellH;
+
+	/**
+	 * The image holding the background.
+	 */
+	private final BufferedImage image;
+
+	/**
+	 * Draws the background of a board.
+	 *
+	 * @param b
+	 *            The board to draw.
+	 * @param width
+	 *            The width of a square in pixels.
+	 * @param height
+	 *            The height of a square in pixels.
+	 * @param config
+	 *            The configuration of the screen the background is shown
+	 *            on, or <code>null</code> if it is not known.
+	 * @param background
+	 *            The colour of the area not covered by squares.
+	 */
+	BoardBackground(Board b, int width, int height,
+			GraphicsConfiguration config, Color background) {
+		assert b != null;
+		assert width > 0 && height > 0;
+		this.board = b;
+		this.cellW = width;
+		this.cellH = height;
+		this.image = createImage(config, Math.max(1, board.getWidth() * cellW),
+				Math.max(1, board.getHeight() * cellH));
+
+		Graphics g = image.getGraphics();
+		try {
+			g.setColor(background);
+			g.fillRect(0, 0, image.getWidth(), image.getHeight());
+			int id = 0;
+			for (int y = 0; y < board.getHeight(); y++) {
+				for (int x = 0; x < board.getWidth(); x++, id++) {
+					int cellX = x * cellW;
+					int cellY = y * cellH;
+					Square square = createdSquare(board, id);
+					if (square == null) {
+						((CompactBoard) board).getTerrainSquare(id).getSprite()
+								.draw(g, cellX, cellY, cellW, cellH);
+						continue;
+					}
+					square.getSprite().draw(g, cellX, cellY, cellW, cellH);
+					for (Unit unit : square.getOccupants()) {
+						if (isFixed(square, unit)) {
+							unit.getSprite().draw(g, cellX, cellY, cellW, cellH);
+						}
+					}
+				}
+			}
+		} finally {
+			g.dispose();
+		}
+	}
+
+	/**
+	 * Returns a square of a board without creating it.
+	 *
+	 * @param b
+	 *            The board.
+	 * @param id
+	 *            The id of the square.
+	 * @return The square, or <code>null</code> if the board is a
+	 *         {@link CompactBoard} that did not create it yet.
+	 */
+	static Square createdSquare(Board b, int id) {
+		if (b instanceof CompactBoard) {
+			return ((CompactBoard) b).getCreatedSquare(id);
+		}
+		return b.squareWithId(id);
+	}
+
+	/**
+	 * Creates an image that can be copied to the screen quickly.
+	 *
+	 * @param config
+	 *            The configuration of the screen, or <code>null</code>.
+	 * @param width
+	 *            The width of the image.
+	 * @param height
+	 *            The height of the image.
+	 * @return The new image.
+	 */
+	static BufferedImage createImage(GraphicsConfiguration config, int width,
+			int height) {
+		if (config == null) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		}
+		return config.createCompatibleImage(width, height);
+	}
+
+	/**
+	 * Determines whether a unit is part of the background. Only teleports
+	 * are, as they stay on their square for the whole game. Units under or
+	 * on a bridge are not, as whether they are visible depends on the units
+	 * crossing the bridge.
+	 *
+	 * @param square
+	 *            The square the unit is on.
+	 * @param unit
+	 *            The unit.
+	 * @return <code>true</code> iff the unit never moves and is drawn as part
+	 *         of the background.
+	 */
+	static boolean isFixed(Square square, Unit unit) {
+		return unit.getKind() == UnitKind.TELEPORT.ordinal()
+				&& !(square.firstOccupant() instanceof Bridge);
+	}
+
+	/**
+	 * Determines whether this background can be used for a board drawn at a
+	 * certain size.
+	 *
+	 * @param b
+	 *            The board to draw.
+	 * @param width
+	 *            The width of a square in pixels.
+	 * @param height
+	 *            The height of a square in pixels.
+	 * @return <code>true</code> iff this is the background of the board at
+	 *         that size.
+	 */
+	boolean fits(Board b, int width, int height) {
+		return board == b && cellW == width && cellH == height;
+	}
+
+	/**
+	 * Copies the whole background.
+	 *
+	 * @param g
+	 *            The graphics context to draw on.
+	 */
+	void draw(Graphics g) {
+		g.drawImage(image, 0, 0, null);
+	}
+
+	/**
+	 * Copies the background of a single square, without scaling.
+	 *
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param x
+	 *            The x position of the square in pixels.
+	 * @param y
+	 *            The y position of the square in pixels.
+	 */
+	void draw(Graphics g, int x, int y) {
+		g.drawImage(image, x, y, x + cellW, y + cellH, x, y, x + cellW,
+				y + cellH, null);
+	}
+}
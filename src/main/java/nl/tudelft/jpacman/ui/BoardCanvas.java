@@ -0,0 +1,107 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.game.Game;
+
+/**
+ * Canvas displaying a game by active rendering: instead of asking the event
+ * dispatch thread to repaint it, a {@link RenderLoop} draws every frame
+ * directly on a {@link BufferStrategy} and flips the pages. The board is kept
+ * up to date on the back buffer of a {@link BoardRenderer}, as on the
+ * {@link BoardPanel}, which is copied to the page every frame.
+ */
+class BoardCanvas extends Canvas {
+
+	/**
+	 * Default serialisation ID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The amount of pages flipped between.
+	 */
+	private static final int PAGES = 2;
+
+	/**
+	 * The renderer drawing the game on the back buffer.
+	 */
+	private final transient BoardRenderer renderer;
+
+	/**
+	 * Creates a new canvas that will display the provided game.
+	 *
+	 * @param game
+	 *            The game to display.
+	 */
+	BoardCanvas(Game game) {
+		super();
+		assert game != null;
+		this.renderer = new BoardRenderer(game);
+
+		Board board = game.getLevel().getBoard();
+
+		int w = board.getWidth() * BoardPanel.SQUARE_SIZE;
+		int h = board.getHeight() * BoardPanel.SQUARE_SIZE;
+
+		Dimension size = new Dimension(w, h);
+		setMinimumSize(size);
+		setPreferredSize(size);
+		setBackground(BoardRenderer.BACKGROUND_COLOR);
+		setIgnoreRepaint(true);
+		// The keys are listened to on the frame, so the canvas must not take
+		// the focus away from it when clicked, as a panel would not either.
+		setFocusable(false);
+	}
+
+	/**
+	 * Draws the next frame and shows it. Must only be called by the thread
+	 * running the render loop, and does nothing until the canvas is shown.
+	 */
+	void render() {
+		if (!isDisplayable()) {
+			return;
+		}
+		BufferStrategy strategy = getBufferStrategy();
+		if (strategy == null) {
+			createBufferStrategy(PAGES);
+			strategy = getBufferStrategy();
+		}
+		renderer.collect();
+		do {
+			do {
+				Graphics g = strategy.getDrawGraphics();
+				try {
+					draw(g);
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+	/**
+	 * Draws the board on a page.
+	 *
+	 * @param g
+	 *            The graphics context of the page.
+	 */
+	private void draw(Graphics g) {
+		Dimension window = getSize();
+		BufferedImage buffer = renderer.draw(window, getGraphicsConfiguration());
+		if (buffer == null) {
+			g.setColor(BoardRenderer.BACKGROUND_COLOR);
+			g.fillRect(0, 0, window.width, window.height);
+			return;
+		}
+		g.drawImage(buffer, 0, 0, null);
+	}
+}
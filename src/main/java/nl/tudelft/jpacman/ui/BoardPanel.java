@@ -1,21 +1,25 @@
 package nl.tudelft.jpacman.ui;
 
-import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.util.List;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
 
 import javax.swing.JPanel;
 
 import nl.tudelft.jpacman.board.Board;
-import nl.tudelft.jpacman.board.Square;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
-import nl.tudelft.jpacman.level.Bridge;
 
 /**
  * Panel displaying a game.
  * 
+ * <p>
+ * The board is drawn on a back buffer by a {@link BoardRenderer}, which only
+ * redraws the squares that changed since the previous frame. Painting the
+ * panel then copies the buffer, and every frame only repaints the area
+ * around the changed squares.
+ * </p>
+ * 
  * @author Jeroen Roosen 
  * 
  */
@@ -26,21 +30,16 @@ class BoardPanel extends JPanel {
 	 */
 	private static final long serialVersionUID = 1L;
 
-	/**
-	 * The background colour of the board.
-	 */
-	private static final Color BACKGROUND_COLOR = Color.BLACK;
-
 	/**
 	 * The size (in pixels) of a square on the board. The initial size of this
 	 * panel will scale to fit a board with square of this size.
 	 */
-	private static final int SQUARE_SIZE = 16;
+	static final int SQUARE_SIZE = 16;
 
 	/**
-	 * The game to display.
+	 * The renderer drawing the game on the back buffer.
 	 */
-	private final Game game;
+	private final BoardRenderer renderer;
 
 	/**
 	 * Creates a new board panel that will display the provided game.
@@ -51,7 +50,7 @@ class BoardPanel extends JPanel {
 	BoardPanel(Game game) {
 		super();
 		assert game != null;
-		this.game = game;
+		this.renderer = new BoardRenderer(game);
 
 		Board board = game.getLevel().getBoard();
 
@@ -63,63 +62,28 @@ class BoardPanel extends JPanel {
 		setPreferredSize(size);
 	}
 
-	@Override
-	public void paint(Graphics g) {
-		assert g != null;
-		render(game.getLevel().getBoard(), g, getSize());
-	}
-
 	/**
-	 * Renders the board on the given graphics context to the given dimensions.
-	 * 
-	 * @param board
-	 *            The board to render.
-	 * @param g
-	 *            The graphics context to draw on.
-	 * @param window
-	 *            The dimensions to scale the rendered board to.
+	 * Collects the squares that changed since the previous frame and
+	 * repaints the area around them. Can be called from any thread.
 	 */
-	private void render(Board board, Graphics g, Dimension window) {
-		int cellW = window.width / board.getWidth();
-		int cellH = window.height / board.getHeight();
-
-		g.setColor(BACKGROUND_COLOR);
-		g.fillRect(0, 0, window.width, window.height);
-
-		for (int y = 0; y < board.getHeight(); y++) {
-			for (int x = 0; x < board.getWidth(); x++) {
-				int cellX = x * cellW;
-				int cellY = y * cellH;
-				Square square = board.squareAt(x, y);
-				render(square, g, cellX, cellY, cellW, cellH);
-			}
+	void refresh() {
+		BitSet changed = renderer.collect();
+		if (changed != null) {
+			repaint(BoardRenderer.bounds(renderer.getBoard(), changed,
+					getSize()));
 		}
 	}
 
-	/**
-	 * Renders a single square on the given graphics context on the specified
-	 * rectangle.
-	 * 
-	 * @param square
-	 *            The square to render.
-	 * @param g
-	 *            The graphics context to draw on.
-	 * @param x
-	 *            The x position to start drawing.
-	 * @param y
-	 *            The y position to start drawing.
-	 * @param w
-	 *            The width of this square (in pixels.)
-	 * @param h
-	 *            The height of this square (in pixels.)
-	 */
-	private void render(Square square, Graphics g, int x, int y, int w, int h) {
-		square.getSprite().draw(g, x, y, w, h);
-		List<Unit> occupants = square.getOccupants();
-		for (Unit unit : occupants) {
-			if((unit instanceof Bridge) || !(occupants.get(0) instanceof Bridge) || unit.isOnBridge()){
-				unit.getSprite().draw(g, x, y, w, h);
-			}
+	@Override
+	public void paint(Graphics g) {
+		assert g != null;
+		Dimension window = getSize();
+		BufferedImage buffer = renderer.draw(window, getGraphicsConfiguration());
+		if (buffer == null) {
+			g.setColor(BoardRenderer.BACKGROUND_COLOR);
+			g.fillRect(0, 0, window.width, window.height);
+			return;
 		}
+		g.drawImage(buffer, 0, 0, null);
 	}
-}
\ No newline at end of file
+}
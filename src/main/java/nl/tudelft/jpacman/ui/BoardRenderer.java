@@ -0,0 +1,334 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.CompactBoard;
+import nl.tudelft.jpacman.board.DirtySquares;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Bridge;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Draws a game on an image, shared by the components displaying it.
+ *
+ * <p>
+ * The squares and the units that never move are drawn once on a
+ * {@link BoardBackground}, which is only redrawn when the size of the squares
+ * changes. The board is drawn on a back buffer, in which only the squares that
+ * changed since the previous frame are redrawn, see {@link DirtySquares}, by
+ * copying their background and drawing their units.
+ * Squares holding an NPC are redrawn every frame, as their sprites change
+ * with their direction and animations.
+ * </p>
+ *
+ * <p>
+ * Drawing a {@link CompactBoard} creates none of its squares: positions whose
+ * squares were not created yet are drawn from their terrain and the units
+ * still lying on them.
+ * </p>
+ */
+final class BoardRenderer {
+
+	/**
+	 * The background colour of the board.
+	 */
+	static final Color BACKGROUND_COLOR = Color.BLACK;
+
+	/**
+	 * The game to display.
+	 */
+	private final Game game;
+
+	/**
+	 * The ids of the squares that changed, but were not yet redrawn on the
+	 * buffer.
+	 */
+	private final BitSet pending;
+
+	/**
+	 * The image the board is drawn on, or <code>null</code> if nothing was
+	 * drawn yet.
+	 */
+	private BufferedImage buffer;
+
+	/**
+	 * The squares and fixed units of the board drawn on the buffer, or
+	 * <code>null</code> if nothing was drawn yet.
+	 */
+	private BoardBackground background;
+
+	/**
+	 * Creates a new renderer of a game.
+	 *
+	 * @param game
+	 *            The game to display.
+	 */
+	BoardRenderer(Game game) {
+		assert game != null;
+		this.game = game;
+		this.pending = new BitSet();
+	}
+
+	/**
+	 * @return The board of the current level of the game.
+	 */
+	Board getBoard() {
+		return game.getLevel().getBoard();
+	}
+
+	/**
+	 * Collects the squares that changed since the previous frame, to be
+	 * redrawn when the buffer is drawn next. Can be called from any thread.
+	 *
+	 * @return The ids of the squares that changed, or <code>null</code> if
+	 *         none did.
+	 */
+	BitSet collect() {
+		Board board = getBoard();
+		DirtySquares dirty = board.getDirtySquares();
+		for (NPC npc : board.getUnits(NPC.class)) {
+			Square square = npc.getSquare();
+			if (square != null && square.getBoard() == board) {
+				dirty.mark(square.getId());
+			}
+		}
+		BitSet changed = dirty.take();
+		if (changed.isEmpty()) {
+			return null;
+		}
+		synchronized (pending) {
+			pending.or(changed);
+		}
+		return changed;
+	}
+
+	/**
+	 * Brings the buffer up to date, redrawing the squares that changed, or
+	 * the whole board if the size changed. Must only be called by a single
+	 * thread at a time.
+	 *
+	 * @param window
+	 *            The size of the area the board is drawn on.
+	 * @param config
+	 *            The configuration of the screen the board is shown on, or
+	 *            <code>null</code> if it is not known.
+	 * @return The buffer holding the board, or <code>null</code> if the area
+	 *         is too small to draw the board on.
+	 */
+	BufferedImage draw(Dimension window, GraphicsConfiguration config) {
+		Board board = getBoard();
+		int cellW = window.width / board.getWidth();
+		int cellH = window.height / board.getHeight();
+		if (cellW <= 0 || cellH <= 0) {
+			return null;
+		}
+		BitSet changed;
+		if (buffer == null || buffer.getWidth() != window.width
+				|| buffer.getHeight() != window.height
+				|| !background.fits(board, cellW, cellH)) {
+			board.getDirtySquares().take();
+			synchronized (pending) {
+				pending.clear();
+			}
+			background = new BoardBackground(board, cellW, cellH, config,
+					BACKGROUND_COLOR);
+			buffer = createBuffer(window, config);
+			changed = null;
+		} else {
+			synchronized (pending) {
+				changed = (BitSet) pending.clone();
+				pending.clear();
+			}
+		}
+		Graphics bg = buffer.getGraphics();
+		try {
+			if (changed == null) {
+				background.draw(bg);
+				render(board, bg, cellW, cellH);
+			} else {
+				render(board, bg, cellW, cellH, changed);
+			}
+		} finally {
+			bg.dispose();
+		}
+		return buffer;
+	}
+
+	/**
+	 * Creates an image to draw the board on, filled with the background
+	 * colour.
+	 *
+	 * @param window
+	 *            The size of the image.
+	 * @param config
+	 *            The configuration of the screen, or <code>null</code>.
+	 * @return The new image.
+	 */
+	private static BufferedImage createBuffer(Dimension window,
+			GraphicsConfiguration config) {
+		BufferedImage image = BoardBackground.createImage(config,
+				window.width, window.height);
+		Graphics g = image.getGraphics();
+		g.setColor(BACKGROUND_COLOR);
+		g.fillRect(0, 0, window.width, window.height);
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Determines the area covered by a set of squares.
+	 *
+	 * @param board
+	 *            The board of the squares.
+	 * @param ids
+	 *            The ids of the squares.
+	 * @param window
+	 *            The dimensions the board is scaled to.
+	 * @return The smallest rectangle containing all squares.
+	 */
+	static Rectangle bounds(Board board, BitSet ids, Dimension window) {
+		int width = board.getWidth();
+		int cellW = window.width / width;
+		int cellH = window.height / board.getHeight();
+		int minX = Integer.MAX_VALUE;
+		int maxX = -1;
+		int minY = ids.nextSetBit(0) / width;
+		int maxY = (ids.length() - 1) / width;
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+			int x = id % width;
+			minX = Math.min(minX, x);
+			maxX = Math.max(maxX, x);
+		}
+		return new Rectangle(minX * cellW, minY * cellH,
+				(maxX - minX + 1) * cellW, (maxY - minY + 1) * cellH);
+	}
+
+	/**
+	 * Renders the units of all squares of the board on the given graphics
+	 * context, on top of the background.
+	 *
+	 * @param board
+	 *            The board to render.
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param cellW
+	 *            The width of a square (in pixels.)
+	 * @param cellH
+	 *            The height of a square (in pixels.)
+	 */
+	private void render(Board board, Graphics g, int cellW, int cellH) {
+		int id = 0;
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				render(board, id++, g, x * cellW, y * cellH, cellW, cellH);
+			}
+		}
+	}
+
+	/**
+	 * Renders squares of the board on the given graphics context, copying
+	 * their background before rendering their units.
+	 *
+	 * @param board
+	 *            The board to render.
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param cellW
+	 *            The width of a square (in pixels.)
+	 * @param cellH
+	 *            The height of a square (in pixels.)
+	 * @param ids
+	 *            The ids of the squares to render.
+	 */
+	private void render(Board board, Graphics g, int cellW, int cellH,
+			BitSet ids) {
+		int width = board.getWidth();
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+			int cellX = (id % width) * cellW;
+			int cellY = (id / width) * cellH;
+			background.draw(g, cellX, cellY);
+			render(board, id, g, cellX, cellY, cellW, cellH);
+		}
+	}
+
+	/**
+	 * Renders the units on a single square of a board that are not part of
+	 * the background, and its pellet. On a {@link CompactBoard}, positions
+	 * whose squares were not created yet are drawn from the units still lying
+	 * on them, without creating their squares.
+	 *
+	 * @param board
+	 *            The board of the square.
+	 * @param id
+	 *            The id of the square.
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param x
+	 *            The x position to start drawing.
+	 * @param y
+	 *            The y position to start drawing.
+	 * @param w
+	 *            The width of this square (in pixels.)
+	 * @param h
+	 *            The height of this square (in pixels.)
+	 */
+	private void render(Board board, int id, Graphics g, int x, int y, int w,
+			int h) {
+		Square square = BoardBackground.createdSquare(board, id);
+		if (square != null) {
+			render(square, g, x, y, w, h);
+			return;
+		}
+		if (board.getPellets().contains(id)) {
+			board.getPellets().getSprite().draw(g, x, y, w, h);
+		}
+		for (Unit unit : ((CompactBoard) board).getLyingUnits(id)) {
+			unit.getSprite().draw(g, x, y, w, h);
+		}
+	}
+
+	/**
+	 * Renders the units on a single square that are not part of the
+	 * background, and its pellet, on the given graphics context on the
+	 * specified rectangle.
+	 *
+	 * @param square
+	 *            The square to render.
+	 * @param g
+	 *            The graphics context to draw on.
+	 * @param x
+	 *            The x position to start drawing.
+	 * @param y
+	 *            The y position to start drawing.
+	 * @param w
+	 *            The width of this square (in pixels.)
+	 * @param h
+	 *            The height of this square (in pixels.)
+	 */
+	private void render(Square square, Graphics g, int x, int y, int w, int h) {
+		Board board = square.getBoard();
+		if (board != null && board.getPellets().contains(square.getId())) {
+			board.getPellets().getSprite().draw(g, x, y, w, h);
+		}
+		List<Unit> occupants = square.getOccupants();
+		boolean bridged = square.firstOccupant() instanceof Bridge;
+		for (Unit unit : occupants) {
+			if (BoardBackground.isFixed(square, unit)) {
+				continue;
+			}
+			if((unit instanceof Bridge) || !bridged || unit.isOnBridge()){
+				unit.getSprite().draw(g, x, y, w, h);
+			}
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of the frames drawn by a {@link RenderLoop}: the time between
+ * the most recent frames, from which percentiles are computed, and the amount
+ * of frames that were dropped because a frame was not drawn in time.
+ */
+public final class FrameStats {
+
+	/**
+	 * The default amount of frame times kept.
+	 */
+	public static final int DEFAULT_WINDOW = 1024;
+
+	/**
+	 * The most recent frame times in nanoseconds, as a ring.
+	 */
+	private final long[] times;
+
+	/**
+	 * The amount of frames recorded.
+	 */
+	private long frames;
+
+	/**
+	 * The amount of frames dropped.
+	 */
+	private long dropped;
+
+	/**
+	 * Creates statistics keeping the times of the
+	 * {@value #DEFAULT_WINDOW} most recent frames.
+	 */
+	public FrameStats() {
+		this(DEFAULT_WINDOW);
+	}
+
+	/**
+	 * Creates new statistics.
+	 *
+	 * @param window
+	 *            The amount of most recent frame times kept.
+	 */
+	public FrameStats(int window) {
+		assert window > 0;
+		this.times = new long[window];
+	}
+
+	/**
+	 * Records a frame.
+	 *
+	 * @param nanos
+	 *            The time since the previous frame in nanoseconds.
+	 */
+	public synchronized void record(long nanos) {
+		assert nanos >= 0;
+		times[(int) (frames % times.length)] = nanos;
+		frames++;
+	}
+
+	/**
+	 * Records frames that were dropped.
+	 *
+	 * @param amount
+	 *            The amount of frames dropped.
+	 */
+	public synchronized void drop(long amount) {
+		assert amount >= 0;
+		dropped += amount;
+	}
+
+	/**
+	 * @return The amount of frames recorded.
+	 */
+	public synchronized long getFrameCount() {
+		return frames;
+	}
+
+	/**
+	 * @return The amount of frames dropped.
+	 */
+	public synchronized long getDroppedFrames() {
+		return dropped;
+	}
+
+	/**
+	 * Computes a percentile of the most recent frame times, using the nearest
+	 * rank.
+	 *
+	 * @param percentile
+	 *            The percentile, between 0 (exclusive) and 100.
+	 * @return The frame time in milliseconds below which the given
+	 *         percentage of the frames was drawn, or 0 if no frames were
+	 *         recorded.
+	 */
+	public double getPercentileMillis(double percentile) {
+		assert percentile > 0 && percentile <= 100;
+		long[] sorted;
+		synchronized (this) {
+			sorted = Arrays.copyOf(times, (int) Math.min(frames, times.length));
+		}
+		if (sorted.length == 0) {
+			return 0;
+		}
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return sorted[Math.max(0, rank - 1)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * @return The median frame time in milliseconds.
+	 */
+	public double getP50Millis() {
+		return getPercentileMillis(50);
+	}
+
+	/**
+	 * @return The 99th percentile of the frame times in milliseconds.
+	 */
+	public double getP99Millis() {
+		return getPercentileMillis(99);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d frames, p50 %.1f ms, p99 %.1f ms, %d dropped",
+				getFrameCount(), getP50Millis(), getP99Millis(),
+				getDroppedFrames());
+	}
+}
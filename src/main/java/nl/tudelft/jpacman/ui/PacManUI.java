@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.ui;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Container;
 import java.util.Map;
 import java.util.concurrent.Executors;
@@ -24,6 +25,13 @@ import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
  * <li>A button panel, containing all buttons provided upon creation.
  * </ul>
  * 
+ * <p>
+ * By default, the board is redrawn by asking the event dispatch thread to
+ * repaint it at a fixed rate. With active rendering, a thread of its own
+ * draws every frame on a {@link BoardCanvas} at a target frame rate, and
+ * records the frame times on {@link FrameStats}.
+ * </p>
+ * 
  * @author Jeroen Roosen 
  * 
  */
@@ -46,10 +54,35 @@ public class PacManUI extends JFrame {
 	private final ScorePanel scorePanel;
 
 	/**
-	 * The panel displaying the game.
+	 * The panel displaying the game, or <code>null</code> when it is
+	 * rendered actively.
 	 */
 	private final BoardPanel boardPanel;
 
+	/**
+	 * The canvas displaying the game when it is rendered actively, or
+	 * <code>null</code> otherwise.
+	 */
+	private final BoardCanvas boardCanvas;
+
+	/**
+	 * The amount of frames drawn per second when the game is rendered
+	 * actively.
+	 */
+	private final int targetFps;
+
+	/**
+	 * The statistics of the frames drawn actively, or <code>null</code> if
+	 * the game is not rendered actively.
+	 */
+	private final FrameStats frameStats;
+
+	/**
+	 * The loop drawing the frames actively, or <code>null</code> if it was
+	 * not started.
+	 */
+	private RenderLoop renderLoop;
+
 	/**
 	 * Creates a new UI for a JPac-Man game.
 	 * 
@@ -66,10 +99,35 @@ public class PacManUI extends JFrame {
 	 */
 	public PacManUI(final Game game, final Map<String, Action> buttons,
 			final Map<Integer, Action> keyMappings, ScoreFormatter sf) {
+		this(game, buttons, keyMappings, sf, 0);
+	}
+
+	/**
+	 * Creates a new UI for a JPac-Man game, which is rendered actively if a
+	 * target frame rate is given.
+	 * 
+	 * @param game
+	 *            The game to play.
+	 * @param buttons
+	 *            The map of caption-to-action entries that will appear as
+	 *            buttons on the interface.
+	 * @param keyMappings
+	 *            The map of keyCode-to-action entries that will be added as key
+	 *            listeners to the interface.
+	 * @param sf
+	 *            The formatter used to display the current score. 
+	 * @param fps
+	 *            The amount of frames to draw per second when rendering
+	 *            actively, or 0 to repaint the board at the default rate.
+	 */
+	public PacManUI(final Game game, final Map<String, Action> buttons,
+			final Map<Integer, Action> keyMappings, ScoreFormatter sf,
+			int fps) {
 		super("JPac-Man");
 		assert game != null;
 		assert buttons != null;
 		assert keyMappings != null;
+		assert fps >= 0;
 		
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 
@@ -83,13 +141,25 @@ public class PacManUI extends JFrame {
 			scorePanel.setScoreFormatter(sf);
 		}
 		
-		boardPanel = new BoardPanel(game);
+		targetFps = fps;
+		Component board;
+		if (fps > 0) {
+			boardPanel = null;
+			boardCanvas = new BoardCanvas(game);
+			frameStats = new FrameStats();
+			board = boardCanvas;
+		} else {
+			boardPanel = new BoardPanel(game);
+			boardCanvas = null;
+			frameStats = null;
+			board = boardPanel;
+		}
 		
 		Container contentPanel = getContentPane();
 		contentPanel.setLayout(new BorderLayout());
 		contentPanel.add(buttonPanel, BorderLayout.SOUTH);
 		contentPanel.add(scorePanel, BorderLayout.NORTH);
-		contentPanel.add(boardPanel, BorderLayout.CENTER);
+		contentPanel.add(board, BorderLayout.CENTER);
 
 		pack();
 	}
@@ -101,6 +171,19 @@ public class PacManUI extends JFrame {
 	public void start() {
 		setVisible(true);
 
+		if (boardCanvas != null) {
+			renderLoop = new RenderLoop(new Runnable() {
+
+				@Override
+				public void run() {
+					boardCanvas.render();
+					scorePanel.refresh();
+				}
+			}, targetFps, frameStats);
+			new Thread(renderLoop, "JPac-Man render loop").start();
+			return;
+		}
+
 		ScheduledExecutorService service = Executors
 				.newSingleThreadScheduledExecutor();
 
@@ -115,10 +198,30 @@ public class PacManUI extends JFrame {
 	}
 
 	/**
-	 * Draws the next frame, i.e. refreshes the scores and game.
+	 * @return The statistics of the frames drawn so far, or <code>null</code>
+	 *         if the game is not rendered actively.
+	 */
+	public FrameStats getFrameStats() {
+		return frameStats;
+	}
+
+	/**
+	 * Stops rendering actively before disposing of the frame.
+	 */
+	@Override
+	public void dispose() {
+		if (renderLoop != null) {
+			renderLoop.stop();
+		}
+		super.dispose();
+	}
+
+	/**
+	 * Draws the next frame, i.e. refreshes the scores and the squares of the
+	 * game that changed.
 	 */
 	private void nextFrame() {
-		boardPanel.repaint();
+		boardPanel.refresh();
 		scorePanel.refresh();
 	}
 }
@@ -44,6 +44,12 @@ public class PacManUiBuilder {
 	 */
 	private ScoreFormatter scoreFormatter = null;
 
+	/**
+	 * The amount of frames drawn per second when rendering actively, or 0 if
+	 * the board is repainted at the default rate.
+	 */
+	private int targetFps = 0;
+
 	/**
 	 * Creates a new Pac-Man UI builder without any mapped keys or buttons.
 	 */
@@ -67,7 +73,8 @@ public class PacManUiBuilder {
 			addStartButton(game);
 			addStopButton(game);
 		}
-		return new PacManUI(game, buttons, keyMappings, scoreFormatter);
+		return new PacManUI(game, buttons, keyMappings, scoreFormatter,
+				targetFps);
 	}
 
 	/**
@@ -166,4 +173,20 @@ public class PacManUiBuilder {
 		scoreFormatter = sf;
 		return this;
 	}
+
+	/**
+	 * Renders the board actively, drawing frames on a thread of its own at
+	 * a target rate instead of asking the event dispatch thread to repaint
+	 * it. The frame times are available from {@link PacManUI#getFrameStats()}.
+	 * 
+	 * @param fps
+	 *            The amount of frames to draw per second.
+	 * 
+	 * @return The builder.
+	 */
+	public PacManUiBuilder withActiveRendering(int fps) {
+		assert fps > 0;
+		targetFps = fps;
+		return this;
+	}
 }
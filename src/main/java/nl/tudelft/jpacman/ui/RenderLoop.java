@@ -0,0 +1,118 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Draws frames at a target rate on the thread running it.
+ *
+ * <p>
+ * Frames are paced against a schedule of deadlines, one period apart, rather
+ * than by sleeping a period after every frame, so the time spent drawing and
+ * oversleeping does not add up. The thread parks until shortly before a
+ * deadline and yields for the remainder, as parking is not precise enough for
+ * high frame rates. When a frame takes so long that one or more deadlines
+ * passed, those frames are dropped and counted, and the schedule continues
+ * from the next deadline instead of drawing the missed frames in a burst.
+ * </p>
+ */
+final class RenderLoop implements Runnable {
+
+	/**
+	 * The time before a deadline in nanoseconds from which the thread yields
+	 * instead of parking.
+	 */
+	private static final long SPIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * Draws a frame.
+	 */
+	private final Runnable frame;
+
+	/**
+	 * The time between frames in nanoseconds.
+	 */
+	private final long period;
+
+	/**
+	 * The statistics the frames are recorded on.
+	 */
+	private final FrameStats stats;
+
+	/**
+	 * <code>false</code> once the loop was asked to stop.
+	 */
+	private volatile boolean running;
+
+	/**
+	 * Creates a new loop.
+	 *
+	 * @param frame
+	 *            Draws a frame.
+	 * @param targetFps
+	 *            The amount of frames to draw per second.
+	 * @param stats
+	 *            The statistics to record the frames on.
+	 */
+	RenderLoop(Runnable frame, int targetFps, FrameStats stats) {
+		assert frame != null;
+		assert targetFps > 0;
+		assert stats != null;
+		this.frame = frame;
+		this.period = TimeUnit.SECONDS.toNanos(1) / targetFps;
+		this.stats = stats;
+		this.running = true;
+	}
+
+	/**
+	 * Draws frames until the loop is stopped or the thread is interrupted.
+	 */
+	@Override
+	public void run() {
+		long next = System.nanoTime();
+		long previous = -1L;
+		while (running && !Thread.currentThread().isInterrupted()) {
+			long start = System.nanoTime();
+			if (previous >= 0) {
+				stats.record(start - previous);
+			}
+			previous = start;
+			frame.run();
+
+			next += period;
+			long late = System.nanoTime() - next;
+			if (late >= period) {
+				long missed = late / period;
+				stats.drop(missed);
+				next += missed * period;
+			}
+			waitUntil(next);
+		}
+	}
+
+	/**
+	 * Waits until a deadline, or until the loop is stopped.
+	 *
+	 * @param deadline
+	 *            The deadline as given by {@link System#nanoTime()}.
+	 */
+	private void waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > 0 && running
+				&& !Thread.currentThread().isInterrupted()) {
+			if (remaining > SPIN_NANOS) {
+				LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+			} else {
+				Thread.yield();
+			}
+			remaining = deadline - System.nanoTime();
+		}
+	}
+
+	/**
+	 * Stops the loop after the frame being drawn.
+	 */
+	void stop() {
+		running = false;
+	}
+}
@@ -93,4 +93,28 @@ public class BoardFactoryTest {
 		assertEquals(s2, s1.getSquareAt(Direction.SOUTH));
 		assertEquals(s1, s2.getSquareAt(Direction.SOUTH));
 	}
+
+	/**
+	 * Verifies that the ids of the neighbours listed by the board match the
+	 * linked squares.
+	 */
+	@Test
+	public void neighbourIds() {
+		Square[][] grid = new Square[][]{
+				{new BasicSquare(), new BasicSquare()},
+				{new BasicSquare(), new BasicSquare()},
+				{new BasicSquare(), new BasicSquare()}};
+		Board board = factory.createBoard(grid);
+		for (int id = 0; id < board.getSquareCount(); id++) {
+			Square s = board.squareWithId(id);
+			for (Direction d : Direction.values()) {
+				assertEquals(s.getSquareAt(d).getId(),
+						board.getNeighbourId(id, d));
+			}
+		}
+		assertEquals(grid[1][0].getId(),
+				board.getNeighbourId(grid[0][0].getId(), Direction.EAST));
+		assertEquals(grid[0][1].getId(),
+				board.getNeighbourId(grid[0][0].getId(), Direction.NORTH));
+	}
 }
@@ -0,0 +1,115 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.BitSet;
+import java.util.function.Supplier;
+
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the lazy creation of squares on a compact board.
+ */
+public class CompactBoardTest {
+
+	/**
+	 * The board under test, 3 squares wide and 2 high.
+	 */
+	private CompactBoard board;
+
+	/**
+	 * The plane of basic units.
+	 */
+	private int plane;
+
+	/**
+	 * Creates a board with a wall at 1,0 and a unit lying at 2,1.
+	 */
+	@Before
+	public void setUp() {
+		BoardFactory factory = new BoardFactory(mock(PacManSprites.class));
+		board = factory.createCompactBoard(3, 2);
+		board.setTerrain(1, 0, BoardFactory.WALL);
+		plane = board.addPlane(BasicUnit.class, new Supplier<Unit>() {
+
+			@Override
+			public Unit get() {
+				return new BasicUnit();
+			}
+		});
+		board.place(plane, 2, 1);
+	}
+
+	/**
+	 * Verifies that squares are created once, when they are first asked for.
+	 */
+	@Test
+	public void testLazySquares() {
+		assertEquals(0, board.getCreatedSquareCount());
+		Square square = board.squareAt(0, 0);
+		assertEquals(1, board.getCreatedSquareCount());
+		assertSame(square, board.squareAt(0, 0));
+		assertSame(square, board.squareWithId(0));
+		assertEquals(0, square.getId());
+	}
+
+	/**
+	 * Verifies that neighbours wrap around the edges of the board.
+	 */
+	@Test
+	public void testNeighbours() {
+		assertEquals(2, board.getNeighbourId(0, Direction.WEST));
+		assertEquals(3, board.getNeighbourId(0, Direction.NORTH));
+		assertEquals(1, board.getNeighbourId(0, Direction.EAST));
+		assertEquals(0, board.getNeighbourId(3, Direction.SOUTH));
+		assertSame(board.squareAt(2, 0),
+				board.squareAt(0, 0).getSquareAt(Direction.WEST));
+	}
+
+	/**
+	 * Verifies that accessibility follows the terrain without creating any
+	 * squares.
+	 */
+	@Test
+	public void testAccessibleSquares() {
+		BitSet accessible = board.getAccessibleSquares(new BasicUnit());
+		assertEquals(5, accessible.cardinality());
+		assertFalse(accessible.get(1));
+		assertFalse(board.squareAt(1, 0).isAccessibleTo(new BasicUnit()));
+		assertTrue(board.squareAt(2, 1).isAccessibleTo(new BasicUnit()));
+		assertEquals(2, board.getCreatedSquareCount());
+	}
+
+	/**
+	 * Verifies that a unit lying in a plane is counted before its square is
+	 * created, and put on its square once it is.
+	 */
+	@Test
+	public void testPlane() {
+		assertEquals(1, board.countUnits(BasicUnit.class));
+		assertEquals(0, board.getCreatedSquareCount());
+
+		Square square = board.squareAt(2, 1);
+		assertEquals(1, square.getOccupants().size());
+		assertEquals(1, board.countUnits(BasicUnit.class));
+
+		square.getOccupants().get(0).leaveSquare();
+		assertEquals(0, board.countUnits(BasicUnit.class));
+	}
+
+	/**
+	 * Verifies that listing units creates the squares they lie on.
+	 */
+	@Test
+	public void testGetUnits() {
+		assertEquals(1, board.getUnits(Unit.class).size());
+		assertEquals(1, board.getCreatedSquareCount());
+	}
+}
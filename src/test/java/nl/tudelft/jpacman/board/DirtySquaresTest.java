@@ -0,0 +1,64 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests tracking the squares of a board that changed.
+ */
+@SuppressWarnings("magicnumber")
+public class DirtySquaresTest {
+
+	/**
+	 * A board of three by two squares.
+	 */
+	private Board board;
+
+	/**
+	 * Creates the board and takes the initial marks.
+	 */
+	@Before
+	public void setUp() {
+		Square[][] grid = new Square[3][2];
+		for (int x = 0; x < 3; x++) {
+			for (int y = 0; y < 2; y++) {
+				grid[x][y] = new BasicSquare();
+			}
+		}
+		board = new Board(grid);
+		assertEquals(6, board.getDirtySquares().take().cardinality());
+	}
+
+	/**
+	 * Verifies that both squares are marked when a unit moves.
+	 */
+	@Test
+	public void testMove() {
+		Unit unit = new BasicUnit();
+		unit.occupy(board.squareAt(0, 0));
+		board.getDirtySquares().take();
+
+		unit.occupy(board.squareAt(2, 1));
+		BitSet expected = new BitSet();
+		expected.set(0);
+		expected.set(5);
+		assertEquals(expected, board.getDirtySquares().take());
+		assertTrue(board.getDirtySquares().take().isEmpty());
+	}
+
+	/**
+	 * Verifies that the square of an eaten pellet is marked.
+	 */
+	@Test
+	public void testPellet() {
+		board.getPellets().place(4);
+		board.getDirtySquares().take();
+		board.getPellets().eat(4);
+		assertEquals(4, board.getDirtySquares().take().nextSetBit(0));
+	}
+}
@@ -0,0 +1,106 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.npc.ghost.Navigation;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Tests the precomputed distances of a {@link DistanceTable}.
+ */
+@SuppressWarnings("magicnumber")
+public class DistanceTableTest {
+
+	/**
+	 * The board the table is computed for.
+	 */
+	private Board board;
+
+	/**
+	 * The table under test.
+	 */
+	private DistanceTable table;
+
+	/**
+	 * The traveller the table is computed for.
+	 */
+	private final Unit traveller = mock(Unit.class);
+
+	/**
+	 * Parses a board with a corner and an unreachable square and computes its
+	 * table.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		MapParser parser = new MapParser(new LevelFactory(sprites,
+				new GhostFactory(sprites)), new BoardFactory(sprites));
+		board = parser.parseMap(
+				Lists.newArrayList("######", "#   ##", "###  #", "#### #",
+						"######")).getBoard();
+		table = DistanceTable.compute(board, traveller);
+	}
+
+	/**
+	 * Verifies the distance between two squares around a corner.
+	 */
+	@Test
+	public void cornerDistance() {
+		assertEquals(5, table.distance(board.squareAt(1, 1),
+				board.squareAt(4, 3)));
+	}
+
+	/**
+	 * Verifies the path read from the table equals the one found by searching.
+	 */
+	@Test
+	public void sameAsSearch() {
+		Square from = board.squareAt(1, 1);
+		Square to = board.squareAt(4, 3);
+		board.setDistanceTable(null);
+		assertEquals(Navigation.shortestPath(from, to, traveller),
+				table.path(from, to));
+	}
+
+	/**
+	 * Verifies the first step is taken from the table.
+	 */
+	@Test
+	public void nextHop() {
+		assertEquals(Direction.EAST, table.nextHop(board.squareAt(1, 1),
+				board.squareAt(4, 3)));
+	}
+
+	/**
+	 * Verifies walls are not part of the table and cannot be reached.
+	 */
+	@Test
+	public void wallUnreachable() {
+		Square wall = board.squareAt(0, 0);
+		assertFalse(table.covers(wall));
+		assertEquals(-1, table.distance(board.squareAt(1, 1), wall));
+		assertNull(table.path(board.squareAt(1, 1), wall));
+	}
+
+	/**
+	 * Verifies the table applies to travellers of the type it was built for
+	 * but not when terrain is ignored.
+	 */
+	@Test
+	public void supportsTraveller() {
+		assertTrue(table.supports(traveller));
+		assertFalse(table.supports(null));
+	}
+}
@@ -0,0 +1,115 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Tests the directions read from a {@link FlowField}.
+ */
+@SuppressWarnings("magicnumber")
+public class FlowFieldTest {
+
+	/**
+	 * The board the field is computed for.
+	 */
+	private Board board;
+
+	/**
+	 * The unit the field leads to.
+	 */
+	private final Unit target = mock(Unit.class);
+
+	/**
+	 * The field under test.
+	 */
+	private FlowField field;
+
+	/**
+	 * Parses a board with a corner and places the target in its far end.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		MapParser parser = new MapParser(new LevelFactory(sprites,
+				new GhostFactory(sprites)), new BoardFactory(sprites));
+		board = parser.parseMap(
+				Lists.newArrayList("######", "#   ##", "###  #", "#### #",
+						"######")).getBoard();
+		when(target.getSquare()).thenReturn(board.squareAt(4, 3));
+		field = new FlowField(board, target, mock(Unit.class));
+		field.update();
+	}
+
+	/**
+	 * Verifies the distance around a corner.
+	 */
+	@Test
+	public void cornerDistance() {
+		assertEquals(5, field.distanceFrom(board.squareAt(1, 1)));
+	}
+
+	/**
+	 * Verifies the field agrees with the first step of the shortest path.
+	 */
+	@Test
+	public void direction() {
+		assertEquals(Direction.EAST, field.directionFrom(board.squareAt(1, 1)));
+		assertEquals(Direction.SOUTH, field.directionFrom(board.squareAt(3, 1)));
+	}
+
+	/**
+	 * Verifies a step carries the direction and the distance to the target.
+	 */
+	@Test
+	public void step() {
+		FlowField.Step step = field.stepFrom(board.squareAt(1, 1));
+		assertEquals(Direction.EAST, step.getDirection());
+		assertEquals(5, step.getDistance());
+		assertNull(field.stepFrom(board.squareAt(4, 3)));
+		assertNull(field.stepFrom(board.squareAt(0, 0)));
+	}
+
+	/**
+	 * Verifies there is nowhere to go from the target or from a wall.
+	 */
+	@Test
+	public void noDirection() {
+		assertNull(field.directionFrom(board.squareAt(4, 3)));
+		assertNull(field.directionFrom(board.squareAt(0, 0)));
+		assertEquals(-1, field.distanceFrom(board.squareAt(0, 0)));
+	}
+
+	/**
+	 * Verifies the field follows the target after an update.
+	 */
+	@Test
+	public void followsTarget() {
+		when(target.getSquare()).thenReturn(board.squareAt(1, 1));
+		field.update();
+		assertEquals(0, field.distanceFrom(board.squareAt(1, 1)));
+		assertEquals(Direction.NORTH, field.directionFrom(board.squareAt(4, 3)));
+	}
+
+	/**
+	 * Verifies the field applies to travellers seeing the same terrain.
+	 */
+	@Test
+	public void supportsTraveller() {
+		assertTrue(field.supports(mock(Unit.class)));
+		assertFalse(field.supports(null));
+	}
+}
@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.board;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
@@ -46,4 +47,18 @@ public class OccupantTest {
 		unit.occupy(target);
 		assertThat(unit.getSquare(), is(target));
 	}
+
+	/**
+	 * Asserts that the board of a square counts the units entering and
+	 * leaving it.
+	 */
+	@Test
+	public void testBoardCount() {
+		Square target = new BasicSquare();
+		Board board = new Board(new Square[][] {{target}});
+		unit.occupy(target);
+		assertEquals(1, board.countUnits(BasicUnit.class));
+		unit.leaveSquare();
+		assertEquals(0, board.countUnits(Unit.class));
+	}
 }
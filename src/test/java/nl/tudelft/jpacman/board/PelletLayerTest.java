@@ -0,0 +1,70 @@
+package nl.tudelft.jpacman.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests placing and eating pellets of a pellet layer.
+ */
+public class PelletLayerTest {
+
+	/**
+	 * The default value of a pellet.
+	 */
+	private static final int VALUE = 10;
+
+	/**
+	 * The layer under test.
+	 */
+	private PelletLayer layer;
+
+	/**
+	 * Creates an empty layer.
+	 */
+	@Before
+	public void setUp() {
+		layer = new PelletLayer();
+		layer.setValue(VALUE);
+	}
+
+	/**
+	 * Verifies that a pellet can be eaten once, for the default value.
+	 */
+	@Test
+	public void testEat() {
+		layer.place(3);
+		assertTrue(layer.contains(3));
+		assertEquals(1, layer.size());
+
+		assertEquals(VALUE, layer.eat(3));
+		assertFalse(layer.contains(3));
+		assertEquals(0, layer.size());
+		assertEquals(-1, layer.eat(3));
+	}
+
+	/**
+	 * Verifies that a pellet with a value of its own is worth that value.
+	 */
+	@Test
+	public void testValue() {
+		layer.place(1, VALUE * 5);
+		layer.place(2);
+		assertEquals(2, layer.size());
+		assertEquals(VALUE * 5, layer.eat(1));
+		assertEquals(VALUE, layer.eat(2));
+	}
+
+	/**
+	 * Verifies that placing a pellet twice counts it once.
+	 */
+	@Test
+	public void testPlaceTwice() {
+		layer.place(0);
+		layer.place(0);
+		assertEquals(1, layer.size());
+	}
+}
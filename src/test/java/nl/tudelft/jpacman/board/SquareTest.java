@@ -1,10 +1,15 @@
 package nl.tudelft.jpacman.board;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -65,4 +70,45 @@ public class SquareTest {
 		Object[] occupantsAsArray = square.getOccupants().toArray();
 		assertArrayEquals(new Object[] { o1, o2 }, occupantsAsArray);
 	}
+
+	/**
+	 * Assert that the list of occupants is only replaced when an occupant
+	 * enters or leaves the square.
+	 */
+	@Test
+	public void testSnapshot() {
+		Unit occupant = mock(Unit.class);
+		square.put(occupant);
+		List<Unit> before = square.getOccupants();
+		assertSame(before, square.getOccupants());
+
+		square.remove(occupant);
+		assertEquals(1, before.size());
+		assertTrue(square.getOccupants().isEmpty());
+	}
+
+	/**
+	 * Assert that the oldest occupant is the first one.
+	 */
+	@Test
+	public void testFirstOccupant() {
+		assertNull(square.firstOccupant());
+		Unit o1 = mock(Unit.class);
+		Unit o2 = mock(Unit.class);
+		square.put(o1);
+		square.put(o2);
+
+		assertSame(o1, square.firstOccupant());
+	}
+
+	/**
+	 * Assert that occupants are found by their type.
+	 */
+	@Test
+	public void testHasOccupantOfType() {
+		square.put(new BasicUnit());
+
+		assertTrue(square.hasOccupantOfType(Unit.class));
+		assertFalse(square.hasOccupantOfType(mock(Unit.class).getClass()));
+	}
 }
@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.level;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.CollisionInteractionMap.CollisionHandler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the dispatch of collisions to the listed handlers.
+ */
+public class CollisionInteractionMapTest {
+
+	/**
+	 * The map under test.
+	 */
+	private CollisionInteractionMap map;
+
+	/**
+	 * A player colliding.
+	 */
+	private Player player;
+
+	/**
+	 * A pellet being collided with.
+	 */
+	private Pellet pellet;
+
+	/**
+	 * Creates an empty map and the colliding units.
+	 */
+	@Before
+	public void setUp() {
+		map = new CollisionInteractionMap();
+		player = mock(Player.class);
+		pellet = mock(Pellet.class);
+	}
+
+	/**
+	 * Verifies that a handler for a super class is used, in both directions.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testSuperClassHandler() {
+		CollisionHandler<Player, Unit> handler = mock(CollisionHandler.class);
+		map.onCollision(Player.class, Unit.class, handler);
+
+		map.collide(player, pellet);
+		map.collide(pellet, player);
+		verify(handler, times(2)).handleCollision(player, pellet);
+	}
+
+	/**
+	 * Verifies that a handler added after a collision was handled replaces
+	 * the cached handler.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testMoreSpecificHandlerAdded() {
+		CollisionHandler<Player, Unit> general = mock(CollisionHandler.class);
+		CollisionHandler<Player, Pellet> specific = mock(CollisionHandler.class);
+		map.onCollision(Player.class, Unit.class, false, general);
+		map.collide(player, pellet);
+
+		map.onCollision(Player.class, Pellet.class, false, specific);
+		map.collide(player, pellet);
+		verify(general).handleCollision(player, pellet);
+		verify(specific).handleCollision(player, pellet);
+	}
+
+	/**
+	 * Verifies that a handler added after a collision without handler was
+	 * ignored is used for the next collision.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testHandlerAddedAfterMiss() {
+		CollisionHandler<Pellet, Player> handler = mock(CollisionHandler.class);
+		map.collide(pellet, player);
+		verifyZeroInteractions(handler);
+
+		map.onCollision(Pellet.class, Player.class, false, handler);
+		map.collide(pellet, player);
+		verify(handler).handleCollision(pellet, player);
+	}
+}
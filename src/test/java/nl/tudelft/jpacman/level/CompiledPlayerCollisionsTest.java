@@ -0,0 +1,133 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.EnumMap;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.PelletLayer;
+import nl.tudelft.jpacman.board.UnitKind;
+import nl.tudelft.jpacman.npc.Bullet;
+import nl.tudelft.jpacman.npc.ghost.Blinky;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the dispatch of collisions through the table of unit kinds.
+ */
+public class CompiledPlayerCollisionsTest {
+
+	/**
+	 * The value of the pellet.
+	 */
+	private static final int PELLET_VALUE = 10;
+
+	/**
+	 * The map under test.
+	 */
+	private CollisionMap map;
+
+	/**
+	 * A player.
+	 */
+	private Player player;
+
+	/**
+	 * A ghost.
+	 */
+	private Ghost ghost;
+
+	/**
+	 * A pellet.
+	 */
+	private Pellet pellet;
+
+	/**
+	 * Creates the map and the units, without loading any sprites.
+	 */
+	@Before
+	public void setUp() {
+		EnumMap<Direction, Sprite> sprites = new EnumMap<>(Direction.class);
+		map = new CompiledPlayerCollisions();
+		player = new Player(sprites, mock(AnimatedSprite.class));
+		ghost = new Blinky(sprites, mock(AnimatedSprite.class));
+		pellet = new Pellet(PELLET_VALUE, null);
+	}
+
+	/**
+	 * Verifies that units report their kind.
+	 */
+	@Test
+	public void testKinds() {
+		assertEquals(UnitKind.PLAYER.ordinal(), player.getKind());
+		assertEquals(UnitKind.GHOST.ordinal(), ghost.getKind());
+		assertEquals(UnitKind.PELLET.ordinal(), pellet.getKind());
+	}
+
+	/**
+	 * Verifies that a player eats a pellet.
+	 */
+	@Test
+	public void testPlayerVersusPellet() {
+		map.collide(player, pellet);
+		assertEquals(pellet.getValue(), player.getScore());
+		assertNull(pellet.getSquare());
+	}
+
+	/**
+	 * Verifies that a player eats a pellet of the pellet layer, and a ghost
+	 * does not.
+	 */
+	@Test
+	public void testPelletLayer() {
+		PelletLayer pellets = new PelletLayer();
+		pellets.setValue(PELLET_VALUE);
+		pellets.place(0);
+		map.collideWithPellet(ghost, pellets, 0);
+		assertEquals(1, pellets.size());
+
+		map.collideWithPellet(player, pellets, 0);
+		assertEquals(PELLET_VALUE, player.getScore());
+		assertEquals(0, pellets.size());
+	}
+
+	/**
+	 * Verifies that a ghost kills a player it moves into.
+	 */
+	@Test
+	public void testGhostVersusPlayer() {
+		map.collide(ghost, player);
+		assertFalse(player.isAlive());
+	}
+
+	/**
+	 * Verifies that a bullet explodes a ghost.
+	 */
+	@Test
+	public void testBulletVersusGhost() {
+		Bullet bullet = new Bullet(null, player);
+		map.collide(bullet, ghost);
+		assertTrue(ghost.hasExploded());
+		assertFalse(bullet.isAlive());
+		assertTrue(player.isAlive());
+	}
+
+	/**
+	 * Verifies that units do not collide when only one of them is on a
+	 * bridge.
+	 */
+	@Test
+	public void testOnBridge() {
+		ghost.setOnBridge(true);
+		map.collide(ghost, player);
+		assertTrue(player.isAlive());
+	}
+}
@@ -42,7 +42,7 @@ public class HoleTest {
 	public void initializationTest() throws IOException {
 		SpriteStore store = new SpriteStore();
         Sprite sprite = store.loadSprite("/sprite/64x64white.png");
-		Hole testHole = new Hole(HOLE_TIME_TEST, sprite);
+		Hole testHole = new Hole(HOLE_TIME_TEST, sprite, new PacManSprites());
 		assertEquals(testHole.getTrapTime(), HOLE_TIME_TEST);
 		assertEquals(testHole.getSprite(), sprite);
 	}
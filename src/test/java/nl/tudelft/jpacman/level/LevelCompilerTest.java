@@ -0,0 +1,163 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.npc.ghost.Blinky;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests that compiled maps load into the same levels as their text.
+ */
+@SuppressWarnings("magicnumber")
+public class LevelCompilerTest {
+
+	/**
+	 * A map with a teleport to the start square and a horizontal bridge over
+	 * a pellet.
+	 */
+	private static final String MAP = "#######\n"
+			+ "#P.G T#\n"
+			+ "#.H B #\n"
+			+ "#######\n"
+			+ "-------\n"
+			+ "1 1\n"
+			+ "-------\n"
+			+ "H P\n";
+
+	/**
+	 * The compiler under test.
+	 */
+	private LevelCompiler compiler;
+
+	/**
+	 * The parser loading the compiled maps.
+	 */
+	private MapParser parser;
+
+	/**
+	 * Creates the compiler and parser, without loading any sprites.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = mock(PacManSprites.class);
+		GhostFactory ghosts = mock(GhostFactory.class);
+		Answer<Ghost> ghost = invocation -> new Blinky(
+				new EnumMap<Direction, Sprite>(Direction.class),
+				mock(AnimatedSprite.class));
+		when(ghosts.createBlinky()).thenAnswer(ghost);
+		when(ghosts.createInky()).thenAnswer(ghost);
+		when(ghosts.createPinky()).thenAnswer(ghost);
+		when(ghosts.createClyde()).thenAnswer(ghost);
+		BoardFactory boardFactory = new BoardFactory(sprites);
+		parser = new MapParser(new LevelFactory(sprites, ghosts), boardFactory);
+		compiler = new LevelCompiler(parser);
+	}
+
+	/**
+	 * @param text
+	 *            The text to read.
+	 * @return A channel providing the text.
+	 */
+	private static ReadableByteChannel channel(String text) {
+		return Channels.newChannel(new ByteArrayInputStream(
+				text.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	/**
+	 * Verifies that the loaded level has the terrain, units and references of
+	 * the parsed one.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test
+	public void testSameLevel() throws IOException {
+		Board parsed = parser.parseMap(channel(MAP)).getBoard();
+		Board loaded = parser.loadMap(compiler.compile(channel(MAP))).getBoard();
+
+		assertEquals(parsed.getWidth(), loaded.getWidth());
+		assertEquals(parsed.getHeight(), loaded.getHeight());
+		assertEquals(parsed.getAccessibleSquares(mock(Ghost.class)),
+				loaded.getAccessibleSquares(mock(Ghost.class)));
+		for (Direction d : Direction.values()) {
+			assertEquals(parsed.getNeighbourId(8, d), loaded.getNeighbourId(8, d));
+		}
+		assertEquals(parsed.countUnits(Pellet.class), loaded.countUnits(Pellet.class));
+		assertEquals(1, loaded.countUnits(Ghost.class));
+		assertEquals(1, loaded.countUnits(Hole.class));
+
+		Teleport teleport = loaded.getUnits(Teleport.class).get(0);
+		assertSame(loaded.squareAt(1, 1), teleport.getReference());
+		Bridge bridge = loaded.getUnits(Bridge.class).get(0);
+		assertEquals(Direction.EAST, bridge.getDirection());
+		assertEquals(2, bridge.getSquare().getOccupants().size());
+
+		assertNotNull(loaded.getDistanceTable());
+		assertEquals(parsed.getDistanceTable().distance(parsed.squareAt(1, 1), parsed.squareAt(5, 2)),
+				loaded.getDistanceTable().distance(loaded.squareAt(1, 1), loaded.squareAt(5, 2)));
+	}
+
+	/**
+	 * Verifies that references outside the board are rejected when
+	 * compiling.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testTeleportOutside() throws IOException {
+		compiler.compile(channel("#T#\n---\n3 0\n"));
+	}
+
+	/**
+	 * Verifies that maps of another version are rejected.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testOtherVersion() throws IOException {
+		ByteBuffer compiled = compiler.compile(channel(MAP));
+		compiled.putShort(4, (short) (LevelCompiler.VERSION + 1));
+		parser.loadMap(compiled);
+	}
+
+	/**
+	 * Verifies that a compiled map referring to a square outside the board
+	 * is rejected.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testStartOutside() throws IOException {
+		ByteBuffer compiled = compiler.compile(channel(MAP));
+		int cells = 7 * 4;
+		compiled.putInt(LevelCompiler.HEADER_SIZE + cells + Integer.BYTES, cells);
+		parser.loadMap(compiled);
+	}
+}
@@ -0,0 +1,291 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.FlowField;
+import nl.tudelft.jpacman.npc.ghost.Blinky;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests advancing forks of a level independently of the level.
+ */
+@SuppressWarnings("magicnumber")
+public class LevelForkTest {
+
+	/**
+	 * The length of a tick in milliseconds.
+	 */
+	private static final long TICK = 50L;
+
+	/**
+	 * A map on which the ghost can not reach the player.
+	 */
+	private static final String WALLED_OFF =
+			"#######\n#P#   #\n###G  #\n#   # #\n#######\n";
+
+	/**
+	 * The simulation of the level that is forked.
+	 */
+	private Simulation simulation;
+
+	/**
+	 * The player on the level.
+	 */
+	private Player player;
+
+	/**
+	 * The death animation of the player.
+	 */
+	private AnimatedSprite death;
+
+	/**
+	 * Parses a level with a row of pellets and a teleport, and starts
+	 * simulating it without loading any sprites.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		PacManSprites sprites = mock(PacManSprites.class);
+		MapParser parser = new MapParser(new LevelFactory(sprites,
+				mock(GhostFactory.class)), new BoardFactory(sprites));
+		parser.setPelletLayer(true);
+		String map = "######\n#P...#\n#.T  #\n######\n------\n1 1\n";
+		Level level = parser.parseMap(new ByteArrayInputStream(
+				map.getBytes(StandardCharsets.US_ASCII)));
+		Map<Direction, Sprite> pacman = new EnumMap<>(Direction.class);
+		pacman.put(Direction.EAST, animation());
+		death = animation();
+		player = new Player(pacman, death);
+		level.registerPlayer(player);
+		simulation = new Simulation(level, TICK);
+		simulation.start();
+	}
+
+	/**
+	 * Verifies that a fork eats pellets and scores without affecting the
+	 * level it was forked from.
+	 */
+	@Test
+	public void testIndependentState() {
+		Simulation fork = simulation.fork();
+		Level copy = fork.getLevel();
+		Player copiedPlayer = copy.getPlayers().get(0);
+		assertNotSame(player, copiedPlayer);
+		assertTrue(copy.isInProgress());
+
+		fork.steer(copiedPlayer, Direction.EAST);
+		for (int i = 0; i < 20; i++) {
+			fork.tick();
+		}
+		assertEquals(1, copy.remainingPellets());
+		assertTrue(copiedPlayer.getScore() > 0);
+		assertSame(copy.getBoard().squareAt(4, 1), copiedPlayer.getSquare());
+
+		Level level = simulation.getLevel();
+		assertEquals(4, level.remainingPellets());
+		assertEquals(0, player.getScore());
+		assertSame(level.getBoard().squareAt(1, 1), player.getSquare());
+	}
+
+	/**
+	 * Verifies that the fork shares the links of the board, but refers to
+	 * its own squares.
+	 */
+	@Test
+	public void testSharedStructure() {
+		Board board = simulation.getLevel().getBoard();
+		Board copy = simulation.fork().getLevel().getBoard();
+		assertSame(copy.squareAt(2, 1), copy.squareAt(1, 1).getSquareAt(Direction.EAST));
+		assertEquals(board.getNeighbourId(7, Direction.NORTH),
+				copy.getNeighbourId(7, Direction.NORTH));
+		Teleport teleport = copy.getUnits(Teleport.class).get(0);
+		assertSame(copy.squareAt(1, 1), teleport.getReference());
+	}
+
+	/**
+	 * Verifies that the copy of a player has animations of its own, so
+	 * dying in the fork does not play the death animation of the player.
+	 */
+	@Test
+	public void testIndependentAnimations() {
+		Player copiedPlayer = simulation.fork().getLevel().getPlayers().get(0);
+		assertNotSame(player.getSprites().get(Direction.EAST),
+				copiedPlayer.getSprites().get(Direction.EAST));
+		copiedPlayer.setAlive(false);
+		assertTrue(((AnimatedSprite) copiedPlayer.getSprite()).isAnimating());
+		assertFalse(death.isAnimating());
+		assertTrue(player.isAlive());
+	}
+
+	/**
+	 * Verifies that effects on units end on the copies of the units, and
+	 * that other effects are left out.
+	 */
+	@Test
+	public void testForkedEffects() {
+		TimedEffects effects = simulation.getLevel().getEffects();
+		player.setShooting(true);
+		effects.schedule(2 * TICK, player, p -> p.setShooting(false));
+		effects.schedule(2 * TICK, () -> player.setInvincible(true));
+
+		Simulation fork = simulation.fork();
+		Player copiedPlayer = fork.getLevel().getPlayers().get(0);
+		assertEquals(1, fork.getLevel().getEffects().size());
+		fork.tick();
+		fork.tick();
+		assertFalse(copiedPlayer.isShooting());
+		assertTrue(player.isShooting());
+		assertFalse(player.isInvincible());
+	}
+
+	/**
+	 * Verifies that an effect ending on the copy of a ghost restores the
+	 * sprites of the copy rather than those of the ghost.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test
+	public void testForkedSpritesRestored() throws IOException {
+		Simulation original = seededGhostSimulation(WALLED_OFF);
+		Level level = original.getLevel();
+		Ghost ghost = level.getBoard().getUnits(Ghost.class).get(0);
+		Map<Direction, Sprite> normal = ghost.getSprites();
+		Map<Direction, Sprite> angry = new EnumMap<>(Direction.class);
+		ghost.temporaryAcceleration(1, angry, level.getEffects());
+
+		Simulation fork = original.fork();
+		Ghost copiedGhost = fork.getLevel().getBoard().getUnits(Ghost.class)
+				.get(0);
+		for (int i = 0; i < 1000 / TICK; i++) {
+			original.tick();
+			fork.tick();
+		}
+		assertSame(normal, ghost.getSprites());
+		assertNotSame(normal, copiedGhost.getSprites());
+		assertNotSame(angry, copiedGhost.getSprites());
+	}
+
+	/**
+	 * Verifies that forking a seeded simulation does not change the random
+	 * moves of its ghost, and that a fork makes the same moves as the
+	 * simulation it was forked from.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test
+	public void testSeededGhosts() throws IOException {
+		Simulation plain = seededGhostSimulation(WALLED_OFF);
+		Simulation forked = seededGhostSimulation(WALLED_OFF);
+		Simulation fork = null;
+		for (int i = 0; i < 200; i++) {
+			if (i % 10 == 0) {
+				fork = forked.fork();
+			}
+			plain.tick();
+			forked.tick();
+			fork.tick();
+			assertEquals(ghostSquare(plain), ghostSquare(forked));
+			assertEquals(ghostSquare(forked), ghostSquare(fork));
+		}
+	}
+
+	/**
+	 * Verifies that a fork copies the flow field leading to the player, and
+	 * updates its copy when the copy of the player moves.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Test
+	public void testForkedFlowField() throws IOException {
+		Simulation original = seededGhostSimulation(
+				"#######\n#P    #\n#    G#\n#######\n");
+		Board board = original.getLevel().getBoard();
+		FlowField field = board.getFlowFields().get(0);
+		Level copy = original.fork().getLevel();
+		FlowField copiedField = copy.getBoard().getFlowFields().get(0);
+		Player copiedPlayer = copy.getPlayers().get(0);
+		assertNotSame(field, copiedField);
+		assertSame(copiedPlayer, copiedField.getTarget());
+		assertEquals(4, copiedField.distanceFrom(copy.getBoard().squareAt(5, 1)));
+
+		copy.move(copiedPlayer, Direction.EAST);
+		assertEquals(3, copiedField.distanceFrom(copy.getBoard().squareAt(5, 1)));
+		assertEquals(4, field.distanceFrom(board.squareAt(5, 1)));
+	}
+
+	/**
+	 * Parses a level with a ghost making random moves from a seeded
+	 * generator, as long as it can not reach the player, and starts
+	 * simulating it.
+	 *
+	 * @param map
+	 *            The map of the level, with a single player and a ghost.
+	 * @return The started simulation.
+	 * @throws IOException
+	 *             Never.
+	 */
+	private static Simulation seededGhostSimulation(String map)
+			throws IOException {
+		PacManSprites sprites = mock(PacManSprites.class);
+		GhostFactory ghosts = mock(GhostFactory.class);
+		Blinky blinky = new Blinky(new EnumMap<Direction, Sprite>(
+				Direction.class), animation());
+		blinky.setSeed(42L);
+		when(ghosts.createBlinky()).thenReturn(blinky);
+		MapParser parser = new MapParser(new LevelFactory(sprites, ghosts),
+				new BoardFactory(sprites));
+		Level level = parser.parseMap(new ByteArrayInputStream(
+				map.getBytes(StandardCharsets.US_ASCII)));
+		level.registerPlayer(new Player(new EnumMap<Direction, Sprite>(
+				Direction.class), animation()));
+		Simulation simulation = new Simulation(level, TICK);
+		simulation.start();
+		return simulation;
+	}
+
+	/**
+	 * @param simulation
+	 *            A simulation of a level with a single ghost.
+	 * @return The id of the square the ghost is on.
+	 */
+	private static int ghostSquare(Simulation simulation) {
+		return simulation.getLevel().getBoard().getUnits(Ghost.class).get(0)
+				.getSquare().getId();
+	}
+
+	/**
+	 * @return A new animation of a single empty frame, which does not need
+	 *         any images.
+	 */
+	private static AnimatedSprite animation() {
+		return new AnimatedSprite(new Sprite[] { new EmptySprite() }, 1, false);
+	}
+}
@@ -0,0 +1,112 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.npc.ghost.Blinky;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the creation of levels from a {@link LevelTemplate}.
+ */
+@SuppressWarnings("magicnumber")
+public class LevelTemplateTest {
+
+	/**
+	 * The template under test, of a map with a ghost, two pellets and a
+	 * teleport.
+	 */
+	private LevelTemplate template;
+
+	/**
+	 * The ghost factory, creating only Blinkies.
+	 */
+	private GhostFactory ghosts;
+
+	/**
+	 * Parses the template, without loading any sprites.
+	 *
+	 * @throws IOException
+	 *             Never.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		PacManSprites sprites = mock(PacManSprites.class);
+		ghosts = mock(GhostFactory.class);
+		when(ghosts.createBlinky()).thenAnswer(invocation -> new Blinky(
+				new EnumMap<Direction, Sprite>(Direction.class),
+				mock(AnimatedSprite.class)));
+		MapParser parser = new MapParser(new LevelFactory(sprites, ghosts),
+				new BoardFactory(sprites));
+		String map = "#####\n#P.G#\n#.T #\n#####\n-----\n1 1\n";
+		template = parser.parseTemplate(new ByteArrayInputStream(
+				map.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	/**
+	 * Verifies that every level gets its own squares and units, with the
+	 * same structure.
+	 */
+	@Test
+	public void testIndependentLevels() {
+		Board first = template.instantiate().getBoard();
+		Board second = template.instantiate().getBoard();
+		assertNotSame(first.squareAt(2, 1), second.squareAt(2, 1));
+		assertEquals(2, first.countUnits(Pellet.class));
+
+		first.getUnits(Pellet.class).get(0).leaveSquare();
+		assertEquals(1, first.countUnits(Pellet.class));
+		assertEquals(2, second.countUnits(Pellet.class));
+
+		Teleport teleport = second.getUnits(Teleport.class).get(0);
+		assertSame(second.squareAt(1, 1), teleport.getReference());
+		assertEquals(1, second.countUnits(Ghost.class));
+	}
+
+	/**
+	 * Verifies that every level starts the cycle of ghost types anew.
+	 */
+	@Test
+	public void testGhostsPerLevel() {
+		template.instantiate();
+		template.instantiate();
+		verify(ghosts, times(2)).createBlinky();
+	}
+
+	/**
+	 * Verifies that the levels share their links until one of them changes
+	 * them.
+	 */
+	@Test
+	public void testSharedLinks() {
+		Board first = template.instantiate().getBoard();
+		Board second = template.instantiate().getBoard();
+		assertSame(first.squareAt(2, 1), first.squareAt(1, 1).getSquareAt(Direction.EAST));
+		assertSame(first.getDistanceTable().nextHop(first.squareAt(1, 1), first.squareAt(3, 2)),
+				second.getDistanceTable().nextHop(second.squareAt(1, 1), second.squareAt(3, 2)));
+
+		first.squareAt(1, 1).link(first.squareAt(3, 1), Direction.EAST);
+		assertSame(first.squareAt(3, 1), first.squareAt(1, 1).getSquareAt(Direction.EAST));
+		assertSame(second.squareAt(2, 1), second.squareAt(1, 1).getSquareAt(Direction.EAST));
+	}
+}
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.PelletLayer;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.npc.NPC;
 
@@ -59,6 +60,7 @@ public class LevelTest {
 	@Before
 	public void setUp() {
 		final long defaultInterval = 100L;
+		when(board.getPellets()).thenReturn(new PelletLayer());
 		level = new Level(board, Lists.newArrayList(ghost), Lists.newArrayList(
 				square1, square2), collisions);
 		when(ghost.getInterval()).thenReturn(defaultInterval);
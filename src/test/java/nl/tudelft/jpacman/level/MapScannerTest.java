@@ -0,0 +1,118 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import org.junit.Test;
+
+/**
+ * Tests the byte by byte reading of map texts.
+ */
+public class MapScannerTest {
+
+	/**
+	 * Feeds a text to a new scanner in buffers of a few bytes.
+	 *
+	 * @param text
+	 *            The text of the map.
+	 * @return The scanner that read the text.
+	 */
+	private static MapScanner scan(String text) {
+		MapScanner scanner = new MapScanner(0);
+		byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+		for (int i = 0; i < bytes.length; i += 3) {
+			scanner.scan(ByteBuffer.wrap(bytes, i, Math.min(3, bytes.length - i)));
+		}
+		scanner.finish();
+		return scanner;
+	}
+
+	/**
+	 * Verifies that the squares are read by position, whatever the line
+	 * endings.
+	 */
+	@Test
+	public void testSquares() {
+		MapScanner scanner = scan("#.#\r\nP G\r\n");
+		assertEquals(3, scanner.getWidth());
+		assertEquals(2, scanner.getHeight());
+		assertEquals('.', scanner.charAt(1, 0));
+		assertEquals('G', scanner.charAt(2, 1));
+	}
+
+	/**
+	 * Verifies that the reference sections are parsed in order.
+	 */
+	@Test
+	public void testReferences() {
+		MapScanner scanner = scan("TTB\n---\n 2 0\n+0 1\n---\nH P");
+		assertEquals(2, scanner.getTeleportRefs().size());
+		assertArrayEquals(new int[] {2, 0}, scanner.getTeleportRefs().get(0));
+		assertArrayEquals(new int[] {0, 1}, scanner.getTeleportRefs().get(1));
+		assertEquals(1, scanner.getBridgeRefs().size());
+		assertArrayEquals(new char[] {'H', 'P'}, scanner.getBridgeRefs().get(0));
+	}
+
+	/**
+	 * Verifies that the default board is read from a channel.
+	 *
+	 * @throws IOException
+	 *             If the board could not be read.
+	 */
+	@Test
+	public void testDefaultBoard() throws IOException {
+		MapScanner scanner = new MapScanner(0);
+		try (InputStream in = MapScannerTest.class.getResourceAsStream("/board.txt");
+				ReadableByteChannel channel = Channels.newChannel(in)) {
+			ByteBuffer buffer = ByteBuffer.allocate(64);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				scanner.scan(buffer);
+				buffer.clear();
+			}
+		}
+		scanner.finish();
+		assertEquals('#', scanner.charAt(0, 0));
+	}
+
+	/**
+	 * Verifies that rows must be equally wide.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testUnequalRows() {
+		scan("###\n##\n");
+	}
+
+	/**
+	 * Verifies that teleport references must be non-negative.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testNegativeReference() {
+		scan("T\n-\n0 -1\n");
+	}
+
+	/**
+	 * Verifies that bridge descriptions are separated by a single space.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testMalformedBridge() {
+		scan("B\n-\n-\nH  P\n");
+	}
+
+	/**
+	 * Verifies that a text without squares is rejected.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testEmpty() {
+		scan("");
+	}
+}
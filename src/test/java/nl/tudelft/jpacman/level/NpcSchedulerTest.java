@@ -0,0 +1,94 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.tudelft.jpacman.npc.NPC;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the scheduling of NPC moves on a shared pool.
+ */
+public class NpcSchedulerTest {
+
+	/**
+	 * The interval of the NPC in milliseconds.
+	 */
+	private static final long INTERVAL = 20L;
+
+	/**
+	 * The scheduler under test.
+	 */
+	private NpcScheduler scheduler;
+
+	/**
+	 * The NPC being moved.
+	 */
+	private final NPC npc = mock(NPC.class);
+
+	/**
+	 * Creates a scheduler with a single worker.
+	 */
+	@Before
+	public void setUp() {
+		scheduler = new NpcScheduler(1, 1L);
+		when(npc.getInterval()).thenReturn(INTERVAL);
+	}
+
+	/**
+	 * Stops the scheduler.
+	 */
+	@After
+	public void tearDown() {
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Verifies that an NPC keeps being moved.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testRepeats() throws InterruptedException {
+		final CountDownLatch moves = new CountDownLatch(3);
+		scheduler.schedule(npc, new Runnable() {
+
+			@Override
+			public void run() {
+				moves.countDown();
+			}
+		});
+		assertTrue(moves.await(1, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Verifies that a cancelled NPC is no longer moved.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testCancel() throws InterruptedException {
+		final AtomicInteger moves = new AtomicInteger();
+		NpcScheduler.Task task = scheduler.schedule(npc, new Runnable() {
+
+			@Override
+			public void run() {
+				moves.incrementAndGet();
+			}
+		});
+		task.cancel();
+		Thread.sleep(INTERVAL * 3);
+		assertEquals(0, moves.get());
+	}
+}
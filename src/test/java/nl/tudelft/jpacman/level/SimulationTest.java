@@ -0,0 +1,108 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.PelletLayer;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.NPC;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Tests advancing a level in simulated time.
+ */
+public class SimulationTest {
+
+	/**
+	 * The length of a tick in milliseconds.
+	 */
+	private static final long TICK = 10L;
+
+	/**
+	 * The interval of the NPC in milliseconds.
+	 */
+	private static final long INTERVAL = 100L;
+
+	/**
+	 * The simulation under test.
+	 */
+	private Simulation simulation;
+
+	/**
+	 * The NPC on the level.
+	 */
+	private final NPC npc = mock(NPC.class);
+
+	/**
+	 * Sets up a level with a single NPC moving north.
+	 */
+	@Before
+	public void setUp() {
+		Square square = mock(Square.class);
+		when(square.getSquareAt(Direction.NORTH)).thenReturn(square);
+		when(npc.getSquare()).thenReturn(square);
+		when(npc.getInterval()).thenReturn(INTERVAL);
+		when(npc.nextMove()).thenReturn(Direction.NORTH);
+
+		Board board = mock(Board.class);
+		when(board.getPellets()).thenReturn(new PelletLayer());
+		Level level = new Level(board, Lists.newArrayList(npc),
+				Lists.newArrayList(square), mock(CollisionMap.class),
+				NpcScheduler.getDefault(), new TimedEffects());
+		simulation = new Simulation(level, TICK);
+		simulation.start();
+	}
+
+	/**
+	 * Verifies that the NPC first moves after half its interval.
+	 */
+	@Test
+	@SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+	public void testFirstMove() {
+		for (int i = 0; i < 4; i++) {
+			simulation.tick();
+		}
+		verify(npc, times(0)).nextMove();
+		simulation.tick();
+		verify(npc, times(1)).nextMove();
+	}
+
+	/**
+	 * Verifies that the NPC keeps moving at its interval.
+	 */
+	@Test
+	@SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+	public void testInterval() {
+		for (int i = 0; i < 25; i++) {
+			simulation.tick();
+		}
+		verify(npc, times(3)).nextMove();
+	}
+
+	/**
+	 * Verifies that effects end on the simulated clock.
+	 */
+	@Test
+	public void testEffects() {
+		final int[] ended = new int[1];
+		simulation.getLevel().getEffects().schedule(TICK * 2, new Runnable() {
+
+			@Override
+			public void run() {
+				ended[0]++;
+			}
+		});
+		simulation.tick();
+		assertEquals(0, ended[0]);
+		simulation.tick();
+		assertEquals(1, ended[0]);
+	}
+}
@@ -0,0 +1,77 @@
+package nl.tudelft.jpacman.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the expiry of temporary effects on the clock of a level.
+ */
+public class TimedEffectsTest {
+
+	/**
+	 * The delay of the effects in milliseconds.
+	 */
+	private static final long DELAY = 20L;
+
+	/**
+	 * The effects under test.
+	 */
+	private TimedEffects effects;
+
+	/**
+	 * Counts down when the effect ends.
+	 */
+	private CountDownLatch ended;
+
+	/**
+	 * Schedules a single effect.
+	 */
+	@Before
+	public void setUp() {
+		effects = new TimedEffects();
+		ended = new CountDownLatch(1);
+		effects.schedule(DELAY, new Runnable() {
+
+			@Override
+			public void run() {
+				ended.countDown();
+			}
+		});
+	}
+
+	/**
+	 * Verifies that an effect ends after its delay.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testExpires() throws InterruptedException {
+		assertTrue(ended.await(1, TimeUnit.SECONDS));
+		assertEquals(0, effects.size());
+	}
+
+	/**
+	 * Verifies that an effect does not end while the clock is paused, and
+	 * does end once it is resumed.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testPaused() throws InterruptedException {
+		effects.pause();
+		assertFalse(ended.await(DELAY * 3, TimeUnit.MILLISECONDS));
+		assertEquals(1, effects.size());
+
+		effects.resume();
+		assertTrue(ended.await(1, TimeUnit.SECONDS));
+	}
+}
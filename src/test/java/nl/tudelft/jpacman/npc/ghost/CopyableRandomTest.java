@@ -0,0 +1,46 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the random generator of ghosts that can be copied.
+ */
+@SuppressWarnings("magicnumber")
+public class CopyableRandomTest {
+
+	/**
+	 * Verifies that the generator produces the same values as a
+	 * {@link Random} with the same seed.
+	 */
+	@Test
+	public void testSameAsRandom() {
+		Random expected = new Random(42L);
+		CopyableRandom random = new CopyableRandom(42L);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(expected.nextInt(7), random.nextInt(7));
+		}
+		assertEquals(expected.nextLong(), random.nextLong());
+	}
+
+	/**
+	 * Verifies that a copy produces the values the original will produce,
+	 * without drawing from the original.
+	 */
+	@Test
+	public void testCopy() {
+		CopyableRandom random = new CopyableRandom(7L);
+		random.nextInt();
+		CopyableRandom copy = random.copy();
+		int[] drawn = new int[3];
+		for (int i = 0; i < drawn.length; i++) {
+			drawn[i] = copy.nextInt();
+		}
+		for (int value : drawn) {
+			assertEquals(value, random.nextInt());
+		}
+	}
+}
@@ -4,11 +4,13 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
 import java.util.List;
 
+import nl.tudelft.jpacman.board.BasicSquare;
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
@@ -121,6 +123,21 @@ public class NavigationTest {
 				path.toArray(new Direction[] {}));
 	}
 
+	/**
+	 * Verifies that the first step around a corner is found without building
+	 * the path.
+	 */
+	@Test
+	public void testCornerNextHop() {
+		Board b = parser.parseMap(
+				Lists.newArrayList("####", "#  #", "## #", "####")).getBoard();
+		Square s1 = b.squareAt(1, 1);
+		Square s2 = b.squareAt(2, 2);
+		assertEquals(Direction.EAST,
+				Navigation.nextHop(s1, s2, mock(Unit.class)));
+		assertNull(Navigation.nextHop(s1, s1, mock(Unit.class)));
+	}
+
 	/**
 	 * Verifies that the nearest object is detected.
 	 */
@@ -135,6 +152,27 @@ public class NavigationTest {
 		assertEquals(s2, result);
 	}
 
+	/**
+	 * Verifies that distances to candidates wrap around the borders.
+	 */
+	@Test
+	public void testNearestUnitWrapped() {
+		Board b = parser.parseMap(Lists.newArrayList(". .   ")).getBoard();
+		Unit unit = Navigation.findNearest(Pellet.class, b.squareAt(5, 0));
+		assertEquals(b.squareAt(0, 0), unit.getSquare());
+	}
+
+	/**
+	 * Verifies that equally near candidates are decided by the order of the
+	 * search.
+	 */
+	@Test
+	public void testNearestUnitTied() {
+		Board b = parser.parseMap(Lists.newArrayList(". . ")).getBoard();
+		Unit unit = Navigation.findNearest(Pellet.class, b.squareAt(1, 0));
+		assertEquals(b.squareAt(0, 0), unit.getSquare());
+	}
+
 	/**
 	 * Verifies that there is no such location if there is no nearest object.
 	 */
@@ -159,4 +197,61 @@ public class NavigationTest {
 		Unit unit = Navigation.findNearest(Ghost.class, s1);
 		assertNotNull(unit);
 	}
+
+	/**
+	 * Verifies that a search on a board too large to keep an entry for every
+	 * square finds the shortest path, with scratch space for the squares it
+	 * visited only.
+	 */
+	@Test
+	public void testLargeBoard() {
+		Board b = new BoardFactory(mock(PacManSprites.class))
+				.createCompactBoard(1100, 1000);
+		assertTrue(b.getSquareCount() > BreadthFirstSearch.DENSE_SQUARES);
+		BreadthFirstSearch search = BreadthFirstSearch.get();
+		List<Direction> path = search.shortestPath(b.squareAt(0, 0),
+				b.squareAt(30, 30), null);
+		assertEquals(60, path.size());
+		assertEquals(Direction.SOUTH, search.nextHop(b.squareAt(30, 0),
+				b.squareAt(30, 30), null));
+		assertTrue(search.capacity() < b.getSquareCount() / 100);
+	}
+
+	/**
+	 * Verifies that paths are found between squares that are not on a board
+	 * by following their links, which are one-way.
+	 */
+	@Test
+	public void testLinkedSquares() {
+		Square s1 = new BasicSquare();
+		Square s2 = new BasicSquare();
+		Square s3 = new BasicSquare();
+		s1.link(s2, Direction.EAST);
+		s2.link(s3, Direction.SOUTH);
+		List<Direction> path = Navigation.shortestPath(s1, s3, null);
+		assertArrayEquals(new Direction[] { Direction.EAST, Direction.SOUTH },
+				path.toArray(new Direction[] {}));
+		assertEquals(Direction.EAST,
+				Navigation.nextHop(s1, s3, mock(Unit.class)));
+		assertNull(Navigation.shortestPath(s3, s1, null));
+		assertNull(Navigation.nextHop(s3, s1, null));
+	}
+
+	/**
+	 * Verifies that the nearest unit is found from a square that is not on a
+	 * board by following the links of the squares.
+	 */
+	@Test
+	public void testNearestUnitLinked() {
+		Square s1 = new BasicSquare();
+		Square s2 = new BasicSquare();
+		Square s3 = new BasicSquare();
+		s1.link(s2, Direction.WEST);
+		s2.link(s1, Direction.EAST);
+		s2.link(s3, Direction.WEST);
+		Pellet pellet = new Pellet(1, null);
+		pellet.occupy(s3);
+		assertEquals(pellet, Navigation.findNearest(Pellet.class, s1));
+		assertNull(Navigation.findNearest(Ghost.class, s1));
+	}
 }
@@ -0,0 +1,75 @@
+package nl.tudelft.jpacman.sprite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests running sprite loads in parallel.
+ */
+@SuppressWarnings("magicnumber")
+public class SpritePreloaderTest {
+
+	/**
+	 * The pool the loads run on.
+	 */
+	private ForkJoinPool pool;
+
+	/**
+	 * Creates the pool.
+	 */
+	@Before
+	public void setUp() {
+		pool = new ForkJoinPool(4);
+	}
+
+	/**
+	 * Shuts the pool down.
+	 */
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Verifies that all loads have run once waiting for the preloader
+	 * returns, and that the time it took is reported.
+	 */
+	@Test
+	public void testAwait() {
+		AtomicInteger count = new AtomicInteger();
+		List<Runnable> loads = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			loads.add(count::incrementAndGet);
+		}
+		SpritePreloader preloader = SpritePreloader.start(loads, pool);
+		long time = preloader.await();
+		assertTrue(preloader.isDone());
+		assertEquals(20, count.get());
+		assertTrue(time >= 0);
+		assertEquals(time, preloader.getElapsedMillis());
+	}
+
+	/**
+	 * Verifies that a sprite that could not be loaded is reported when
+	 * waiting for the preloader.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void testFailure() {
+		Runnable load = () -> {
+			throw new PacmanConfigurationException("Unable to load sprite.");
+		};
+		SpritePreloader.start(Collections.singletonList(load), pool).await();
+	}
+}
@@ -1,9 +1,17 @@
 package nl.tudelft.jpacman.sprite;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -62,6 +70,43 @@ public class SpriteTest {
 		store.loadSprite("/sprite/nonexistingresource.png");
 	}
 
+	/**
+	 * Verifies that a resource is decoded only once, and shared by all
+	 * stores.
+	 *
+	 * @throws java.io.IOException
+	 *             when the sprite cannot be loaded.
+	 */
+	@Test
+	public void sharedSprite() throws IOException {
+		assertSame(sprite, new SpriteStore().loadSprite("/sprite/64x64white.png"));
+	}
+
+	/**
+	 * Verifies that threads loading the same resource at once all get the
+	 * sprite decoded by one of them.
+	 *
+	 * @throws Exception
+	 *             when the sprite cannot be loaded.
+	 */
+	@Test
+	public void concurrentLoads() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Sprite>> loads = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				loads.add(pool.submit(() -> new SpriteStore()
+						.loadSprite("/sprite/apple.png")));
+			}
+			Sprite loaded = loads.get(0).get();
+			for (Future<Sprite> load : loads) {
+				assertSame(loaded, load.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	/**
 	 * Verifies that an animated sprite is correctly cut from its base image.
 	 */
@@ -108,4 +153,25 @@ public class SpriteTest {
 		Sprite split = sprite.split(10, 10, 64, 10);
 		assertTrue(split instanceof EmptySprite);
 	}
+
+	/**
+	 * Verifies that a sprite drawn at another size is scaled, also when it
+	 * is drawn at that size again.
+	 */
+	@Test
+	public void drawScaled() {
+		BufferedImage source = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+		source.setRGB(1, 1, 0xFFFF0000);
+		Sprite image = new ImageSprite(source);
+		BufferedImage target = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+		Graphics g = target.getGraphics();
+		image.draw(g, 0, 0, 8, 8);
+		image.draw(g, 0, 0, 2, 2);
+		image.draw(g, 4, 0, 4, 4);
+		g.dispose();
+		assertEquals(0xFFFF0000, target.getRGB(7, 7));
+		assertEquals(0xFFFF0000, target.getRGB(1, 1));
+		assertEquals(0xFFFF0000, target.getRGB(7, 3));
+		assertEquals(0, target.getRGB(5, 1));
+	}
 }
@@ -0,0 +1,36 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Test;
+
+/**
+ * Tests the canvas displaying a game by active rendering.
+ */
+public class BoardCanvasTest {
+
+	/**
+	 * Verifies that clicking the canvas cannot take the focus away from the
+	 * frame the keys are listened to on.
+	 */
+	@Test
+	public void testNotFocusable() {
+		BoardFactory factory = new BoardFactory(mock(PacManSprites.class));
+		Board board = factory.createBoard(new Square[][] {
+				{ factory.createGround() } });
+		Level level = mock(Level.class);
+		when(level.getBoard()).thenReturn(board);
+		Game game = mock(Game.class);
+		when(game.getLevel()).thenReturn(level);
+		assertFalse(new BoardCanvas(game).isFocusable());
+	}
+}
@@ -0,0 +1,187 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.CompactBoard;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Hole;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerCollisions;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.TimedEffects;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests redrawing the squares of a board that changed.
+ */
+@SuppressWarnings("magicnumber")
+public class BoardRendererTest {
+
+	/**
+	 * The size of the area the board is drawn on, two squares of 8 pixels.
+	 */
+	private static final Dimension WINDOW = new Dimension(16, 8);
+
+	/**
+	 * The colour of the ground.
+	 */
+	private static final Color GROUND = Color.BLUE;
+
+	/**
+	 * The colour of the hole.
+	 */
+	private static final Color HOLE = Color.RED;
+
+	/**
+	 * The colour of walls.
+	 */
+	private static final Color WALL = Color.GRAY;
+
+	/**
+	 * The colour of pellets.
+	 */
+	private static final Color PELLET = Color.WHITE;
+
+	/**
+	 * The colour of the player.
+	 */
+	private static final Color PLAYER = Color.YELLOW;
+
+	/**
+	 * A board of two squares.
+	 */
+	private Board board;
+
+	/**
+	 * The renderer of the board.
+	 */
+	private BoardRenderer renderer;
+
+	/**
+	 * The sprites, each of which is a single colour.
+	 */
+	private PacManSprites sprites;
+
+	/**
+	 * Creates the board and the renderer of a game on it.
+	 */
+	@Before
+	public void setUp() {
+		sprites = mock(PacManSprites.class);
+		when(sprites.getGroundSprite()).thenReturn(new ColourSprite(GROUND));
+		Map<Direction, Sprite> pacman = new EnumMap<>(Direction.class);
+		for (Direction d : Direction.values()) {
+			pacman.put(d, new ColourSprite(PLAYER));
+		}
+		when(sprites.getPacmanSprites()).thenReturn(pacman);
+		when(sprites.getPacmanParalizedSprites()).thenReturn(pacman);
+		when(sprites.getPacManDeathAnimation()).thenReturn(
+				mock(AnimatedSprite.class));
+
+		BoardFactory factory = new BoardFactory(sprites);
+		board = factory.createBoard(new Square[][] {
+				{ factory.createGround() }, { factory.createGround() } });
+
+		Level level = mock(Level.class);
+		when(level.getBoard()).thenReturn(board);
+		Game game = mock(Game.class);
+		when(game.getLevel()).thenReturn(level);
+		renderer = new BoardRenderer(game);
+	}
+
+	/**
+	 * Verifies that a hole is no longer drawn once a player fell in and
+	 * moved on.
+	 */
+	@Test
+	public void testUsedHole() {
+		Hole hole = new Hole(1, new ColourSprite(HOLE), sprites);
+		hole.occupy(board.squareAt(0, 0));
+		BufferedImage image = renderer.draw(WINDOW, null);
+		assertEquals(HOLE.getRGB(), image.getRGB(4, 4));
+
+		Player player = new PlayerFactory(sprites).createPacMan();
+		player.occupy(board.squareAt(0, 0));
+		TimedEffects effects = new TimedEffects();
+		effects.simulate();
+		new PlayerCollisions(effects).collide(player, hole);
+		player.occupy(board.squareAt(1, 0));
+		assertTrue(renderer.collect().get(0));
+
+		image = renderer.draw(WINDOW, null);
+		assertEquals(GROUND.getRGB(), image.getRGB(4, 4));
+		assertEquals(PLAYER.getRGB(), image.getRGB(12, 4));
+	}
+
+	/**
+	 * Verifies that a compact board is drawn from its terrain and the units
+	 * lying on it, without creating its squares.
+	 */
+	@Test
+	public void testCompactBoard() {
+		when(sprites.getWallSprite()).thenReturn(new ColourSprite(WALL));
+		CompactBoard compact = new BoardFactory(sprites).createCompactBoard(2, 1);
+		compact.setTerrain(0, 0, BoardFactory.WALL);
+		int pellets = compact.addPlane(Pellet.class,
+				() -> new Pellet(1, new ColourSprite(PELLET)));
+		compact.place(pellets, 1, 0);
+		Level level = mock(Level.class);
+		when(level.getBoard()).thenReturn(compact);
+		Game game = mock(Game.class);
+		when(game.getLevel()).thenReturn(level);
+
+		BufferedImage image = new BoardRenderer(game).draw(WINDOW, null);
+		assertEquals(WALL.getRGB(), image.getRGB(4, 4));
+		assertEquals(PELLET.getRGB(), image.getRGB(12, 4));
+		assertEquals(0, compact.getCreatedSquareCount());
+	}
+
+	/**
+	 * A sprite filling its area with a single colour.
+	 */
+	private static final class ColourSprite extends EmptySprite {
+
+		/**
+		 * The colour of the sprite.
+		 */
+		private final Color colour;
+
+		/**
+		 * Creates a new sprite.
+		 *
+		 * @param c
+		 *            The colour of the sprite.
+		 */
+		ColourSprite(Color c) {
+			this.colour = c;
+		}
+
+		@Override
+		public void draw(Graphics g, int x, int y, int width, int height) {
+			g.setColor(colour);
+			g.fillRect(x, y, width, height);
+		}
+	}
+}
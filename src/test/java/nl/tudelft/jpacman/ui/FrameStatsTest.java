@@ -0,0 +1,102 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests the statistics of drawn frames and the loop recording them.
+ */
+@SuppressWarnings("magicnumber")
+public class FrameStatsTest {
+
+	/**
+	 * Margin for comparing frame times in milliseconds.
+	 */
+	private static final double DELTA = 1e-9;
+
+	/**
+	 * Verifies the percentiles of a hundred frames of 1 to 100 ms.
+	 */
+	@Test
+	public void testPercentiles() {
+		FrameStats stats = new FrameStats();
+		for (int i = 100; i > 0; i--) {
+			stats.record(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		assertEquals(100, stats.getFrameCount());
+		assertEquals(50.0, stats.getP50Millis(), DELTA);
+		assertEquals(99.0, stats.getP99Millis(), DELTA);
+		assertEquals(100.0, stats.getPercentileMillis(100), DELTA);
+	}
+
+	/**
+	 * Verifies that only the most recent frames count for the percentiles.
+	 */
+	@Test
+	public void testWindow() {
+		FrameStats stats = new FrameStats(4);
+		assertEquals(0.0, stats.getP50Millis(), DELTA);
+		for (int i = 0; i < 4; i++) {
+			stats.record(TimeUnit.MILLISECONDS.toNanos(100));
+		}
+		for (int i = 0; i < 4; i++) {
+			stats.record(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		assertEquals(8, stats.getFrameCount());
+		assertEquals(10.0, stats.getP99Millis(), DELTA);
+	}
+
+	/**
+	 * Verifies that the loop does not draw frames ahead of its schedule, and
+	 * records the time between its frames until it is stopped.
+	 */
+	@Test
+	public void testLoop() {
+		final FrameStats stats = new FrameStats();
+		final long[] starts = new long[5];
+		final int[] frames = new int[1];
+		final RenderLoop[] loop = new RenderLoop[1];
+		loop[0] = new RenderLoop(new Runnable() {
+
+			@Override
+			public void run() {
+				starts[frames[0]++] = System.nanoTime();
+				if (frames[0] == starts.length) {
+					loop[0].stop();
+				}
+			}
+		}, 500, stats);
+		loop[0].run();
+		assertEquals(4, stats.getFrameCount());
+		long elapsed = starts[4] - starts[0];
+		assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(7));
+	}
+
+	/**
+	 * Verifies that the frames that could not be drawn in time are counted
+	 * as dropped.
+	 */
+	@Test
+	public void testDropped() {
+		final FrameStats stats = new FrameStats();
+		final RenderLoop[] loop = new RenderLoop[1];
+		loop[0] = new RenderLoop(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(35);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				loop[0].stop();
+			}
+		}, 100, stats);
+		loop[0].run();
+		assertTrue(stats.getDroppedFrames() >= 2);
+	}
+}